@@ -7,7 +7,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@MapperScan(basePackages = {"com.akmz.springBase.auth.mapper", "com.akmz.springBase.admin.mapper", "com.akmz.springBase.attach.mapper"})
+@MapperScan(basePackages = {"com.akmz.springBase.auth.mapper", "com.akmz.springBase.admin.mapper", "com.akmz.springBase.attach.mapper", "com.akmz.springBase.common.mapper"})
 @EnableScheduling
 public class SpringBaseApplication {
 
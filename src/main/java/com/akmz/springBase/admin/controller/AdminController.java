@@ -1,6 +1,7 @@
 package com.akmz.springBase.admin.controller;
 
 import com.akmz.springBase.admin.model.dto.*;
+import com.akmz.springBase.admin.service.AdminDataVersion;
 import com.akmz.springBase.admin.service.AdminService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,6 +11,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -20,13 +22,15 @@ import java.util.List;
 public class AdminController {
 
     private final AdminService adminService;
+    private final AdminDataVersion adminDataVersion;
 
     // --- Role Management ---
     @Operation(summary = "[GET] 모든 역할 조회", description = "시스템에 등록된 모든 역할을 조회합니다.")
     @ApiResponse(responseCode = "200", description = "성공적으로 모든 역할을 조회했습니다.")
+    @ApiResponse(responseCode = "304", description = "If-None-Match 의 ETag 이후 변경이 없습니다.")
     @GetMapping("/roles")
-    public ResponseEntity<List<RoleResponse>> getAllRoles() {
-        return ResponseEntity.ok(adminService.getAllRoles());
+    public ResponseEntity<List<RoleResponse>> getAllRoles(WebRequest webRequest) {
+        return adminDataVersion.conditional(webRequest, null, adminService::getAllRoles);
     }
 
     @Operation(summary = "[GET] 역할 ID로 조회", description = "특정 역할 ID에 해당하는 역할을 조회합니다.")
@@ -71,9 +75,10 @@ public class AdminController {
     // --- Menu Resource Management ---
     @Operation(summary = "[GET] 모든 메뉴 리소스 조회", description = "시스템에 등록된 모든 메뉴 리소스를 조회합니다.")
     @ApiResponse(responseCode = "200", description = "성공적으로 모든 메뉴 리소스를 조회했습니다.")
+    @ApiResponse(responseCode = "304", description = "If-None-Match 의 ETag 이후 변경이 없습니다.")
     @GetMapping("/resources/menu")
-    public ResponseEntity<List<ResourceResponse>> getAllMenuResources() {
-        return ResponseEntity.ok(adminService.getAllMenuResources());
+    public ResponseEntity<List<ResourceResponse>> getAllMenuResources(WebRequest webRequest) {
+        return adminDataVersion.conditional(webRequest, null, adminService::getAllMenuResources);
     }
 
     @Operation(summary = "[GET] 메뉴 리소스 ID로 조회", description = "특정 메뉴 리소스 ID에 해당하는 메뉴 리소스를 조회합니다.")
@@ -203,9 +208,11 @@ public class AdminController {
     @Operation(summary = "[GET] 역할에 할당된 리소스 조회", description = "특정 역할에 할당된 모든 리소스를 조회합니다.")
     @ApiResponse(responseCode = "200", description = "성공적으로 리소스를 조회했습니다.")
     @ApiResponse(responseCode = "404", description = "역할을 찾을 수 없습니다.")
+    @ApiResponse(responseCode = "304", description = "If-None-Match 의 ETag 이후 변경이 없습니다.")
     @GetMapping("/roles/{roleId}/resources")
     public ResponseEntity<List<ResourceResponse>> getResourcesByRoleId(
-            @Parameter(description = "리소스를 조회할 역할 ID", required = true) @PathVariable Long roleId) {
-        return ResponseEntity.ok(adminService.getResourcesByRoleId(roleId));
+            @Parameter(description = "리소스를 조회할 역할 ID", required = true) @PathVariable Long roleId,
+            WebRequest webRequest) {
+        return adminDataVersion.conditional(webRequest, null, () -> adminService.getResourcesByRoleId(roleId));
     }
 }
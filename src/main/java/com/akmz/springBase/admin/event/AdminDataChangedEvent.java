@@ -0,0 +1,8 @@
+package com.akmz.springBase.admin.event;
+
+/**
+ * 관리자 기능으로 역할, 리소스, 역할-리소스 매핑, 사용자-역할 할당이 변경되었음을 알리는 이벤트.
+ * 커밋 이후 관리자/메뉴 조회 API 의 ETag 버전을 올리는 데 사용한다.
+ */
+public class AdminDataChangedEvent {
+}
@@ -0,0 +1,8 @@
+package com.akmz.springBase.admin.event;
+
+/**
+ * 메뉴 리소스(MENU_ITEM) 또는 역할-리소스 매핑이 변경되었음을 알리는 이벤트.
+ * 커밋 이후 메뉴 스냅샷 캐시와 역할별 메뉴 트리 캐시를 갱신하는 데 사용한다.
+ */
+public class MenuResourceChangedEvent extends AdminDataChangedEvent {
+}
@@ -9,6 +9,7 @@ import java.util.List;
 @Mapper
 public interface ResourceMapper {
     List<Resource> findAllResources();
+    List<Resource> findAllMenuResources();
     List<Resource> findResourcesByRoleId(Long roleId);
     Resource findResourceById(Long resourceId);
     Resource findResourceByPattern(String resourcePattern);
@@ -1,6 +1,7 @@
 package com.akmz.springBase.admin.mapper;
 
 import com.akmz.springBase.admin.model.entity.UserRole;
+import com.akmz.springBase.auth.model.entity.AuthUserWithRoles;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import java.util.List;
@@ -8,6 +9,7 @@ import java.util.List;
 @Mapper
 public interface UserRoleMapper {
     List<UserRole> findUserRolesByUserName(String userName);
+    AuthUserWithRoles findUserWithRolesByUserName(String userName); // 사용자 정보 + 권한명 (단일 조인 쿼리)
     void insertUserRole(UserRole userRole);
     void deleteUserRole(@Param("userName") String userName, @Param("roleId") Long roleId);
 }
@@ -0,0 +1,139 @@
+package com.akmz.springBase.admin.service;
+
+import com.akmz.springBase.admin.event.AdminDataChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 관리자 목록과 메뉴 조회 API 의 ETag 를 만들고, If-None-Match 가 일치하면 304 Not Modified 로 응답한다.
+ *
+ * 기본값은 응답 본문(JSON)의 SHA-256 을 ETag 로 쓴다. 본문은 매번 만들지만 같은 내용이면 어느 서버에서든
+ * 같은 ETag 가 되고 내용이 다르면 ETag 도 달라지므로, 여러 서버로 운영해도 잘못된 304 가 발생하지 않는다.
+ *
+ * admin.etag.version-counter.enabled=true 이면 역할/리소스/매핑 변경 시 올리는 메모리 카운터로 ETag 를 만들어
+ * DB 조회와 직렬화 없이 304 로 응답한다. 카운터는 서버마다 따로 있어 다른 서버의 변경을 모르므로
+ * 서버 1대로 운영할 때만 켠다 (여러 서버에서 켜면 변경을 보지 못한 서버가 옛 ETag 에 304 를 준다).
+ * 재기동 후 같은 ETag 가 재사용되지 않도록 기동 시각(epoch)을 함께 넣는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AdminDataVersion {
+
+    // 같은 커밋의 AFTER_COMMIT 리스너 순서. 캐시를 모두 비운 뒤에 버전을 올려야
+    // 새 ETag 를 받은 요청이 옛 캐시 본문을 받아 304 로 계속 재사용하는 일이 없다.
+    public static final int CACHE_EVICT_ORDER = Ordered.HIGHEST_PRECEDENCE;
+    public static final int VERSION_BUMP_ORDER = Ordered.LOWEST_PRECEDENCE;
+
+    // 클라이언트가 매번 재검증하도록 하고, 사용자별 응답이 공유 캐시에 저장되지 않게 함
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private final ObjectMapper objectMapper;
+
+    // true 이면 메모리 변경 카운터로 ETag 생성 (서버 1대 전용), false 이면 응답 본문의 해시로 생성
+    @Value("${admin.etag.version-counter.enabled:false}")
+    private boolean versionCounterEnabled;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * 변경 카운터 기반 ETag.
+     *
+     * @param scope 같은 URL 이라도 응답이 달라지는 범위 (예: 사용자별 메뉴는 사용자명), 없으면 null
+     */
+    public String etag(String scope) {
+        String tag = epoch + "-" + version.get();
+        if (scope != null) {
+            // String.hashCode 는 충돌이 쉬워 다른 사용자의 ETag 와 겹칠 수 있으므로 SHA-256 사용
+            tag += "-" + sha256(scope.getBytes(StandardCharsets.UTF_8));
+        }
+        return "\"" + tag + "\"";
+    }
+
+    /**
+     * 응답 본문 기반 ETag. 범위와 본문 JSON 을 함께 해시한다.
+     *
+     * @param scope ETag 범위, 없으면 null
+     * @param body 응답 본문
+     */
+    public String contentEtag(String scope, Object body) {
+        try {
+            byte[] scopeBytes = scope != null ? scope.getBytes(StandardCharsets.UTF_8) : new byte[0];
+            return "\"" + sha256(scopeBytes, new byte[]{0}, objectMapper.writeValueAsBytes(body)) + "\"";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("ETag 계산을 위한 응답 직렬화에 실패했습니다.", e);
+        }
+    }
+
+    /**
+     * 조건부 GET 응답.
+     * 카운터 모드는 ETag 를 먼저 계산하므로 응답 생성 중에 변경이 커밋되어도 다음 요청에서는 새 ETag 로 다시 받아가고,
+     * 본문 해시 모드는 본문을 만든 뒤 그 내용으로 ETag 를 계산한다.
+     *
+     * @param webRequest 현재 요청 (If-None-Match 확인)
+     * @param scope ETag 범위, 없으면 null
+     * @param body 응답 본문 생성 (카운터 모드에서는 변경되었을 때만 호출)
+     */
+    public <T> ResponseEntity<T> conditional(WebRequest webRequest, String scope, Supplier<T> body) {
+        if (!versionCounterEnabled) {
+            T value = body.get();
+            String etag = contentEtag(scope, value);
+            if (webRequest.checkNotModified(etag)) {
+                return notModified(etag);
+            }
+            return ResponseEntity.ok().eTag(etag).cacheControl(CACHE_CONTROL).body(value);
+        }
+        String etag = etag(scope);
+        if (webRequest.checkNotModified(etag)) {
+            return notModified(etag);
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CACHE_CONTROL).body(body.get());
+    }
+
+    private <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CACHE_CONTROL).build();
+    }
+
+    /**
+     * 커밋 후 버전을 올린다. 메뉴 캐시 무효화 리스너(CACHE_EVICT_ORDER)가 모두 실행된 뒤에 실행된다.
+     */
+    @Order(VERSION_BUMP_ORDER)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAdminDataChanged(AdminDataChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    private static String sha256(byte[]... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (byte[] part : parts) {
+                digest.update(part);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+}
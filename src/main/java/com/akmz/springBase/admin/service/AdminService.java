@@ -1,5 +1,7 @@
 package com.akmz.springBase.admin.service;
 
+import com.akmz.springBase.admin.event.AdminDataChangedEvent;
+import com.akmz.springBase.admin.event.MenuResourceChangedEvent;
 import com.akmz.springBase.admin.mapper.ResourceMapper;
 import com.akmz.springBase.admin.mapper.RoleMapper;
 import com.akmz.springBase.admin.mapper.RoleResourceMappingMapper;
@@ -10,8 +12,11 @@ import com.akmz.springBase.admin.model.entity.Resource;
 import com.akmz.springBase.admin.model.entity.Role;
 import com.akmz.springBase.admin.model.entity.RoleResourceMapping;
 import com.akmz.springBase.admin.model.entity.UserRole;
+import com.akmz.springBase.auth.event.UserAccountChangedEvent;
 import com.akmz.springBase.auth.mapper.AuthMapper;
+import com.akmz.springBase.auth.service.LoginFailureCounterStore;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +33,9 @@ public class AdminService {
     private final RoleResourceMappingMapper roleResourceMappingMapper;
     private final UserMapper userMapper;
     private final AuthMapper authMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LoginFailureCounterStore loginFailureCounterStore;
+    private final MenuResourceCache menuResourceCache;
 
     // --- Role Management ---
     public List<RoleResponse> getAllRoles() {
@@ -47,6 +55,7 @@ public class AdminService {
         role.setRoleName(request.getRoleName());
         role.setDescription(request.getDescription());
         roleMapper.insertRole(role);
+        eventPublisher.publishEvent(new AdminDataChangedEvent());
         return RoleResponse.fromEntity(role);
     }
 
@@ -58,20 +67,20 @@ public class AdminService {
         }
         role.setDescription(request.getDescription());
         roleMapper.updateRole(role);
+        eventPublisher.publishEvent(new AdminDataChangedEvent());
         return RoleResponse.fromEntity(role);
     }
 
     @Transactional
     public void deleteRole(Long roleId) {
         roleMapper.deleteRole(roleId);
+        eventPublisher.publishEvent(UserAccountChangedEvent.allUsers());
+        eventPublisher.publishEvent(new MenuResourceChangedEvent()); // 역할-리소스 매핑도 함께 삭제됨
     }
 
     // --- Menu Resource Management ---
     public List<ResourceResponse> getAllMenuResources() {
-        return resourceMapper.findAllResources().stream()
-                .filter(r -> "MENU_ITEM".equals(r.getResourceType()))
-                .map(ResourceResponse::fromEntity)
-                .collect(Collectors.toList());
+        return menuResourceCache.getMenuResources();
     }
 
     public ResourceResponse getMenuResourceById(Long resourceId) {
@@ -94,6 +103,7 @@ public class AdminService {
         resource.setHttpMethod(request.getHttpMethod()); // Added
         resource.setUseYn(request.getUseYn() != null ? request.getUseYn() : "Y"); // Added with default
         resourceMapper.insertResource(resource);
+        eventPublisher.publishEvent(new MenuResourceChangedEvent());
         return ResourceResponse.fromEntity(resource);
     }
 
@@ -114,12 +124,14 @@ public class AdminService {
         resource.setHttpMethod(request.getHttpMethod()); // Added
         resource.setUseYn(request.getUseYn()); // Added
         resourceMapper.updateResource(resource);
+        eventPublisher.publishEvent(new MenuResourceChangedEvent());
         return ResourceResponse.fromEntity(resource);
     }
 
     @Transactional
     public void deleteMenuResource(Long resourceId) {
         resourceMapper.deleteResource(resourceId);
+        eventPublisher.publishEvent(new MenuResourceChangedEvent());
     }
 
     // --- User Management ---
@@ -130,16 +142,20 @@ public class AdminService {
     @Transactional
     public void activateUser(String userName) {
         authMapper.updateUserUseYn(userName, "Y");
+        eventPublisher.publishEvent(new UserAccountChangedEvent(userName));
     }
 
     @Transactional
     public void deactivateUser(String userName) {
         authMapper.updateUserUseYn(userName, "N");
+        eventPublisher.publishEvent(new UserAccountChangedEvent(userName));
     }
 
     @Transactional
     public void resetLoginFailureCount(String userName) {
+        loginFailureCounterStore.clear(userName); // 아직 반영되지 않은 실패 횟수도 초기화 (반영 중이면 끝난 뒤 DB 초기화)
         authMapper.resetLoginFailureCount(userName);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(userName));
     }
 
     // --- User Role Management ---
@@ -149,11 +165,15 @@ public class AdminService {
         userRole.setUserName(userName);
         userRole.setRoleId(roleId);
         userRoleMapper.insertUserRole(userRole);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(userName));
+        eventPublisher.publishEvent(new AdminDataChangedEvent()); // 사용자 메뉴 응답 변경
     }
 
     @Transactional
     public void removeRoleFromUser(String userName, Long roleId) {
         userRoleMapper.deleteUserRole(userName, roleId);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(userName));
+        eventPublisher.publishEvent(new AdminDataChangedEvent()); // 사용자 메뉴 응답 변경
     }
 
     // --- Role Resource Mapping Management ---
@@ -163,11 +183,13 @@ public class AdminService {
         mapping.setRoleId(roleId);
         mapping.setResourceId(resourceId);
         roleResourceMappingMapper.insertMapping(mapping);
+        eventPublisher.publishEvent(new MenuResourceChangedEvent());
     }
 
     @Transactional
     public void removeResourceFromRole(Long roleId, Long resourceId) {
         roleResourceMappingMapper.deleteMapping(roleId, resourceId);
+        eventPublisher.publishEvent(new MenuResourceChangedEvent());
     }
 
     public List<ResourceResponse> getResourcesByRoleId(Long roleId) {
@@ -0,0 +1,74 @@
+package com.akmz.springBase.admin.service;
+
+import com.akmz.springBase.admin.event.MenuResourceChangedEvent;
+import com.akmz.springBase.admin.mapper.ResourceMapper;
+import com.akmz.springBase.admin.model.dto.ResourceResponse;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * 전체 메뉴 리소스(MENU_ITEM) 목록의 불변 스냅샷 캐시.
+ * 로그인/토큰 재발급 응답마다 RESOURCES 테이블을 조회하지 않도록 메모리에 보관하고,
+ * 메뉴가 변경되어 커밋된 뒤에만 새 스냅샷을 만들어 참조를 한 번에 교체한다.
+ * 읽는 쪽은 잠금 없이 항상 완전한 스냅샷 하나를 본다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MenuResourceCache {
+
+    private final ResourceMapper resourceMapper;
+
+    private volatile Snapshot snapshot; // 최초 조회 시 생성
+
+    /**
+     * 현재 메뉴 스냅샷. 목록과 원소는 여러 요청이 공유하므로 수정하지 않는다.
+     */
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : rebuild();
+    }
+
+    public List<ResourceResponse> getMenuResources() {
+        return getSnapshot().getMenuResources();
+    }
+
+    /**
+     * DB 에서 메뉴를 다시 읽어 새 스냅샷으로 교체한다.
+     * 동시에 여러 번 호출되어도 마지막에 읽은 결과가 이전 결과를 덮어쓰도록 직렬화한다.
+     */
+    public synchronized Snapshot rebuild() {
+        List<ResourceResponse> menuResources = resourceMapper.findAllMenuResources().stream()
+                .map(ResourceResponse::fromEntity)
+                .toList();
+        long nextVersion = snapshot != null ? snapshot.getVersion() + 1 : 1;
+        Snapshot rebuilt = new Snapshot(nextVersion, menuResources);
+        snapshot = rebuilt;
+        log.debug("메뉴 스냅샷 갱신: version={}, size={}", nextVersion, menuResources.size());
+        return rebuilt;
+    }
+
+    @Order(AdminDataVersion.CACHE_EVICT_ORDER) // ETag 버전보다 먼저 갱신
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMenuResourceChanged(MenuResourceChangedEvent event) {
+        rebuild();
+    }
+
+    @Getter
+    public static class Snapshot {
+        private final long version;                        // 갱신마다 1씩 증가
+        private final List<ResourceResponse> menuResources; // 불변 목록
+
+        Snapshot(long version, List<ResourceResponse> menuResources) {
+            this.version = version;
+            this.menuResources = menuResources;
+        }
+    }
+}
@@ -1,17 +1,25 @@
 package com.akmz.springBase.attach.controller;
 
+import com.akmz.springBase.attach.exception.UploadOffsetMismatchException;
 import com.akmz.springBase.attach.model.dto.AttachFileResponse;
 import com.akmz.springBase.attach.model.dto.AttachResponse;
+import com.akmz.springBase.attach.model.dto.UploadSessionRequest;
+import com.akmz.springBase.attach.model.dto.UploadSessionResponse;
 import com.akmz.springBase.attach.model.entity.Attach;
 import com.akmz.springBase.attach.model.entity.AttachFile;
+import com.akmz.springBase.attach.service.ChunkedUploadService;
 import com.akmz.springBase.attach.service.FtpService;
+import com.akmz.springBase.attach.service.StreamingUploadService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -22,29 +30,46 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.multipart.MultipartFile;
+import org.apache.commons.fileupload2.core.FileUploadSizeException;
 
 import org.springdoc.core.annotations.ParameterObject;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @RestController
-@RequestMapping("/api/attach")
+@RequestMapping(AttachController.BASE_PATH)
 @RequiredArgsConstructor
 @Slf4j
 @Tag(name = "Attachment API", description = "첨부파일 관리 API")
 public class AttachController {
 
+    public static final String BASE_PATH = "/api/attach";
+    private static final String STREAM_UPLOAD_PATH = "/upload/stream";
+    private static final String STREAM_ADD_FILES_PATH = "/{attachId}/files/stream";
+
+    /**
+     * 본문을 직접 읽는 스트리밍 업로드 경로. WebConfig 의 multipartResolver 가 이 경로만 multipart 해석에서 제외하므로
+     * 스트리밍 매핑을 바꾸거나 추가하면 여기도 함께 바꾼다.
+     */
+    public static final List<String> STREAMING_UPLOAD_PATTERNS = List.of(
+            BASE_PATH + STREAM_UPLOAD_PATH,
+            BASE_PATH + STREAM_ADD_FILES_PATH);
+
     private final FtpService ftpService;
+    private final ChunkedUploadService chunkedUploadService;
+    private final StreamingUploadService streamingUploadService;
 
     @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @Operation(summary = "[POST] 파일 업로드 및 첨부 생성", description = "여러 파일을 업로드하여 새로운 첨부 묶음을 생성.")
@@ -95,6 +120,128 @@ public class AttachController {
         }
     }
 
+    @PostMapping(value = STREAM_UPLOAD_PATH, consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "[POST] 스트리밍 파일 업로드 및 첨부 생성", description = "multipart 본문을 로컬 임시 파일 없이 바로 FTP 로 전송하여 새로운 첨부 묶음을 생성. attachName 필드는 파일보다 앞에 있어야 함.")
+    public ResponseEntity<?> uploadAttachmentStreaming(
+            HttpServletRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        String creatorId = (userDetails != null) ? userDetails.getUsername() : "anonymousUser";
+        return streamUpload(request, null, creatorId, HttpStatus.CREATED);
+    }
+
+    @PostMapping(value = STREAM_ADD_FILES_PATH, consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "[POST] 기존 첨부에 스트리밍 파일 추가", description = "multipart 본문을 로컬 임시 파일 없이 바로 FTP 로 전송하여 기존 첨부 묶음에 파일을 추가.")
+    public ResponseEntity<?> addFilesToAttachmentStreaming(
+            @Parameter(description = "파일을 추가할 첨부의 ID", required = true) @PathVariable Long attachId,
+            HttpServletRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        String uploaderId = (userDetails != null) ? userDetails.getUsername() : "anonymousUser";
+        return streamUpload(request, attachId, uploaderId, HttpStatus.OK);
+    }
+
+    private ResponseEntity<?> streamUpload(HttpServletRequest request, Long attachId, String uploaderId, HttpStatus successStatus) {
+        try {
+            List<AttachFile> uploadedFiles = streamingUploadService.upload(request, attachId, uploaderId);
+            if (uploadedFiles.isEmpty()) {
+                return ResponseEntity.badRequest().body("업로드할 파일이 없습니다.");
+            }
+            return ResponseEntity.status(successStatus).body(uploadedFiles);
+        } catch (IllegalArgumentException e) {
+            // 기존 첨부에 추가: 존재하지 않는 attachId, 새 첨부: attachName 누락/순서 오류
+            return ResponseEntity.status(attachId != null ? HttpStatus.NOT_FOUND : HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (FileUploadSizeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body("업로드 크기 제한을 넘었습니다: " + e.getMessage());
+        } catch (IOException e) {
+            log.error("스트리밍 파일 업로드 중 오류 발생", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("파일 업로드에 실패했습니다: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/uploads")
+    @Operation(summary = "[POST] 분할 업로드 세션 생성", description = "대용량 파일을 chunk 로 나누어 올리기 위한 세션을 생성. 파일을 추가할 첨부 ID 가 없으면 커밋 시 새 첨부를 생성.")
+    public ResponseEntity<?> startChunkedUpload(
+            @RequestBody UploadSessionRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        String uploaderId = (userDetails != null) ? userDetails.getUsername() : "anonymousUser";
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(chunkedUploadService.startSession(request, uploaderId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/uploads/{sessionId}")
+    @Operation(summary = "[GET] 분할 업로드 세션 상태 조회", description = "서버에 확인된 업로드 크기를 조회. 전송이 끊긴 경우 이 위치부터 이어서 전송.")
+    public ResponseEntity<?> getChunkedUpload(
+            @Parameter(description = "업로드 세션 ID", required = true) @PathVariable String sessionId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        String uploaderId = (userDetails != null) ? userDetails.getUsername() : "anonymousUser";
+        try {
+            return ResponseEntity.ok(chunkedUploadService.getSession(sessionId, uploaderId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    @PutMapping(value = "/uploads/{sessionId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(summary = "[PUT] 분할 업로드 chunk 전송", description = "요청 본문(chunk)을 offset 위치에 이어 씀. offset 이 서버의 업로드 크기와 다르면 409 와 현재 상태를 반환.")
+    public ResponseEntity<?> uploadChunk(
+            @Parameter(description = "업로드 세션 ID", required = true) @PathVariable String sessionId,
+            @Parameter(description = "chunk 시작 위치 (byte)", required = true) @RequestParam long offset,
+            HttpServletRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        String uploaderId = (userDetails != null) ? userDetails.getUsername() : "anonymousUser";
+        try {
+            // 요청 본문을 로컬에 저장하지 않고 FTP 로 바로 전송
+            return ResponseEntity.ok(chunkedUploadService.appendChunk(sessionId, offset, request.getInputStream(), uploaderId));
+        } catch (UploadOffsetMismatchException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(UploadSessionResponse.builder()
+                    .sessionId(sessionId)
+                    .uploadedSize(e.getUploadedSize())
+                    .build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IOException e) {
+            log.error("분할 업로드 chunk 처리 중 오류 발생: sessionId={}, offset={}", sessionId, offset, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("chunk 업로드에 실패했습니다: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/uploads/{sessionId}/commit")
+    @Operation(summary = "[POST] 분할 업로드 완료", description = "모든 chunk 를 받은 파일을 첨부파일로 등록.")
+    public ResponseEntity<?> commitChunkedUpload(
+            @Parameter(description = "업로드 세션 ID", required = true) @PathVariable String sessionId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        String uploaderId = (userDetails != null) ? userDetails.getUsername() : "anonymousUser";
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(chunkedUploadService.commit(sessionId, uploaderId));
+        } catch (UploadOffsetMismatchException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(UploadSessionResponse.builder()
+                    .sessionId(sessionId)
+                    .uploadedSize(e.getUploadedSize())
+                    .build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IOException e) {
+            log.error("분할 업로드 완료 처리 중 오류 발생: sessionId={}", sessionId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("파일 업로드에 실패했습니다: " + e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/uploads/{sessionId}")
+    @Operation(summary = "[DELETE] 분할 업로드 취소", description = "업로드 세션과 FTP 임시 파일을 삭제.")
+    public ResponseEntity<?> abortChunkedUpload(
+            @Parameter(description = "업로드 세션 ID", required = true) @PathVariable String sessionId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        String uploaderId = (userDetails != null) ? userDetails.getUsername() : "anonymousUser";
+        try {
+            chunkedUploadService.abort(sessionId, uploaderId);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
     @GetMapping("/{attachId}/files")
     @Operation(summary = "[GET] 특정 첨부에 속한 파일 목록 조회", description = "첨부 ID를 이용해 해당 묶음에 포함된 모든 파일 목록을 조회.")
     public ResponseEntity<List<AttachFileResponse>> getAttachmentFiles(
@@ -162,54 +309,112 @@ public class AttachController {
     }
 
     @GetMapping("/download/{fileId}")
-    @Operation(summary = "[GET] 개별 첨부파일 다운로드", description = "파일 ID를 이용해 특정 첨부파일을 다운로드.")
-    public ResponseEntity<byte[]> downloadFile(
-            @Parameter(description = "다운로드할 파일의 ID", required = true) @PathVariable Long fileId) {
-        try {
-            // 파일을 스트림으로 직접 응답에 쓰기 위해 ByteArrayOutputStream 사용
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            AttachFile fileInfo = ftpService.downloadFile(fileId, outputStream);
+    @Operation(summary = "[GET] 개별 첨부파일 다운로드", description = "파일 ID를 이용해 특정 첨부파일을 다운로드. Range/If-Range 헤더로 이어받기(206)를 지원.")
+    public void downloadFile(
+            @Parameter(description = "다운로드할 파일의 ID", required = true) @PathVariable Long fileId,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String rangeHeader,
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+            HttpServletResponse response) throws IOException {
+        AttachFile fileInfo = ftpService.findDownloadableFile(fileId);
+        if (fileInfo == null) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
 
-            if (fileInfo == null) {
-                return ResponseEntity.notFound().build();
-            }
+        // 파일명 인코딩 (한글 파일명 깨짐 방지)
+        String encodedFileName = java.net.URLEncoder.encode(fileInfo.getOriginalFileName(), "UTF-8").replaceAll("\\+", "%20");
 
-            // 파일명 인코딩 (한글 파일명 깨짐 방지)
-            String encodedFileName = java.net.URLEncoder.encode(fileInfo.getOriginalFileName(), "UTF-8").replaceAll("\\+", "%20");
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE); // 바이너리 파일임을 명시
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + encodedFileName + "\"");
+
+        Long fileSize = fileInfo.getFileSize();
+        HttpRange range = null;
+        if (fileSize != null) {
+            // 저장된 파일은 수정되지 않으므로 FILE_ID 와 크기로 ETag 를 만든다 (If-Range 비교용)
+            String etag = "\"" + fileInfo.getFileId() + "-" + fileSize + "\"";
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            range = resolveRange(rangeHeader, ifRange, etag);
+        }
 
-            return ResponseEntity.ok()
-                    .contentType(MediaType.APPLICATION_OCTET_STREAM) // 바이너리 파일임을 명시
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + encodedFileName + "\"")
-                    .header(HttpHeaders.CONTENT_LENGTH, String.valueOf(fileInfo.getFileSize()))
-                    .body(outputStream.toByteArray());
+        try {
+            if (range == null) {
+                if (fileSize != null) {
+                    response.setContentLengthLong(fileSize);
+                }
+                // 메모리에 모으지 않고 FTP 데이터 연결에서 응답 스트림으로 바로 전송
+                ftpService.streamFile(fileInfo, response.getOutputStream());
+                return;
+            }
 
+            long start = range.getRangeStart(fileSize);
+            long end = range.getRangeEnd(fileSize);
+            if (start >= fileSize || end < start) {
+                // 파일 크기를 벗어난 구간
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + fileSize);
+                return;
+            }
+            long length = end - start + 1;
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + fileSize);
+            response.setContentLengthLong(length);
+            ftpService.streamFile(fileInfo, response.getOutputStream(), start, length);
         } catch (IOException e) {
             log.error("파일 다운로드 중 오류 발생: fileId={}", fileId, e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+            failIfNotCommitted(response);
+        }
+    }
+
+    /**
+     * 부분 전송할 구간을 결정한다. 다음 경우에는 null (전체 전송) 을 반환한다.
+     * - Range 헤더가 없거나 형식이 잘못된 경우 (RFC 9110: 무시하고 전체 전송)
+     * - If-Range 가 현재 ETag 와 다른 경우 (파일이 바뀌었을 수 있으므로 전체 전송)
+     * - 여러 구간을 요청한 경우 (multipart/byteranges 대신 전체 전송)
+     */
+    private HttpRange resolveRange(String rangeHeader, String ifRange, String etag) {
+        if (rangeHeader == null || (ifRange != null && !ifRange.equals(etag))) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
         }
     }
 
     @GetMapping("/download-bundle/{attachId}")
     @Operation(summary = "[GET] 첨부 묶음 ZIP 다운로드", description = "첨부 ID를 이용해 해당 묶음에 포함된 모든 파일을 ZIP 파일로 압축하여 다운로드.")
-    public ResponseEntity<byte[]> downloadAttachBundle(
+    public void downloadAttachBundle(
             @Parameter(description = "다운로드할 첨부 묶음의 ID", required = true) @PathVariable Long attachId,
-            @Parameter(description = "다운로드할 ZIP 파일명 (선택 사항)") @RequestParam(required = false) String zipFileName) {
-        try {
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            ftpService.downloadAttachBundle(attachId, outputStream);
+            @Parameter(description = "다운로드할 ZIP 파일명 (선택 사항)") @RequestParam(required = false) String zipFileName,
+            HttpServletResponse response) throws IOException {
+        String finalZipFileName = (zipFileName != null && !zipFileName.trim().isEmpty()) ?
+                zipFileName : "attach_bundle_" + attachId + ".zip";
+        String encodedFileName = java.net.URLEncoder.encode(finalZipFileName, "UTF-8").replaceAll("\\+", "%20");
 
-            String finalZipFileName = (zipFileName != null && !zipFileName.trim().isEmpty()) ?
-                    zipFileName : "attach_bundle_" + attachId + ".zip";
-            String encodedFileName = java.net.URLEncoder.encode(finalZipFileName, "UTF-8").replaceAll("\\+", "%20");
-
-            return ResponseEntity.ok()
-                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + encodedFileName + "\"")
-                    .body(outputStream.toByteArray());
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + encodedFileName + "\"");
 
+        try {
+            // ZIP 을 만들면서 바로 응답으로 전송 (전체 크기를 미리 알 수 없으므로 chunked 전송)
+            ftpService.downloadAttachBundle(attachId, response.getOutputStream());
         } catch (IOException e) {
             log.error("첨부 묶음 다운로드 중 오류 발생: attachId={}", attachId, e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+            failIfNotCommitted(response);
+        }
+    }
+
+    /**
+     * 전송을 시작하기 전에 실패했다면 500 으로 응답한다.
+     * 이미 일부가 전송되었다면 상태를 바꿀 수 없으므로 연결을 끊어 클라이언트가 불완전한 파일임을 알게 한다.
+     */
+    private void failIfNotCommitted(HttpServletResponse response) throws IOException {
+        if (response.isCommitted()) {
+            throw new IOException("다운로드 전송 중단");
         }
+        response.reset();
+        response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,17 @@
+package com.akmz.springBase.attach.event;
+
+import lombok.Getter;
+
+/**
+ * 중복 제거 저장 파일의 참조가 모두 사라져 ATTACH_BLOB 행이 삭제되었음을 알리는 이벤트.
+ * 트랜잭션이 롤백되면 파일을 계속 참조하므로, 커밋 이후에 FTP 파일을 삭제하는 데 사용한다.
+ */
+@Getter
+public class AttachBlobReleasedEvent {
+
+    private final String remoteFullPath;
+
+    public AttachBlobReleasedEvent(String remoteFullPath) {
+        this.remoteFullPath = remoteFullPath;
+    }
+}
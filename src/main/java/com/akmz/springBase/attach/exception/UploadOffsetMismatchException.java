@@ -0,0 +1,16 @@
+package com.akmz.springBase.attach.exception;
+
+// 분할 업로드 chunk 의 시작 위치가 서버에 확인된 업로드 크기와 다름 (409, 클라이언트는 uploadedSize 부터 다시 전송)
+public class UploadOffsetMismatchException extends RuntimeException {
+
+    private final long uploadedSize;
+
+    public UploadOffsetMismatchException(String message, long uploadedSize) {
+        super(message);
+        this.uploadedSize = uploadedSize;
+    }
+
+    public long getUploadedSize() {
+        return uploadedSize;
+    }
+}
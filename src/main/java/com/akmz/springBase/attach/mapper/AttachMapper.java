@@ -1,12 +1,15 @@
 package com.akmz.springBase.attach.mapper;
 
 import com.akmz.springBase.attach.model.entity.Attach;
+import com.akmz.springBase.attach.model.entity.AttachBlob;
 import com.akmz.springBase.attach.model.entity.AttachFile;
+import com.akmz.springBase.attach.model.entity.UploadSession;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
 import org.springframework.data.domain.Sort;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Mapper
@@ -24,6 +27,82 @@ public interface AttachMapper {
      */
     void insertAttachFile(AttachFile attachFile);
 
+    /**
+     * 여러 첨부파일 정보를 한 번의 INSERT 로 저장합니다. (FILE_ID 는 시퀀스로 채번)
+     * @param attachFiles 저장할 파일 정보 목록 (비어있으면 안 됨)
+     */
+    void insertAttachFiles(@Param("attachFiles") List<AttachFile> attachFiles);
+
+    /**
+     * 내용 해시로 중복 제거 저장 파일을 조회합니다.
+     * @param contentHash 내용 SHA-256 (hex)
+     * @return 저장 파일 정보 또는 null
+     */
+    AttachBlob findBlobByHash(@Param("contentHash") String contentHash);
+
+    /**
+     * 새 중복 제거 저장 파일을 등록합니다.
+     * @param attachBlob 저장 파일 정보 (refCount 포함)
+     */
+    void insertBlob(AttachBlob attachBlob);
+
+    /**
+     * 저장 파일의 참조 수를 늘립니다.
+     * @param contentHash 내용 SHA-256 (hex)
+     * @param count 늘릴 참조 수
+     * @return 갱신된 행 수 (0 이면 저장 파일 없음)
+     */
+    int addBlobReferences(@Param("contentHash") String contentHash, @Param("count") int count);
+
+    /**
+     * 저장 파일의 참조 수를 하나 줄입니다.
+     * @param contentHash 내용 SHA-256 (hex)
+     * @return 갱신된 행 수
+     */
+    int releaseBlobReference(@Param("contentHash") String contentHash);
+
+    /**
+     * 참조 수가 0 인 저장 파일 정보를 삭제합니다.
+     * @param contentHash 내용 SHA-256 (hex)
+     * @return 삭제된 행 수 (1 이면 FTP 파일도 삭제해야 함)
+     */
+    int deleteUnreferencedBlob(@Param("contentHash") String contentHash);
+
+    /**
+     * 분할 업로드 세션을 생성합니다. (업로드 크기 0)
+     * @param uploadSession 세션 정보
+     */
+    void insertUploadSession(UploadSession uploadSession);
+
+    /**
+     * 분할 업로드 세션을 조회합니다.
+     * @param sessionId 세션 ID
+     * @return 세션 정보 또는 null
+     */
+    UploadSession findUploadSession(@Param("sessionId") String sessionId);
+
+    /**
+     * 확인된 업로드 크기를 갱신합니다. 현재 값이 expectedSize 일 때만 갱신하여 같은 위치의 chunk 가 중복 반영되지 않게 합니다.
+     * @param sessionId 세션 ID
+     * @param expectedSize chunk 시작 위치 (현재 업로드 크기)
+     * @param uploadedSize 새 업로드 크기
+     * @return 갱신된 행 수
+     */
+    int updateUploadedSize(@Param("sessionId") String sessionId, @Param("expectedSize") long expectedSize, @Param("uploadedSize") long uploadedSize);
+
+    /**
+     * 분할 업로드 세션을 삭제합니다.
+     * @param sessionId 세션 ID
+     */
+    void deleteUploadSession(@Param("sessionId") String sessionId);
+
+    /**
+     * 마지막 chunk 수신 시각이 cutoff 이전인 (중단된) 세션을 조회합니다.
+     * @param cutoff 기준 시각
+     * @return 세션 목록
+     */
+    List<UploadSession> findUploadSessionsUpdatedBefore(@Param("cutoff") LocalDateTime cutoff);
+
     /**
      * 특정 첨부 ID에 속한 모든 파일 목록을 조회합니다. (삭제된 파일 제외)
      * @param attachId 조회할 첨부 ID
@@ -0,0 +1,21 @@
+package com.akmz.springBase.attach.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+@Data
+@Schema(description = "분할 업로드 세션 생성 요청 DTO")
+public class UploadSessionRequest {
+
+    @Schema(description = "원본 파일명", example = "video.mp4")
+    private String fileName;
+
+    @Schema(description = "전체 파일 크기 (bytes)", example = "5368709120")
+    private Long totalSize;
+
+    @Schema(description = "파일을 추가할 첨부 ID (없으면 커밋 시 새 첨부 생성)", example = "101")
+    private Long attachId;
+
+    @Schema(description = "새 첨부 생성 시 첨부명 (없으면 파일명)", example = "1번 게시글 첨부")
+    private String attachName;
+}
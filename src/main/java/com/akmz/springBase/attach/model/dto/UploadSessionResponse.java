@@ -0,0 +1,24 @@
+package com.akmz.springBase.attach.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "분할 업로드 세션 상태 응답 DTO")
+public class UploadSessionResponse {
+
+    @Schema(description = "업로드 세션 ID", example = "3f1c2a9e-5b7d-4e8a-9c61-0d2f4b8e7a13")
+    private String sessionId;
+
+    @Schema(description = "서버에 확인된 업로드 크기 (다음 chunk 의 offset)", example = "10485760")
+    private Long uploadedSize;
+
+    @Schema(description = "전체 파일 크기 (bytes)", example = "5368709120")
+    private Long totalSize;
+}
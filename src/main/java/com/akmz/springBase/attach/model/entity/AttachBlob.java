@@ -0,0 +1,17 @@
+package com.akmz.springBase.attach.model.entity;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * 내용(SHA-256) 기준으로 중복 제거된 FTP 저장 파일. 같은 내용의 ATTACH_FILE 들이 참조 수로 공유한다.
+ */
+@Data
+public class AttachBlob {
+    private String contentHash;
+    private String filePath;
+    private String savedFileName;
+    private Long fileSize;
+    private Integer refCount;
+    private LocalDateTime createdAt;
+}
@@ -15,4 +15,5 @@ public class AttachFile {
     private LocalDateTime uploadedAt;
     private String status;
     private LocalDateTime deletedAt;
+    private String contentHash; // 중복 제거 저장 시 ATTACH_BLOB 의 키, 아니면 null
 }
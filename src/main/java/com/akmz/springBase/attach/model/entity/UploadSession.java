@@ -0,0 +1,21 @@
+package com.akmz.springBase.attach.model.entity;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * 대용량 첨부파일 분할 업로드 세션. 받은 chunk 는 FTP 임시 파일(tempPath)에 이어 붙인다.
+ */
+@Data
+public class UploadSession {
+    private String sessionId;
+    private Long attachId;
+    private String attachName;
+    private String originalFileName;
+    private String tempPath;
+    private Long totalSize;
+    private Long uploadedSize;
+    private String uploaderId;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,289 @@
+package com.akmz.springBase.attach.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * 자주 내려받는 첨부파일의 로컬 디스크 캐시 (FTP 원격 경로 기준).
+ *
+ * 저장된 파일 이름은 UUID 로 만들어지고 내용이 바뀌지 않으므로, 한 번 받은 파일은 삭제될 때까지 그대로 재사용한다.
+ * 전체 크기(max-bytes)를 넘으면 오래 쓰지 않은 파일부터 지운다. 파일은 임시 파일에 다 받은 뒤 이름을 바꿔 등록하므로
+ * 받다 만 파일이 응답에 쓰이지 않는다. 색인은 메모리에만 있으므로 기동 시 캐시 디렉토리를 비운다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AttachFileCache {
+
+    private static final String CACHED_SUFFIX = ".bin";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${ftp.local-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ftp.local-cache.dir:${java.io.tmpdir}/springbase-attach-cache}")
+    private String cacheDirectory;
+
+    // 캐시 파일 전체 최대 크기 (byte)
+    @Value("${ftp.local-cache.max-bytes:1073741824}")
+    private long maxBytes;
+
+    // 이 크기보다 큰 파일은 캐시하지 않음 (byte)
+    @Value("${ftp.local-cache.max-file-size:52428800}")
+    private long maxFileSize;
+
+    private Path cacheDir;
+    private Cache<String, Path> entries;
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        cacheDir = Paths.get(cacheDirectory);
+        Files.createDirectories(cacheDir);
+        clearDirectory();
+
+        entries = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, Path path) -> (int) Math.min(sizeOf(path), Integer.MAX_VALUE))
+                .executor(Runnable::run) // 제거된 항목의 파일을 바로 삭제
+                .removalListener((String key, Path path, RemovalCause cause) -> deleteQuietly(path))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "attach.local");
+    }
+
+    /**
+     * 캐시할 수 있는 크기의 파일인지 확인한다.
+     */
+    public boolean isCacheable(Long fileSize) {
+        return entries != null && fileSize != null && fileSize <= maxFileSize;
+    }
+
+    /**
+     * 캐시된 파일 전체를 출력 스트림으로 전송한다.
+     *
+     * @return 캐시에 없으면 false (아무것도 쓰지 않음)
+     */
+    public boolean transferTo(String remoteFullPath, OutputStream outputStream) throws IOException {
+        return transferTo(remoteFullPath, outputStream, 0, -1);
+    }
+
+    /**
+     * 캐시된 파일의 일부 구간을 FileChannel.transferTo 로 출력 스트림에 전송한다.
+     *
+     * @param length 전송할 길이 (byte), 음수이면 offset 부터 끝까지
+     * @return 캐시에 없으면 false (아무것도 쓰지 않음)
+     */
+    public boolean transferTo(String remoteFullPath, OutputStream outputStream, long offset, long length) throws IOException {
+        if (entries == null) {
+            return false;
+        }
+        Path path = entries.getIfPresent(remoteFullPath);
+        if (path == null) {
+            return false;
+        }
+
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            // 외부에서 지워진 경우: 항목을 지우고 FTP 에서 다시 받도록
+            entries.invalidate(remoteFullPath);
+            return false;
+        }
+        try (channel) {
+            long position = offset;
+            long remaining = length < 0 ? channel.size() - offset : length;
+            WritableByteChannel target = Channels.newChannel(outputStream);
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, target);
+                if (transferred <= 0) {
+                    throw new EOFException("캐시 파일이 예상보다 짧습니다: " + remoteFullPath);
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 응답으로 보내는 내용을 임시 파일에도 함께 기록하기 시작한다.
+     * 전송이 끝나면 Fill.commit 으로 캐시에 등록하고, 어떤 경우든 close 해야 한다.
+     *
+     * @param outputStream 원래 내용을 쓸 출력 스트림 (예: 응답 스트림)
+     */
+    public Fill startFill(String remoteFullPath, OutputStream outputStream) {
+        Path temp = cacheDir.resolve(UUID.randomUUID() + TEMP_SUFFIX);
+        OutputStream tempStream = null;
+        try {
+            tempStream = Files.newOutputStream(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            log.warn("첨부파일 캐시 임시 파일 생성 실패: {}", e.getMessage());
+        }
+        return new Fill(remoteFullPath, outputStream, temp, tempStream);
+    }
+
+    /**
+     * 원격 파일이 삭제될 때 캐시 항목과 로컬 파일을 지운다.
+     */
+    public void evict(String remoteFullPath) {
+        if (entries != null) {
+            entries.invalidate(remoteFullPath);
+        }
+    }
+
+    private void clearDirectory() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(cacheDir, "*{" + CACHED_SUFFIX + "," + TEMP_SUFFIX + "}")) {
+            for (Path file : files) {
+                deleteQuietly(file);
+            }
+        }
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("첨부파일 캐시 파일 삭제 실패: {}", path, e);
+        }
+    }
+
+    /**
+     * 원래 출력 스트림에 쓰면서 같은 내용을 임시 파일에 기록하는 스트림.
+     * 임시 파일 쓰기가 실패해도 원래 전송은 계속하고 캐시 등록만 포기한다.
+     */
+    public class Fill extends OutputStream {
+
+        private final String remoteFullPath;
+        private final OutputStream target;
+        private final Path temp;
+        private OutputStream tempStream;
+        private long written;
+        private boolean committed;
+
+        private Fill(String remoteFullPath, OutputStream target, Path temp, OutputStream tempStream) {
+            this.remoteFullPath = remoteFullPath;
+            this.target = target;
+            this.temp = temp;
+            this.tempStream = tempStream;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            target.write(b);
+            if (tempStream != null) {
+                try {
+                    tempStream.write(b);
+                    written++;
+                } catch (IOException e) {
+                    abandon(e);
+                }
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            target.write(b, off, len);
+            if (tempStream != null) {
+                try {
+                    tempStream.write(b, off, len);
+                    written += len;
+                } catch (IOException e) {
+                    abandon(e);
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            target.flush();
+        }
+
+        /**
+         * 받은 크기가 예상과 같으면 임시 파일을 캐시 파일로 옮겨 등록한다.
+         */
+        public void commit(long expectedSize) {
+            if (tempStream == null) {
+                return;
+            }
+            try {
+                tempStream.close();
+                tempStream = null;
+                if (written != expectedSize) {
+                    log.warn("첨부파일 캐시 크기 불일치로 등록하지 않음: {} (expected={}, actual={})", remoteFullPath, expectedSize, written);
+                    return;
+                }
+                Path cached = cacheDir.resolve(temp.getFileName().toString().replace(TEMP_SUFFIX, CACHED_SUFFIX));
+                Files.move(temp, cached, StandardCopyOption.ATOMIC_MOVE);
+                entries.put(remoteFullPath, cached);
+                committed = true;
+            } catch (IOException e) {
+                log.warn("첨부파일 캐시 등록 실패: {}", e.getMessage());
+            }
+        }
+
+        /**
+         * 등록하지 않은 임시 파일을 지운다. 원래 출력 스트림은 닫지 않는다.
+         */
+        @Override
+        public void close() {
+            if (tempStream != null) {
+                try {
+                    tempStream.close();
+                } catch (IOException ignored) {
+                    // 곧 삭제
+                }
+                tempStream = null;
+            }
+            if (!committed) {
+                deleteQuietly(temp);
+            }
+        }
+
+        private void abandon(IOException e) {
+            log.warn("첨부파일 캐시 기록 실패, 이번 파일은 캐시하지 않음: {}", e.getMessage());
+            try {
+                tempStream.close();
+            } catch (IOException ignored) {
+                // 곧 삭제
+            }
+            tempStream = null;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.akmz.springBase.attach.service;
+
+import com.akmz.springBase.attach.exception.UploadOffsetMismatchException;
+import com.akmz.springBase.attach.mapper.AttachMapper;
+import com.akmz.springBase.attach.model.dto.UploadSessionRequest;
+import com.akmz.springBase.attach.model.dto.UploadSessionResponse;
+import com.akmz.springBase.attach.model.entity.Attach;
+import com.akmz.springBase.attach.model.entity.AttachFile;
+import com.akmz.springBase.attach.model.entity.UploadSession;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 대용량 첨부파일 분할(chunk) 업로드.
+ *
+ * 세션을 만든 뒤 chunk 를 offset 순서대로 보내면 FTP 임시 파일에 바로 이어 쓰고(로컬 디스크에 모으지 않음),
+ * 모두 받으면 커밋하여 /uploads 아래로 옮기고 첨부파일로 등록한다.
+ * 전송이 끊기면 세션 상태의 uploadedSize 부터 다시 보내면 된다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChunkedUploadService {
+
+    private final AttachMapper attachMapper;
+    private final FtpService ftpService;
+
+    @Value("${ftp.chunked-upload.dir:/chunked-uploads}")
+    private String chunkedUploadDir;
+
+    // 분할 업로드로 받을 수 있는 최대 파일 크기 (byte)
+    @Value("${ftp.chunked-upload.max-file-size:10737418240}")
+    private long maxFileSize;
+
+    // 마지막 chunk 이후 이 시간이 지난 세션은 중단된 것으로 보고 정리
+    @Value("${ftp.chunked-upload.session-expiration-hours:24}")
+    private int sessionExpirationHours;
+
+    /**
+     * 분할 업로드 세션을 생성합니다.
+     *
+     * @throws IllegalArgumentException 파일명/크기가 잘못되었거나 첨부 ID 가 없는 경우
+     */
+    public UploadSessionResponse startSession(UploadSessionRequest request, String uploaderId) {
+        String fileName = request.getFileName() == null ? "" : request.getFileName().replaceAll(".*[/\\\\]", "").trim();
+        if (fileName.isEmpty()) {
+            throw new IllegalArgumentException("파일명이 없습니다.");
+        }
+        Long totalSize = request.getTotalSize();
+        if (totalSize == null || totalSize <= 0 || totalSize > maxFileSize) {
+            throw new IllegalArgumentException("파일 크기가 올바르지 않습니다. (최대 " + maxFileSize + " bytes)");
+        }
+        if (request.getAttachId() != null && attachMapper.findAttachById(request.getAttachId()) == null) {
+            throw new IllegalArgumentException("존재하지 않는 첨부 ID입니다: " + request.getAttachId());
+        }
+
+        UploadSession session = new UploadSession();
+        session.setSessionId(UUID.randomUUID().toString());
+        session.setAttachId(request.getAttachId());
+        session.setAttachName(request.getAttachName());
+        session.setOriginalFileName(fileName);
+        session.setTempPath(chunkedUploadDir + "/" + session.getSessionId());
+        session.setTotalSize(totalSize);
+        session.setUploadedSize(0L);
+        session.setUploaderId(uploaderId);
+        attachMapper.insertUploadSession(session);
+        log.info("분할 업로드 세션 생성: sessionId={}, file={}, size={}", session.getSessionId(), fileName, totalSize);
+        return toResponse(session);
+    }
+
+    /**
+     * 세션 상태(이어 보낼 위치)를 조회합니다.
+     *
+     * @throws IllegalArgumentException 세션이 없거나 다른 사용자의 세션인 경우
+     */
+    public UploadSessionResponse getSession(String sessionId, String uploaderId) {
+        return toResponse(findOwnedSession(sessionId, uploaderId));
+    }
+
+    /**
+     * chunk 를 FTP 임시 파일의 offset 위치에 씁니다. offset 은 현재 확인된 업로드 크기와 같아야 합니다.
+     *
+     * @param inputStream chunk 내용 (요청 본문)
+     * @throws UploadOffsetMismatchException offset 이 현재 업로드 크기와 다른 경우
+     * @throws IOException FTP 전송 실패 (확인된 크기는 그대로이므로 같은 offset 부터 다시 보내면 됨)
+     */
+    public UploadSessionResponse appendChunk(String sessionId, long offset, InputStream inputStream, String uploaderId) throws IOException {
+        UploadSession session = findOwnedSession(sessionId, uploaderId);
+        if (offset != session.getUploadedSize()) {
+            throw new UploadOffsetMismatchException("chunk 시작 위치가 맞지 않습니다.", session.getUploadedSize());
+        }
+
+        long written = ftpService.writeRangeToFtp(session.getTempPath(), inputStream, offset, session.getTotalSize() - offset);
+        long uploadedSize = offset + written;
+        if (attachMapper.updateUploadedSize(sessionId, offset, uploadedSize) == 0) {
+            // 같은 위치의 chunk 가 동시에 반영된 경우
+            UploadSession current = findOwnedSession(sessionId, uploaderId);
+            throw new UploadOffsetMismatchException("같은 위치의 chunk 가 이미 반영되었습니다.", current.getUploadedSize());
+        }
+        session.setUploadedSize(uploadedSize);
+        return toResponse(session);
+    }
+
+    /**
+     * 모두 받은 파일을 첨부파일로 등록합니다. (세션의 첨부 ID 가 없으면 새 첨부 생성)
+     *
+     * @return 등록된 파일 정보
+     * @throws UploadOffsetMismatchException 아직 받지 않은 구간이 있는 경우
+     * @throws IOException FTP 파일 확인/이동 실패
+     */
+    @Transactional(rollbackFor = IOException.class)
+    public AttachFile commit(String sessionId, String uploaderId) throws IOException {
+        UploadSession session = findOwnedSession(sessionId, uploaderId);
+        if (session.getUploadedSize() < session.getTotalSize()) {
+            throw new UploadOffsetMismatchException("아직 업로드되지 않은 구간이 있습니다.", session.getUploadedSize());
+        }
+        Long remoteSize = ftpService.getFtpFileSize(session.getTempPath());
+        if (remoteSize != null && remoteSize.longValue() != session.getTotalSize()) {
+            throw new IOException("업로드된 파일 크기가 다릅니다. expected=" + session.getTotalSize() + ", actual=" + remoteSize);
+        }
+
+        Long attachId = session.getAttachId();
+        if (attachId == null) {
+            Attach attach = new Attach();
+            attach.setAttachName(session.getAttachName() != null ? session.getAttachName() : session.getOriginalFileName());
+            attach.setCreatorId(uploaderId);
+            attachMapper.insertAttach(attach);
+            attachId = attach.getAttachId();
+        } else if (attachMapper.findAttachById(attachId) == null) {
+            throw new IllegalArgumentException("존재하지 않는 첨부 ID입니다: " + attachId);
+        }
+
+        String datePath = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
+        AttachFile attachFile = new AttachFile();
+        attachFile.setAttachId(attachId);
+        attachFile.setOriginalFileName(session.getOriginalFileName());
+        attachFile.setSavedFileName(UUID.randomUUID() + "_" + session.getOriginalFileName());
+        attachFile.setFilePath("/uploads/" + datePath);
+        attachFile.setFileSize(session.getTotalSize());
+        attachFile.setUploaderId(uploaderId);
+        String remoteFullPath = attachFile.getFilePath() + "/" + attachFile.getSavedFileName();
+
+        if (!ftpService.moveFileOnFtp(session.getTempPath(), remoteFullPath)) {
+            throw new IOException("업로드된 파일을 옮기지 못했습니다: " + session.getOriginalFileName());
+        }
+        try {
+            attachMapper.insertAttachFiles(List.of(attachFile));
+            attachMapper.deleteUploadSession(sessionId);
+        } catch (RuntimeException e) {
+            // DB 가 롤백되므로 파일을 임시 위치로 되돌려 다시 커밋할 수 있게 함
+            ftpService.moveFileOnFtp(remoteFullPath, session.getTempPath());
+            throw e;
+        }
+        log.info("분할 업로드 완료: sessionId={}, attachId={}, path={}", sessionId, attachId, remoteFullPath);
+        return attachFile;
+    }
+
+    /**
+     * 업로드를 취소하고 임시 파일을 삭제합니다.
+     */
+    public void abort(String sessionId, String uploaderId) {
+        UploadSession session = findOwnedSession(sessionId, uploaderId);
+        ftpService.deleteFileFromFtp(session.getTempPath());
+        attachMapper.deleteUploadSession(sessionId);
+    }
+
+    /**
+     * 오래 chunk 가 오지 않은 (중단된) 세션과 임시 파일을 정리합니다.
+     *
+     * @return 정리한 세션 수
+     */
+    public int purgeExpiredSessions() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(sessionExpirationHours);
+        List<UploadSession> expired = attachMapper.findUploadSessionsUpdatedBefore(cutoff);
+        for (UploadSession session : expired) {
+            if (ftpService.deleteFileFromFtp(session.getTempPath())) {
+                attachMapper.deleteUploadSession(session.getSessionId());
+            } else {
+                log.warn("중단된 분할 업로드 임시 파일 삭제 실패: {}", session.getTempPath());
+            }
+        }
+        return expired.size();
+    }
+
+    private UploadSession findOwnedSession(String sessionId, String uploaderId) {
+        UploadSession session = attachMapper.findUploadSession(sessionId);
+        if (session == null || !session.getUploaderId().equals(uploaderId)) {
+            throw new IllegalArgumentException("존재하지 않는 업로드 세션입니다: " + sessionId);
+        }
+        return session;
+    }
+
+    private UploadSessionResponse toResponse(UploadSession session) {
+        return UploadSessionResponse.builder()
+                .sessionId(session.getSessionId())
+                .uploadedSize(session.getUploadedSize())
+                .totalSize(session.getTotalSize())
+                .build();
+    }
+}
@@ -1,11 +1,275 @@
 package com.akmz.springBase.attach.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.net.ftp.FTPClient;
+import org.apache.commons.pool2.BasePooledObjectFactory;
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * FTPClient 생성 및 연결 풀.
+ *
+ * 풀을 사용하면 로그인까지 마친 연결을 재사용하여 작업마다 TCP 연결과 로그인을 반복하지 않는다.
+ * 빌려줄 때와 유휴 상태일 때 NOOP 으로 연결을 확인하고, 오래 쓰지 않은 연결은 정리한다.
+ * 접속/해제 방법은 FtpService 가 initPool 로 전달한다.
+ *
+ * 다운로드 응답이나 요청 본문 업로드처럼 클라이언트 속도에 맞춰 전송하는 작업은 연결을 오래 잡고 있으므로
+ * borrowStreamingClient 로 빌려 동시에 ftp.pool.max-streaming 개까지만 쓰게 한다.
+ * 나머지(max-total - max-streaming)는 업로드/삭제/목록 조회 같은 짧은 작업이 항상 쓸 수 있다.
+ */
+@Slf4j
 @Component
+@RequiredArgsConstructor
 public class FtpClientFactory {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${ftp.pool.enabled:true}")
+    private boolean poolEnabled;
+
+    @Value("${ftp.pool.max-total:8}")
+    private int maxTotal;
+
+    @Value("${ftp.pool.max-idle:8}")
+    private int maxIdle;
+
+    @Value("${ftp.pool.min-idle:0}")
+    private int minIdle;
+
+    // 클라이언트 속도에 맞춰 전송하는 작업이 동시에 잡을 수 있는 최대 연결 수 (max-total 보다 작게)
+    @Value("${ftp.pool.max-streaming:4}")
+    private int maxStreaming;
+
+    // 연결이 모두 사용 중일 때 기다리는 최대 시간 (ms)
+    @Value("${ftp.pool.max-wait:5000}")
+    private long maxWait;
+
+    // 이 시간(ms) 이상 쓰지 않은 연결은 정리 (FTP 서버의 유휴 타임아웃보다 짧게)
+    @Value("${ftp.pool.min-evictable-idle:60000}")
+    private long minEvictableIdle;
+
+    // 유휴 연결 점검/정리 주기 (ms)
+    @Value("${ftp.pool.eviction-interval:30000}")
+    private long evictionInterval;
+
+    private GenericObjectPool<FTPClient> pool;
+    private Semaphore streamingPermits;
+    private final Set<FTPClient> streamingClients = ConcurrentHashMap.newKeySet();
+    private Timer borrowTimer;
+    private Counter borrowTimeoutCounter;
+    private Counter invalidateCounter;
+
     public FTPClient createClient() {
         return new FTPClient();
     }
+
+    /**
+     * 연결 풀을 만든다. ftp.pool.enabled=false 이면 아무것도 하지 않는다.
+     *
+     * @param connector 새 FTPClient 를 접속/로그인시키고 성공 여부를 반환
+     * @param closer 연결을 로그아웃/해제
+     */
+    public synchronized void initPool(Predicate<FTPClient> connector, Consumer<FTPClient> closer) {
+        if (!poolEnabled || pool != null) {
+            return;
+        }
+
+        GenericObjectPoolConfig<FTPClient> config = new GenericObjectPoolConfig<>();
+        config.setMaxTotal(maxTotal);
+        config.setMaxIdle(maxIdle);
+        config.setMinIdle(minIdle);
+        config.setMaxWait(Duration.ofMillis(maxWait));
+        config.setTestOnBorrow(true);   // 빌려주기 전 NOOP 확인 (서버가 끊은 연결 걸러냄)
+        config.setTestWhileIdle(true);  // 유휴 연결도 주기적으로 확인
+        config.setMinEvictableIdleDuration(Duration.ofMillis(minEvictableIdle));
+        config.setTimeBetweenEvictionRuns(Duration.ofMillis(evictionInterval));
+        config.setJmxEnabled(false);
+
+        pool = new GenericObjectPool<>(new PooledFtpClientFactory(connector, closer), config);
+
+        // 짧은 작업용으로 최소 1개는 남김 (max-total 이 1 이면 나눌 수 없으므로 제한하지 않음)
+        int streamingLimit = maxTotal > 1 ? Math.max(1, Math.min(maxStreaming, maxTotal - 1)) : maxTotal;
+        if (streamingLimit != maxStreaming) {
+            log.warn("ftp.pool.max-streaming={} 을(를) {} 로 조정합니다 (max-total={}).", maxStreaming, streamingLimit, maxTotal);
+        }
+        streamingPermits = new Semaphore(streamingLimit);
+
+        borrowTimer = Timer.builder("ftp.pool.borrow")
+                .description("FTP 연결을 빌리는 데 걸린 시간 (대기 + 새 연결 생성)")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        borrowTimeoutCounter = Counter.builder("ftp.pool.borrow.timeout")
+                .description("max-wait 안에 FTP 연결을 빌리지 못한 횟수")
+                .register(meterRegistry);
+        invalidateCounter = Counter.builder("ftp.pool.invalidated")
+                .description("오류로 재사용하지 않고 폐기한 FTP 연결 수")
+                .register(meterRegistry);
+        Gauge.builder("ftp.pool.active", pool, GenericObjectPool::getNumActive).register(meterRegistry);
+        Gauge.builder("ftp.pool.idle", pool, GenericObjectPool::getNumIdle).register(meterRegistry);
+        Gauge.builder("ftp.pool.waiters", pool, GenericObjectPool::getNumWaiters).register(meterRegistry);
+        Gauge.builder("ftp.pool.streaming.active", streamingClients, Set::size).register(meterRegistry);
+    }
+
+    public boolean isPoolEnabled() {
+        return pool != null;
+    }
+
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    /**
+     * 로그인된 연결을 빌린다. 사용 후 반드시 returnClient 로 돌려줘야 한다.
+     *
+     * @throws IOException max-wait 안에 연결을 빌리지 못했거나 접속에 실패한 경우
+     */
+    public FTPClient borrowClient() throws IOException {
+        long start = System.nanoTime();
+        try {
+            return pool.borrowObject();
+        } catch (NoSuchElementException e) {
+            borrowTimeoutCounter.increment();
+            throw new IOException("FTP 연결을 가져오지 못했습니다: " + e.getMessage(), e);
+        } catch (Exception e) {
+            throw new IOException("FTP 연결 생성 실패: " + e.getMessage(), e);
+        } finally {
+            borrowTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * 기다리지 않고 쉬고 있는 연결을 빌린다 (max-total 미만이면 새로 접속). 모두 사용 중이면 null.
+     * 묶음 다운로드의 선반입처럼 연결이 없으면 건너뛰어도 되는 작업에 사용한다.
+     *
+     * @throws IOException 새 연결 접속에 실패한 경우
+     */
+    public FTPClient tryBorrowClient() throws IOException {
+        long start = System.nanoTime();
+        try {
+            return pool.borrowObject(Duration.ZERO);
+        } catch (NoSuchElementException e) {
+            return null;
+        } catch (Exception e) {
+            throw new IOException("FTP 연결 생성 실패: " + e.getMessage(), e);
+        } finally {
+            borrowTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * 클라이언트 속도에 맞춰 전송하는 작업용 연결을 빌린다. 동시에 max-streaming 개를 넘으면 max-wait 동안 기다린다.
+     * 사용 후 반드시 returnClient 로 돌려줘야 한다.
+     *
+     * @throws IOException max-wait 안에 연결을 빌리지 못했거나 접속에 실패한 경우
+     */
+    public FTPClient borrowStreamingClient() throws IOException {
+        try {
+            if (!streamingPermits.tryAcquire(maxWait, TimeUnit.MILLISECONDS)) {
+                borrowTimeoutCounter.increment();
+                throw new IOException("FTP 연결을 가져오지 못했습니다: 동시 스트리밍 전송 수(max-streaming) 초과");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("FTP 연결 대기 중 인터럽트", e);
+        }
+        try {
+            FTPClient ftpClient = borrowClient();
+            streamingClients.add(ftpClient);
+            return ftpClient;
+        } catch (IOException | RuntimeException e) {
+            streamingPermits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 빌린 연결을 돌려준다.
+     *
+     * @param reusable false 이면 (전송 중단, 통신 오류 등) 연결을 닫고 풀에서 제거
+     */
+    public void returnClient(FTPClient ftpClient, boolean reusable) {
+        if (ftpClient == null) {
+            return;
+        }
+        if (streamingClients.remove(ftpClient)) {
+            streamingPermits.release();
+        }
+        if (reusable) {
+            pool.returnObject(ftpClient);
+            return;
+        }
+        invalidateCounter.increment();
+        try {
+            pool.invalidateObject(ftpClient);
+        } catch (Exception e) {
+            log.warn("FTP 연결 폐기 중 오류 발생: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    private class PooledFtpClientFactory extends BasePooledObjectFactory<FTPClient> {
+
+        private final Predicate<FTPClient> connector;
+        private final Consumer<FTPClient> closer;
+
+        private PooledFtpClientFactory(Predicate<FTPClient> connector, Consumer<FTPClient> closer) {
+            this.connector = connector;
+            this.closer = closer;
+        }
+
+        @Override
+        public FTPClient create() throws IOException {
+            FTPClient ftpClient = createClient();
+            if (!connector.test(ftpClient)) {
+                throw new IOException("FTP 서버에 연결할 수 없습니다.");
+            }
+            return ftpClient;
+        }
+
+        @Override
+        public PooledObject<FTPClient> wrap(FTPClient ftpClient) {
+            return new DefaultPooledObject<>(ftpClient);
+        }
+
+        @Override
+        public boolean validateObject(PooledObject<FTPClient> pooledObject) {
+            FTPClient ftpClient = pooledObject.getObject();
+            try {
+                return ftpClient.isConnected() && ftpClient.sendNoOp();
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public void destroyObject(PooledObject<FTPClient> pooledObject) {
+            closer.accept(pooledObject.getObject());
+        }
+    }
 }
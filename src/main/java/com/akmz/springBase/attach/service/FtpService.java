@@ -5,28 +5,57 @@ import com.akmz.springBase.common.util.PageUtils;
 import com.akmz.springBase.attach.mapper.AttachMapper;
 import com.akmz.springBase.attach.model.dto.AttachFileResponse;
 import com.akmz.springBase.attach.model.dto.AttachResponse;
+import com.akmz.springBase.attach.event.AttachBlobReleasedEvent;
 import com.akmz.springBase.attach.model.entity.Attach;
+import com.akmz.springBase.attach.model.entity.AttachBlob;
 import com.akmz.springBase.attach.model.entity.AttachFile;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.net.ftp.FTP;
 import org.apache.commons.net.ftp.FTPClient;
+import org.apache.commons.net.ftp.FTPCmd;
 import org.apache.commons.net.ftp.FTPFile;
 import org.apache.commons.net.ftp.FTPReply;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -47,8 +76,107 @@ public class FtpService {
     @Value("${ftp.password}")
     private String password;
 
+    // 다운로드/업로드 시 FTP 데이터 연결과 응답 스트림 사이의 복사 버퍼 크기 (byte). 파일 크기와 무관하게 이만큼만 메모리 사용
+    @Value("${ftp.buffer-size:65536}")
+    private int bufferSize;
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    // ZIP 묶음 다운로드 시 다음 파일들을 미리 받아 둘 동시 전송 수. 0 이면 순서대로 하나씩 받음
+    @Value("${ftp.bundle.prefetch-concurrency:4}")
+    private int prefetchConcurrency;
+
+    // 미리 받은 파일이 차지할 수 있는 최대 메모리 (byte, 모든 묶음 다운로드가 공유). 넘는 파일은 차례가 되면 바로 스트리밍
+    @Value("${ftp.bundle.prefetch-memory:33554432}")
+    private int prefetchMemory;
+
+    // 미리 받는 파일을 기다리는 최대 시간 (ms), 넘으면 취소하고 묶음 연결로 다시 받음
+    @Value("${ftp.bundle.prefetch-timeout:30000}")
+    private long prefetchTimeout;
+
     private final AttachMapper attachMapper; // DB 연동을 위한 매퍼
-    private final FtpClientFactory ftpClientFactory; // FTPClient 생성을 위한 팩토리
+    private final FtpClientFactory ftpClientFactory; // FTPClient 생성 및 연결 풀
+    private final ZipCompressionPolicy zipCompressionPolicy; // 묶음 다운로드 항목별 압축 여부
+    private final AttachFileCache attachFileCache; // 자주 받는 파일의 로컬 디스크 캐시
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 내용(SHA-256)이 같은 파일은 FTP 에 한 번만 저장하고 참조 수로 공유.
+    // 켜면 새 업로드의 저장 위치가 /uploads 에서 blob-dir 로 바뀌고 삭제는 참조 수 기준이 되므로 기본은 끔
+    @Value("${ftp.dedup.enabled:false}")
+    private boolean dedupEnabled;
+
+    @Value("${ftp.dedup.blob-dir:/blobs}")
+    private String dedupBlobDir;
+
+    // 여러 파일 업로드 시 동시에 업로드할 최대 파일 수 (전체 공유). 1 이면 순서대로 하나씩 업로드
+    @Value("${ftp.upload.concurrency:4}")
+    private int uploadConcurrency;
+
+    // 존재가 확인된 원격 디렉토리 캐시 유지 시간 (ms). 0 이면 캐시하지 않음
+    @Value("${ftp.directory-cache.ttl:600000}")
+    private long directoryCacheTtl;
+
+    @Value("${ftp.directory-cache.max-size:1000}")
+    private long directoryCacheMaxSize;
+
+    private Cache<String, Boolean> knownDirectories;
+    private ExecutorService prefetchExecutor;
+    private ExecutorService uploadExecutor;
+    private Semaphore prefetchMemoryBudget;
+
+    @PostConstruct
+    public void init() {
+        // 풀에서 새 연결을 만들 때도 같은 접속 설정(인코딩, 패시브 모드, 바이너리, 버퍼)을 사용
+        ftpClientFactory.initPool(this::connectAndLogin, this::disconnect);
+
+        // 동시 작업 수가 풀 크기를 넘으면 남는 작업은 연결을 기다리기만 하므로 풀 크기로 제한
+        if (ftpClientFactory.isPoolEnabled()) {
+            int maxTotal = ftpClientFactory.getMaxTotal();
+            if (uploadConcurrency > maxTotal) {
+                log.warn("ftp.upload.concurrency={} 을(를) ftp.pool.max-total={} 로 제한합니다.", uploadConcurrency, maxTotal);
+                uploadConcurrency = maxTotal;
+            }
+            if (prefetchConcurrency > maxTotal - 1) {
+                // 묶음 다운로드 자신이 연결 하나를 쓰므로 하나를 뺌
+                log.warn("ftp.bundle.prefetch-concurrency={} 을(를) {} 로 제한합니다 (ftp.pool.max-total={}).",
+                        prefetchConcurrency, maxTotal - 1, maxTotal);
+                prefetchConcurrency = maxTotal - 1;
+            }
+        }
+
+        if (prefetchConcurrency > 0 && prefetchMemory > 0) {
+            prefetchExecutor = Executors.newFixedThreadPool(prefetchConcurrency, daemonThreadFactory("ftp-prefetch-"));
+            prefetchMemoryBudget = new Semaphore(prefetchMemory);
+        }
+        if (directoryCacheTtl > 0) {
+            knownDirectories = Caffeine.newBuilder()
+                    .expireAfterWrite(Duration.ofMillis(directoryCacheTtl))
+                    .maximumSize(directoryCacheMaxSize)
+                    .build();
+        }
+        if (uploadConcurrency > 1) {
+            uploadExecutor = Executors.newFixedThreadPool(uploadConcurrency, daemonThreadFactory("ftp-upload-"));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (prefetchExecutor != null) {
+            prefetchExecutor.shutdownNow();
+        }
+        if (uploadExecutor != null) {
+            uploadExecutor.shutdownNow();
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory(String namePrefix) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
 
     // ===================================================================================
     // High-level 비즈니스 로직 (DB 연동 포함)
@@ -64,7 +192,7 @@ public class FtpService {
      * @return 생성된 첨부(Attach) 정보
      * @throws IOException 파일 처리 중 오류 발생 시
      */
-    @Transactional
+    @Transactional(rollbackFor = IOException.class)
     public Attach uploadNewAttachment(List<MultipartFile> files, String attachName, String creatorId) throws IOException {
         // 1. 첨부 묶음(Attach) 정보 생성
         Attach attach = new Attach();
@@ -72,36 +200,288 @@ public class FtpService {
         attach.setCreatorId(creatorId);
         attachMapper.insertAttach(attach);
 
-        // 2. 각 파일을 FTP에 업로드하고 DB에 파일 정보 저장
+        // 2. 각 파일을 FTP에 업로드하고 DB에 파일 정보 일괄 저장
+        uploadFiles(files, attach.getAttachId(), creatorId);
+        return attach;
+    }
+
+    /**
+     * 파일들을 FTP 에 업로드한 뒤 메타데이터를 한 번의 배치 INSERT 로 저장한다.
+     *
+     * ftp.upload.concurrency 가 2 이상이면 풀의 연결로 여러 파일을 동시에 업로드한다.
+     * ftp.dedup.enabled 이면 내용의 SHA-256 으로 이미 저장된 파일을 찾아 업로드 없이 참조 수만 늘린다.
+     * 하나라도 실패하거나 DB 저장이 실패하면 이미 올라간 파일을 FTP 에서 삭제하고 예외를 던진다.
+     * (DB 는 호출한 메서드의 트랜잭션으로 롤백)
+     *
+     * @return 저장한 파일 정보 (요청 순서, 빈 파일 제외)
+     */
+    private List<AttachFile> uploadFiles(List<MultipartFile> files, Long attachId, String uploaderId) throws IOException {
+        // 저장 경로 및 파일명 생성 (예: /uploads/2025/07/22/uuid_filename.ext)
+        String datePath = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
+        String remoteDirPath = "/uploads/" + datePath; // Paths.get() 대신 문자열 연결
+
+        List<MultipartFile> uploadTargets = new ArrayList<>();
+        List<AttachFile> attachFiles = new ArrayList<>();
         for (MultipartFile file : files) {
             if (file.isEmpty()) continue;
 
-            // 2-1. 저장할 경로 및 파일명 생성 (예: /uploads/2025/07/22/uuid_filename.ext)
-            String datePath = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
-            String remoteDirPath = "/uploads/" + datePath; // Paths.get() 대신 문자열 연결
             String originalFileName = file.getOriginalFilename();
-            String savedFileName = UUID.randomUUID().toString() + "_" + originalFileName;
-            String remoteFullPath = remoteDirPath + "/" + savedFileName; // Paths.get() 대신 문자열 연결
-
-            // 2-2. FTP 서버에 파일 업로드 (Low-level 메서드 호출)
-            boolean uploadSuccess = uploadFileToFtp(file, remoteFullPath);
-
-            if (uploadSuccess) {
-                // 2-3. DB에 파일 메타데이터 저장
-                AttachFile attachFile = new AttachFile();
-                attachFile.setAttachId(attach.getAttachId());
-                attachFile.setOriginalFileName(originalFileName);
-                attachFile.setSavedFileName(savedFileName);
-                attachFile.setFilePath(remoteDirPath);
-                attachFile.setFileSize(file.getSize());
-                attachFile.setUploaderId(creatorId);
-                attachMapper.insertAttachFile(attachFile);
+            AttachFile attachFile = new AttachFile();
+            attachFile.setAttachId(attachId);
+            attachFile.setOriginalFileName(originalFileName);
+            attachFile.setSavedFileName(UUID.randomUUID().toString() + "_" + originalFileName);
+            attachFile.setFilePath(remoteDirPath);
+            attachFile.setFileSize(file.getSize());
+            attachFile.setUploaderId(uploaderId);
+            if (dedupEnabled) {
+                attachFile.setContentHash(sha256(file));
+            }
+            uploadTargets.add(file);
+            attachFiles.add(attachFile);
+        }
+        if (attachFiles.isEmpty()) {
+            return attachFiles;
+        }
+
+        List<String> uploadedPaths = Collections.synchronizedList(new ArrayList<>());
+        try {
+            // 중복 제거: 이미 저장된 내용은 업로드 대상에서 제외
+            Map<String, List<AttachFile>> newBlobs = new LinkedHashMap<>();
+            List<MultipartFile> filesToUpload = uploadTargets;
+            List<AttachFile> rowsToUpload = attachFiles;
+            if (dedupEnabled) {
+                filesToUpload = new ArrayList<>();
+                rowsToUpload = new ArrayList<>();
+                for (int i = 0; i < attachFiles.size(); i++) {
+                    if (reserveBlob(attachFiles.get(i), newBlobs)) {
+                        filesToUpload.add(uploadTargets.get(i));
+                        rowsToUpload.add(attachFiles.get(i));
+                    }
+                }
+            }
+
+            if (uploadExecutor != null && rowsToUpload.size() > 1) {
+                // 동시에 업로드할 때 같은 디렉토리를 여러 연결이 함께 만들다 실패하지 않도록 먼저 생성
+                for (String dir : rowsToUpload.stream().map(AttachFile::getFilePath).distinct().toList()) {
+                    ensureDirectory(dir);
+                }
+                uploadConcurrently(filesToUpload, rowsToUpload, uploadedPaths);
             } else {
-                // 업로드 실패 시 예외 발생시켜 트랜잭션 롤백
-                throw new IOException("FTP 파일 업로드 실패: " + originalFileName);
+                for (int i = 0; i < rowsToUpload.size(); i++) {
+                    uploadOne(filesToUpload.get(i), rowsToUpload.get(i), uploadedPaths);
+                }
+            }
+            for (List<AttachFile> sameContent : newBlobs.values()) {
+                registerBlob(sameContent, uploadedPaths);
             }
+            attachMapper.insertAttachFiles(attachFiles);
+        } catch (IOException | RuntimeException e) {
+            deleteUploadedFiles(uploadedPaths);
+            throw e;
+        }
+        return attachFiles;
+    }
+
+    /**
+     * 같은 내용의 저장 파일이 있으면 참조 수를 늘리고 그 파일을 가리키게 한다.
+     * 없으면 새 저장 경로를 정해 newBlobs 에 모은다. (한 요청 안의 같은 내용은 한 번만 업로드)
+     *
+     * @return FTP 에 업로드해야 하면 true
+     */
+    private boolean reserveBlob(AttachFile attachFile, Map<String, List<AttachFile>> newBlobs) {
+        String contentHash = attachFile.getContentHash();
+        List<AttachFile> pending = newBlobs.get(contentHash);
+        if (pending != null) {
+            pointToBlob(attachFile, pending.get(0).getFilePath(), pending.get(0).getSavedFileName());
+            pending.add(attachFile);
+            return false;
+        }
+
+        AttachBlob existing = attachMapper.addBlobReferences(contentHash, 1) > 0 ? attachMapper.findBlobByHash(contentHash) : null;
+        if (existing != null) {
+            log.info("같은 내용의 파일이 이미 저장되어 있어 업로드를 생략합니다: {} -> {}/{}",
+                    attachFile.getOriginalFileName(), existing.getFilePath(), existing.getSavedFileName());
+            pointToBlob(attachFile, existing.getFilePath(), existing.getSavedFileName());
+            return false;
+        }
+
+        // 참조 수가 0 이 되어 지워지는 중인 파일과 겹치지 않도록 저장 파일명에 UUID 를 붙임
+        String blobDir = dedupBlobDir + "/" + contentHash.substring(0, 2) + "/" + contentHash.substring(2, 4);
+        pointToBlob(attachFile, blobDir, contentHash + "_" + UUID.randomUUID());
+        List<AttachFile> sameContent = new ArrayList<>();
+        sameContent.add(attachFile);
+        newBlobs.put(contentHash, sameContent);
+        return true;
+    }
+
+    // 새로 올린 저장 파일을 등록 (같은 내용이 동시에 먼저 등록되었으면 그 파일을 쓰고 방금 올린 파일은 삭제)
+    private void registerBlob(List<AttachFile> sameContent, List<String> uploadedPaths) {
+        AttachFile first = sameContent.get(0);
+        AttachBlob attachBlob = new AttachBlob();
+        attachBlob.setContentHash(first.getContentHash());
+        attachBlob.setFilePath(first.getFilePath());
+        attachBlob.setSavedFileName(first.getSavedFileName());
+        attachBlob.setFileSize(first.getFileSize());
+        attachBlob.setRefCount(sameContent.size());
+        try {
+            attachMapper.insertBlob(attachBlob);
+        } catch (DuplicateKeyException e) {
+            attachMapper.addBlobReferences(first.getContentHash(), sameContent.size());
+            AttachBlob existing = attachMapper.findBlobByHash(first.getContentHash());
+            String uploadedPath = first.getFilePath() + "/" + first.getSavedFileName();
+            sameContent.forEach(file -> pointToBlob(file, existing.getFilePath(), existing.getSavedFileName()));
+            uploadedPaths.remove(uploadedPath);
+            deleteUploadedFiles(List.of(uploadedPath));
+        }
+    }
+
+    /**
+     * 내용 해시를 모른 채 먼저 올린 파일(스트리밍 업로드)을 중복 제거 저장 파일로 등록한다.
+     * 같은 내용이 이미 저장되어 있으면 그 파일을 가리키게 하고 방금 올린 파일은 삭제한다.
+     *
+     * @param attachFile 업로드한 파일 정보 (contentHash 와 실제 저장 경로가 채워져 있어야 함)
+     * @param uploadedPaths 이번 요청에서 올라간 파일 경로 (삭제한 파일은 목록에서 뺌)
+     */
+    public void registerUploadedBlob(AttachFile attachFile, List<String> uploadedPaths) {
+        String contentHash = attachFile.getContentHash();
+        if (attachMapper.addBlobReferences(contentHash, 1) > 0) {
+            AttachBlob existing = attachMapper.findBlobByHash(contentHash);
+            String uploadedPath = attachFile.getFilePath() + "/" + attachFile.getSavedFileName();
+            log.info("같은 내용의 파일이 이미 저장되어 있어 방금 올린 파일을 삭제합니다: {} -> {}/{}",
+                    attachFile.getOriginalFileName(), existing.getFilePath(), existing.getSavedFileName());
+            pointToBlob(attachFile, existing.getFilePath(), existing.getSavedFileName());
+            uploadedPaths.remove(uploadedPath);
+            deleteUploadedFiles(List.of(uploadedPath));
+            return;
+        }
+        registerBlob(new ArrayList<>(List.of(attachFile)), uploadedPaths);
+    }
+
+    public boolean isDedupEnabled() {
+        return dedupEnabled;
+    }
+
+    private static void pointToBlob(AttachFile attachFile, String filePath, String savedFileName) {
+        attachFile.setFilePath(filePath);
+        attachFile.setSavedFileName(savedFileName);
+    }
+
+    /**
+     * 중복 제거 저장 파일의 참조를 하나 줄이고, 더 이상 참조가 없으면 커밋 후 FTP 파일을 삭제하도록 한다.
+     */
+    private void releaseBlob(AttachFile attachFile) {
+        String contentHash = attachFile.getContentHash();
+        attachMapper.releaseBlobReference(contentHash);
+        if (attachMapper.deleteUnreferencedBlob(contentHash) > 0) {
+            eventPublisher.publishEvent(new AttachBlobReleasedEvent(attachFile.getFilePath() + "/" + attachFile.getSavedFileName()));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBlobReleased(AttachBlobReleasedEvent event) {
+        attachFileCache.evict(event.getRemoteFullPath());
+        if (!deleteFileFromFtp(event.getRemoteFullPath())) {
+            log.error("참조가 없는 저장 파일을 FTP 에서 삭제하지 못했습니다: {}", event.getRemoteFullPath());
+        }
+    }
+
+    // 업로드 전에 로컬(멀티파트 임시 파일/메모리)에서 내용 해시를 계산.
+    // 전송하면서 계산하면 이미 저장된 내용도 일단 FTP 로 보내야 하므로, 로컬을 한 번 더 읽고 중복이면 전송을 생략한다.
+    // (본문을 다시 읽을 수 없는 스트리밍 업로드는 StreamingUploadService 에서 전송하면서 계산)
+    private String sha256(MultipartFile file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream inputStream = file.getInputStream()) {
+            byte[] buffer = new byte[copyBufferSize()];
+            int bytesRead;
+            while ((bytesRead = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, bytesRead);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private void uploadConcurrently(List<MultipartFile> uploadTargets, List<AttachFile> attachFiles,
+                                    List<String> uploadedPaths) throws IOException {
+        // 하나라도 실패하면 아직 시작하지 않은 업로드는 건너뜀
+        AtomicBoolean aborted = new AtomicBoolean();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < attachFiles.size(); i++) {
+            MultipartFile file = uploadTargets.get(i);
+            AttachFile attachFile = attachFiles.get(i);
+            futures.add(uploadExecutor.submit(() -> {
+                if (aborted.get()) {
+                    return null;
+                }
+                try {
+                    uploadOne(file, attachFile, uploadedPaths);
+                } catch (IOException | RuntimeException e) {
+                    aborted.set(true);
+                    throw e;
+                }
+                return null;
+            }));
+        }
+
+        // 보상 삭제가 빠짐없이 되도록 진행 중인 업로드가 모두 끝날 때까지 대기
+        IOException failure = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    Throwable cause = e.getCause();
+                    failure = cause instanceof IOException ioException ? ioException : new IOException(cause);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                aborted.set(true);
+                throw new InterruptedIOException("파일 업로드 대기 중 인터럽트");
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void uploadOne(MultipartFile file, AttachFile attachFile, List<String> uploadedPaths) throws IOException {
+        String remoteFullPath = attachFile.getFilePath() + "/" + attachFile.getSavedFileName();
+        if (!uploadFileToFtp(file, remoteFullPath)) {
+            // 업로드 실패 시 예외 발생시켜 트랜잭션 롤백
+            throw new IOException("FTP 파일 업로드 실패: " + attachFile.getOriginalFileName());
+        }
+        uploadedPaths.add(remoteFullPath);
+    }
+
+    // 실패 보상: 이번 요청에서 올라간 파일 삭제 (삭제 실패는 로그만 남김)
+    private void deleteUploadedFiles(List<String> uploadedPaths) {
+        for (String remoteFullPath : uploadedPaths) {
+            if (!deleteFileFromFtp(remoteFullPath)) {
+                log.error("업로드 실패 보상 중 FTP 파일 삭제 실패: {}", remoteFullPath);
+            }
+        }
+    }
+
+    private void ensureDirectory(String remoteDirPath) throws IOException {
+        FTPClient ftpClient = acquireClient();
+        if (ftpClient == null) {
+            throw new IOException("FTP 연결 실패");
+        }
+        boolean created;
+        boolean reusable = false;
+        try {
+            created = changeOrMakeDirectory(ftpClient, remoteDirPath);
+            reusable = true;
+        } finally {
+            releaseClient(ftpClient, reusable);
+        }
+        if (!created) {
+            throw new IOException("원격 디렉토리 생성 실패: " + remoteDirPath);
         }
-        return attach;
     }
 
     /**
@@ -152,7 +532,7 @@ public class FtpService {
      * @throws IOException 파일 처리 중 오류 발생 시
      * @throws IllegalArgumentException 존재하지 않는 첨부 ID일 경우
      */
-    @Transactional
+    @Transactional(rollbackFor = IOException.class)
     public List<AttachFile> addFilesToAttachment(Long attachId, List<MultipartFile> files, String uploaderId) throws IOException {
         // 1. attachId 유효성 검사
         Attach attach = attachMapper.findAttachById(attachId);
@@ -160,39 +540,8 @@ public class FtpService {
             throw new IllegalArgumentException("존재하지 않는 첨부 ID입니다: " + attachId);
         }
 
-        List<AttachFile> addedFiles = new ArrayList<>();
-
-        // 2. 각 파일을 FTP에 업로드하고 DB에 파일 정보 저장
-        for (MultipartFile file : files) {
-            if (file.isEmpty()) continue;
-
-            // 2-1. 저장 경로 및 파일명 생성 (신규 업로드와 동일한 로직)
-            String datePath = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
-            String remoteDirPath = "/uploads/" + datePath;
-            String originalFileName = file.getOriginalFilename();
-            String savedFileName = UUID.randomUUID().toString() + "_" + originalFileName;
-            String remoteFullPath = remoteDirPath + "/" + savedFileName;
-
-            // 2-2. FTP 서버에 파일 업로드
-            boolean uploadSuccess = uploadFileToFtp(file, remoteFullPath);
-
-            if (uploadSuccess) {
-                // 2-3. DB에 파일 메타데이터 저장
-                AttachFile attachFile = new AttachFile();
-                attachFile.setAttachId(attachId); // 기존 attachId 사용
-                attachFile.setOriginalFileName(originalFileName);
-                attachFile.setSavedFileName(savedFileName);
-                attachFile.setFilePath(remoteDirPath);
-                attachFile.setFileSize(file.getSize());
-                attachFile.setUploaderId(uploaderId);
-                attachMapper.insertAttachFile(attachFile);
-
-                addedFiles.add(attachFile); // 반환할 목록에 추가
-            } else {
-                // 업로드 실패 시 트랜잭션 롤백을 위해 예외 발생
-                throw new IOException("FTP 파일 업로드 실패: " + originalFileName);
-            }
-        }
+        // 2. 각 파일을 FTP에 업로드하고 DB에 파일 정보 일괄 저장 (신규 업로드와 동일한 로직)
+        List<AttachFile> addedFiles = uploadFiles(files, attachId, uploaderId);
         return addedFiles;
     }
 
@@ -212,9 +561,18 @@ public class FtpService {
             return false;
         }
 
+        // 중복 제거 저장 파일은 참조만 줄이고, 마지막 참조일 때 커밋 후 FTP 파일 삭제
+        if (fileToDelete.getContentHash() != null) {
+            releaseBlob(fileToDelete);
+            attachMapper.softDeleteFileById(fileId);
+            log.info("파일이 성공적으로 삭제되었습니다. fileId: {}", fileId);
+            return true;
+        }
+
         // 2. FTP 서버에서 물리적 파일 삭제 (Low-level 메서드 호출)
         String remoteFullPath = fileToDelete.getFilePath() + "/" + fileToDelete.getSavedFileName();
         boolean deleteSuccess = deleteFileFromFtp(remoteFullPath);
+        attachFileCache.evict(remoteFullPath);
 
         if (deleteSuccess) {
             // 3. DB에서 논리적 삭제 처리
@@ -258,9 +616,17 @@ public class FtpService {
 
         boolean allSuccess = true;
         for (AttachFile file : filesToDelete) {
+            if (file.getContentHash() != null) {
+                releaseBlob(file);
+                attachMapper.softDeleteFileById(file.getFileId());
+                log.info("파일이 성공적으로 삭제되었습니다. fileId: {}", file.getFileId());
+                continue;
+            }
+
             // 2. FTP 서버에서 물리적 파일 삭제
             String remoteFullPath = file.getFilePath() + "/" + file.getSavedFileName();
             boolean deleteFtpSuccess = deleteFileFromFtp(remoteFullPath);
+            attachFileCache.evict(remoteFullPath);
 
             if (deleteFtpSuccess) {
                 // 3. DB에서 논리적 삭제 처리
@@ -303,35 +669,109 @@ public class FtpService {
     }
 
     /**
-     * [High-level] 파일 ID를 이용하여 파일을 다운로드합니다.
+     * [High-level] 다운로드할 수 있는 파일(AVAILABLE)의 메타데이터를 조회합니다.
+     * 응답 헤더(파일명, 크기)를 먼저 쓰고 본문을 스트리밍하기 위해 다운로드와 분리합니다.
      *
      * @param fileId 다운로드할 파일의 ID
-     * @param outputStream 파일 내용을 쓸 출력 스트림
-     * @return 다운로드된 파일의 메타데이터 (원본 파일명, 파일 크기) 또는 null
-     * @throws IOException 파일 처리 중 오류 발생 시
+     * @return 파일 메타데이터 또는 null
      */
-    public AttachFile downloadFile(Long fileId, OutputStream outputStream) throws IOException {
+    public AttachFile findDownloadableFile(Long fileId) {
         AttachFile fileToDownload = attachMapper.findFileById(fileId);
         if (fileToDownload == null || !"AVAILABLE".equals(fileToDownload.getStatus())) {
             log.warn("다운로드할 파일이 존재하지 않거나 유효하지 않습니다. fileId: {}", fileId);
             return null;
         }
+        return fileToDownload;
+    }
 
+    /**
+     * [High-level] 파일 내용을 FTP 데이터 연결에서 출력 스트림으로 바로 복사합니다.
+     * 파일 전체를 메모리에 올리지 않으며 ftp.buffer-size 만큼의 버퍼만 사용합니다.
+     * 로컬 캐시에 있으면 FTP 에 접속하지 않고 캐시 파일을 보내며, 없으면 보내는 동안 캐시에 함께 기록합니다.
+     *
+     * @param fileToDownload findDownloadableFile 로 조회한 파일
+     * @param outputStream 파일 내용을 쓸 출력 스트림 (예: 서블릿 응답 스트림)
+     * @throws IOException FTP 다운로드 실패 시
+     */
+    public void streamFile(AttachFile fileToDownload, OutputStream outputStream) throws IOException {
         String remoteFullPath = fileToDownload.getFilePath() + "/" + fileToDownload.getSavedFileName();
-        boolean success = downloadFileFromFtp(remoteFullPath, outputStream);
+        if (attachFileCache.transferTo(remoteFullPath, outputStream)) {
+            log.debug("파일 다운로드 (로컬 캐시): fileId={}", fileToDownload.getFileId());
+            return;
+        }
+
+        boolean success;
+        if (attachFileCache.isCacheable(fileToDownload.getFileSize())) {
+            try (AttachFileCache.Fill fill = attachFileCache.startFill(remoteFullPath, outputStream)) {
+                success = downloadFileFromFtp(remoteFullPath, fill, true);
+                if (success) {
+                    fill.commit(fileToDownload.getFileSize());
+                }
+            }
+        } else {
+            success = downloadFileFromFtp(remoteFullPath, outputStream, true);
+        }
 
         if (success) {
-            log.info("파일 다운로드 성공: fileId={}", fileId);
-            return fileToDownload;
+            log.info("파일 다운로드 성공: fileId={}", fileToDownload.getFileId());
         } else {
-            log.error("FTP에서 파일 다운로드 실패: fileId={}", fileId);
+            log.error("FTP에서 파일 다운로드 실패: fileId={}", fileToDownload.getFileId());
             throw new IOException("FTP에서 파일 다운로드 실패: " + fileToDownload.getOriginalFileName());
         }
     }
 
+    /**
+     * [High-level] 파일의 일부 구간(HTTP Range)만 출력 스트림으로 복사합니다.
+     * FTP REST 명령으로 시작 위치부터 전송받고 필요한 길이만큼만 읽으므로 나머지 구간은 전송되지 않습니다.
+     *
+     * @param fileToDownload findDownloadableFile 로 조회한 파일
+     * @param outputStream 파일 내용을 쓸 출력 스트림
+     * @param offset 시작 위치 (byte)
+     * @param length 전송할 길이 (byte)
+     * @throws IOException FTP 다운로드 실패 시
+     */
+    public void streamFile(AttachFile fileToDownload, OutputStream outputStream, long offset, long length) throws IOException {
+        String remoteFullPath = fileToDownload.getFilePath() + "/" + fileToDownload.getSavedFileName();
+        if (attachFileCache.transferTo(remoteFullPath, outputStream, offset, length)) {
+            return;
+        }
+        boolean success = downloadFileRangeFromFtp(remoteFullPath, outputStream, offset, length);
+
+        if (success) {
+            log.info("파일 부분 다운로드 성공: fileId={}, offset={}, length={}", fileToDownload.getFileId(), offset, length);
+        } else {
+            log.error("FTP에서 파일 부분 다운로드 실패: fileId={}, offset={}, length={}", fileToDownload.getFileId(), offset, length);
+            throw new IOException("FTP에서 파일 다운로드 실패: " + fileToDownload.getOriginalFileName());
+        }
+    }
+
+    /**
+     * [High-level] 파일 ID를 이용하여 파일을 다운로드합니다.
+     *
+     * @param fileId 다운로드할 파일의 ID
+     * @param outputStream 파일 내용을 쓸 출력 스트림
+     * @return 다운로드된 파일의 메타데이터 (원본 파일명, 파일 크기) 또는 null
+     * @throws IOException 파일 처리 중 오류 발생 시
+     */
+    public AttachFile downloadFile(Long fileId, OutputStream outputStream) throws IOException {
+        AttachFile fileToDownload = findDownloadableFile(fileId);
+        if (fileToDownload == null) {
+            return null;
+        }
+        streamFile(fileToDownload, outputStream);
+        return fileToDownload;
+    }
+
     /**
      * [High-level] 첨부 묶음 ID를 이용하여 해당 묶음의 모든 파일을 ZIP으로 압축하여 다운로드합니다.
      *
+     * 현재 파일을 ZIP 에 쓰는 동안 다음 파일들(최대 ftp.bundle.prefetch-concurrency 개)을 별도 연결로 미리 받아
+     * 전체 시간이 파일별 지연의 합이 되지 않게 합니다. ZIP 항목 순서는 DB 조회 순서를 그대로 유지합니다.
+     * 미리 받은 파일은 메모리 예산(ftp.bundle.prefetch-memory) 안에서만 보관하고,
+     * 예산을 넘는 파일은 차례가 되었을 때 FTP 에서 ZIP 으로 바로 스트리밍합니다.
+     * 선반입은 풀에 쉬고 있는 연결이 있을 때만 시작하여 다른 작업의 연결을 기다리게 하지 않으며,
+     * 선반입이 실패하거나 ftp.bundle.prefetch-timeout 안에 끝나지 않으면 묶음 연결로 다시 받습니다.
+     *
      * @param attachId 다운로드할 첨부 묶음의 ID
      * @param outputStream ZIP 파일 내용을 쓸 출력 스트림
      * @throws IOException 파일 처리 중 오류 발생 시
@@ -346,8 +786,23 @@ public class FtpService {
             return; // 또는 예외 처리
         }
 
+        Map<Integer, Prefetch> prefetched = new HashMap<>();
+        int nextPrefetch = 1; // 다음으로 미리 받을 파일 위치 (현재 파일은 바로 스트리밍하므로 1 부터)
+
+        // 미리 받지 않은 파일은 하나의 FTP 연결로 순서대로 받는다 (첫 파일은 항상 바로 받으므로 선반입보다 먼저 확보)
+        FTPClient ftpClient = null;
+        boolean reusable = true;
         try (ZipOutputStream zos = new ZipOutputStream(outputStream)) {
-            for (AttachFile file : files) {
+            ftpClient = acquireClient(true);
+            if (ftpClient == null) {
+                log.error("FTP 연결 실패: 파일 다운로드 중");
+                throw new IOException("FTP 연결 실패");
+            }
+            zos.setLevel(zipCompressionPolicy.getCompressionLevel());
+            for (int i = 0; i < files.size(); i++) {
+                nextPrefetch = fillPrefetchWindow(files, i, nextPrefetch, prefetched);
+
+                AttachFile file = files.get(i);
                 String remoteFullPath = file.getFilePath() + "/" + file.getSavedFileName();
                 String originalFileName = file.getOriginalFileName();
 
@@ -357,38 +812,138 @@ public class FtpService {
                 usedFileNames.add(uniqueFileName);
 
                 ZipEntry zipEntry = new ZipEntry(uniqueFileName);
-                zos.putNextEntry(zipEntry);
-
-                // FTP에서 파일 읽어와 ZIP 스트림에 쓰기
-                FTPClient ftpClient = ftpClientFactory.createClient();
-                if (!connectAndLogin(ftpClient)) {
-                    log.error("FTP 연결 실패: 파일 다운로드 중");
-                    throw new IOException("FTP 연결 실패");
-                }
-                try (InputStream ftpInputStream = ftpClient.retrieveFileStream(remoteFullPath)) {
-                    if (ftpInputStream == null) {
-                        log.error("FTP에서 파일 스트림을 가져오지 못했습니다: {}", remoteFullPath);
-                        // 특정 파일 실패 시에도 계속 진행할지, 아니면 전체를 중단할지 정책에 따라 결정
-                        // 여기서는 예외를 던져 전체 중단
-                        throw new IOException("FTP에서 파일 스트림을 가져오지 못했습니다: " + file.getOriginalFileName());
+                boolean store = zipCompressionPolicy.shouldStore(originalFileName);
+
+                Prefetch prefetch = prefetched.remove(i);
+                FetchedContent content = null;
+                if (prefetch != null) {
+                    try {
+                        content = prefetch.await(prefetchTimeout);
+                    } catch (InterruptedIOException e) {
+                        prefetch.cancel();
+                        throw e;
+                    } catch (IOException e) {
+                        // 선반입 실패/지연은 묶음 전체를 실패시키지 않고 묶음 연결로 다시 받음
+                        log.warn("파일 선반입 실패, 묶음 연결로 다시 받습니다: fileId={}, {}", file.getFileId(), e.getMessage());
+                        prefetch.cancel();
                     }
-                    byte[] buffer = new byte[4096];
-                    int bytesRead;
-                    while ((bytesRead = ftpInputStream.read(buffer)) != -1) {
-                        zos.write(buffer, 0, bytesRead);
+                }
+                if (content != null) {
+                    // 미리 받은 내용을 쓰고 메모리 예산 반환
+                    try {
+                        if (store) {
+                            // 받는 동안 계산한 CRC 와 크기로 STORED 항목 작성 (압축/복사 없음)
+                            zipEntry.setMethod(ZipEntry.STORED);
+                            zipEntry.setSize(content.bytes.size());
+                            zipEntry.setCompressedSize(content.bytes.size());
+                            zipEntry.setCrc(content.crc);
+                        }
+                        zos.putNextEntry(zipEntry);
+                        content.bytes.writeTo(zos);
+                    } finally {
+                        prefetch.release();
                     }
-                    if (!ftpClient.completePendingCommand()) {
-                        log.error("FTP completePendingCommand 실패: {}", ftpClient.getReplyString());
-                        throw new IOException("FTP completePendingCommand 실패");
+                } else {
+                    // 바로 스트리밍하는 파일은 CRC 를 미리 알 수 없으므로 STORED 대신 레벨 0 으로 압축 연산 없이 기록
+                    if (store) {
+                        zos.setLevel(Deflater.NO_COMPRESSION);
                     }
-                } finally {
-                    disconnect(ftpClient);
+                    zos.putNextEntry(zipEntry);
+                    reusable = false;
+                    copyRemoteFile(ftpClient, remoteFullPath, zos);
+                    reusable = true;
                 }
                 zos.closeEntry();
+                if (store && content == null) {
+                    zos.setLevel(zipCompressionPolicy.getCompressionLevel());
+                }
             }
         } catch (IOException e) {
             log.error("첨부 묶음 다운로드 중 오류 발생: attachId={}", attachId, e);
             throw e;
+        } finally {
+            // 중단된 경우 아직 쓰지 않은 선반입 작업 취소
+            prefetched.values().forEach(Prefetch::cancel);
+            if (ftpClient != null) {
+                releaseClient(ftpClient, reusable);
+            }
+        }
+    }
+
+    /**
+     * current 다음 파일들 중 아직 요청하지 않은 파일을 동시 전송 수와 메모리 예산 안에서 미리 받기 시작한다.
+     *
+     * @return 다음에 미리 받을 파일 위치
+     */
+    private int fillPrefetchWindow(List<AttachFile> files, int current, int nextPrefetch, Map<Integer, Prefetch> prefetched) {
+        if (prefetchExecutor == null) {
+            return nextPrefetch;
+        }
+        int next = Math.max(nextPrefetch, current + 1);
+        while (next < files.size() && next <= current + prefetchConcurrency) {
+            AttachFile file = files.get(next);
+            Long fileSize = file.getFileSize();
+            if (fileSize == null || fileSize > prefetchMemory) {
+                next++; // 크기를 모르거나 예산보다 큰 파일은 차례가 되면 바로 스트리밍
+                continue;
+            }
+            int permits = (int) fileSize.longValue();
+            if (!prefetchMemoryBudget.tryAcquire(permits)) {
+                break; // 예산이 부족하면 다음 파일을 쓴 뒤 다시 시도
+            }
+            FTPClient pooledClient = null;
+            if (ftpClientFactory.isPoolEnabled()) {
+                pooledClient = tryBorrowPrefetchClient();
+                if (pooledClient == null) {
+                    prefetchMemoryBudget.release(permits);
+                    break; // 쉬고 있는 연결이 없으면 다음 파일을 쓴 뒤 다시 시도 (차례가 오면 묶음 연결로 받음)
+                }
+            }
+            prefetched.put(next, new Prefetch(file, permits, pooledClient));
+            next++;
+        }
+        return next;
+    }
+
+    // 선반입용 연결은 기다리지 않고 빌림 (풀이 모두 사용 중이면 null)
+    private FTPClient tryBorrowPrefetchClient() {
+        try {
+            return ftpClientFactory.tryBorrowClient();
+        } catch (IOException e) {
+            log.warn("선반입용 FTP 연결을 만들지 못했습니다: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private FetchedContent fetchToMemory(FTPClient ftpClient, AttachFile file) throws IOException {
+        String remoteFullPath = file.getFilePath() + "/" + file.getSavedFileName();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream((int) file.getFileSize().longValue());
+        // STORED 항목에 필요한 CRC 를 받는 동안 함께 계산 (쓰는 쪽에서 다시 읽지 않음)
+        CRC32 crc = new CRC32();
+        if (!ftpClient.retrieveFile(remoteFullPath, new CheckedOutputStream(buffer, crc))) {
+            throw new IOException("FTP에서 파일 스트림을 가져오지 못했습니다: " + file.getOriginalFileName());
+        }
+        return new FetchedContent(buffer, crc.getValue());
+    }
+
+    // 이미 로그인된 연결로 원격 파일을 출력 스트림에 복사 (연결은 닫지 않음)
+    private void copyRemoteFile(FTPClient ftpClient, String remoteFullPath, OutputStream outputStream) throws IOException {
+        try (InputStream ftpInputStream = ftpClient.retrieveFileStream(remoteFullPath)) {
+            if (ftpInputStream == null) {
+                log.error("FTP에서 파일 스트림을 가져오지 못했습니다: {}", remoteFullPath);
+                // 특정 파일 실패 시에도 계속 진행할지, 아니면 전체를 중단할지 정책에 따라 결정
+                // 여기서는 예외를 던져 전체 중단
+                throw new IOException("FTP에서 파일 스트림을 가져오지 못했습니다: " + remoteFullPath);
+            }
+            byte[] buffer = new byte[copyBufferSize()];
+            int bytesRead;
+            while ((bytesRead = ftpInputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, bytesRead);
+            }
+        }
+        if (!ftpClient.completePendingCommand()) {
+            log.error("FTP completePendingCommand 실패: {}", ftpClient.getReplyString());
+            throw new IOException("FTP completePendingCommand 실패");
         }
     }
 
@@ -405,10 +960,11 @@ public class FtpService {
      * @return 업로드 성공 여부
      */
     public boolean uploadFileToFtp(MultipartFile file, String remoteFullPath) {
-        FTPClient ftpClient = ftpClientFactory.createClient();
-        if (!connectAndLogin(ftpClient)) return false;
+        FTPClient ftpClient = acquireClient();
+        if (ftpClient == null) return false;
 
         boolean success = false;
+        boolean reusable = true;
         try (InputStream inputStream = file.getInputStream()) {
             String remoteDir = remoteFullPath.substring(0, remoteFullPath.lastIndexOf('/'));
 
@@ -417,6 +973,15 @@ public class FtpService {
             }
 
             success = ftpClient.storeFile(remoteFullPath, inputStream);
+            if (!success && ftpClient.getReplyCode() == FTPReply.FILE_UNAVAILABLE && forgetDirectory(remoteDir)) {
+                // 캐시에 있던 디렉토리가 삭제된 경우: 다시 만들고 한 번만 재시도
+                log.warn("캐시된 원격 디렉토리 '{}'가 없어 다시 생성 후 재시도합니다.", remoteDir);
+                if (changeOrMakeDirectory(ftpClient, remoteDir)) {
+                    try (InputStream retryStream = file.getInputStream()) {
+                        success = ftpClient.storeFile(remoteFullPath, retryStream);
+                    }
+                }
+            }
             if (success) {
                 log.info("파일 '{}'가 FTP 서버에 성공적으로 업로드되었습니다.", remoteFullPath);
             } else {
@@ -424,8 +989,9 @@ public class FtpService {
             }
         } catch (IOException e) {
             log.error("파일 업로드 중 오류 발생: {}", e.getMessage(), e);
+            reusable = false;
         } finally {
-            disconnect(ftpClient);
+            releaseClient(ftpClient, reusable);
         }
         return success;
     }
@@ -438,10 +1004,18 @@ public class FtpService {
      * @return 다운로드 성공 여부
      */
     public boolean downloadFileFromFtp(String remoteFullPath, OutputStream outputStream) {
-        FTPClient ftpClient = ftpClientFactory.createClient();
-        if (!connectAndLogin(ftpClient)) return false;
+        return downloadFileFromFtp(remoteFullPath, outputStream, false);
+    }
+
+    /**
+     * @param clientPaced 출력 스트림이 클라이언트 응답이라 연결을 오래 잡을 수 있으면 true
+     */
+    private boolean downloadFileFromFtp(String remoteFullPath, OutputStream outputStream, boolean clientPaced) {
+        FTPClient ftpClient = acquireClient(clientPaced);
+        if (ftpClient == null) return false;
 
         boolean success = false;
+        boolean reusable = true;
         try {
             success = ftpClient.retrieveFile(remoteFullPath, outputStream);
             if (success) {
@@ -451,8 +1025,164 @@ public class FtpService {
             }
         } catch (IOException e) {
             log.error("파일 다운로드 중 오류 발생: {}", e.getMessage(), e);
+            reusable = false;
         } finally {
-            disconnect(ftpClient);
+            releaseClient(ftpClient, reusable);
+        }
+        return success;
+    }
+
+    /**
+     * [Low-level] FTP 서버에서 파일의 일부 구간을 다운로드합니다. (DB 기록 없음)
+     * REST(setRestartOffset) 로 시작 위치를 지정하고, length 만큼 읽은 뒤 데이터 연결을 닫습니다.
+     * 클라이언트 응답으로 보내는 용도이므로 스트리밍 전송용 연결(ftp.pool.max-streaming)을 사용합니다.
+     *
+     * @param remoteFullPath 원격 서버의 파일 전체 경로
+     * @param outputStream 파일 내용을 쓸 출력 스트림
+     * @param offset 시작 위치 (byte)
+     * @param length 읽을 길이 (byte)
+     * @return 요청한 길이를 모두 전송했으면 true
+     */
+    public boolean downloadFileRangeFromFtp(String remoteFullPath, OutputStream outputStream, long offset, long length) {
+        FTPClient ftpClient = acquireClient(true);
+        if (ftpClient == null) return false;
+
+        boolean success = false;
+        boolean reusable = true;
+        try {
+            ftpClient.setRestartOffset(offset);
+            try (InputStream ftpInputStream = ftpClient.retrieveFileStream(remoteFullPath)) {
+                if (ftpInputStream == null) {
+                    log.error("파일 '{}' 다운로드 실패. FTP 응답: {}", remoteFullPath, ftpClient.getReplyString());
+                    return false;
+                }
+                long remaining = copyRange(ftpInputStream, outputStream, length);
+                if (remaining > 0) {
+                    log.error("파일 '{}' 가 요청 구간보다 짧습니다. offset={}, 미전송={}", remoteFullPath, offset, remaining);
+                    reusable = false;
+                    return false;
+                }
+            }
+            // 요청 구간만 읽고 데이터 연결을 닫으면 서버가 426 등으로 응답할 수 있음
+            // 전송 결과와 무관하게 구간은 모두 보냈으므로 성공이며, 응답이 정상이 아니면 연결은 재사용하지 않음
+            reusable = ftpClient.completePendingCommand();
+            success = true;
+        } catch (IOException e) {
+            log.error("파일 부분 다운로드 중 오류 발생: {}", e.getMessage(), e);
+            reusable = false;
+        } finally {
+            releaseClient(ftpClient, reusable);
+        }
+        return success;
+    }
+
+    /**
+     * [Low-level] 입력 스트림의 내용을 원격 파일의 offset 위치부터 씁니다. (DB 기록 없음)
+     * offset 이 0 보다 크면 REST 로 시작 위치를 지정하여 이어 쓰며, 중단된 이전 전송이 남긴 뒷부분은 덮어씁니다.
+     * 입력을 로컬에 모으지 않고 FTP 데이터 연결로 바로 복사합니다.
+     * 요청 본문 속도에 맞춰 연결을 잡고 있으므로 스트리밍 전송용 연결(ftp.pool.max-streaming)을 사용합니다.
+     *
+     * @param remoteFullPath 원격 서버의 파일 전체 경로
+     * @param inputStream 쓸 내용 (예: 요청 본문)
+     * @param offset 시작 위치 (byte)
+     * @param maxLength 쓸 수 있는 최대 길이 (byte), 넘으면 실패
+     * @return 쓴 길이 (byte)
+     * @throws IOException 연결/전송 실패 또는 maxLength 초과 시
+     */
+    public long writeRangeToFtp(String remoteFullPath, InputStream inputStream, long offset, long maxLength) throws IOException {
+        FTPClient ftpClient = acquireClient(true);
+        if (ftpClient == null) {
+            throw new IOException("FTP 연결 실패");
+        }
+
+        boolean reusable = false;
+        try {
+            String remoteDir = remoteFullPath.substring(0, remoteFullPath.lastIndexOf('/'));
+            if (!changeOrMakeDirectory(ftpClient, remoteDir)) {
+                throw new IOException("원격 디렉토리 생성 실패: " + remoteDir);
+            }
+            if (offset > 0) {
+                ftpClient.setRestartOffset(offset);
+            }
+
+            long written = 0;
+            try (OutputStream ftpOutputStream = ftpClient.storeFileStream(remoteFullPath)) {
+                if (ftpOutputStream == null) {
+                    throw new IOException("FTP 파일 쓰기 시작 실패: " + ftpClient.getReplyString());
+                }
+                byte[] buffer = new byte[copyBufferSize()];
+                int bytesRead;
+                while ((bytesRead = inputStream.read(buffer)) != -1) {
+                    written += bytesRead;
+                    if (written > maxLength) {
+                        throw new IOException("허용된 크기를 넘었습니다: " + remoteFullPath);
+                    }
+                    ftpOutputStream.write(buffer, 0, bytesRead);
+                }
+            }
+            if (!ftpClient.completePendingCommand()) {
+                throw new IOException("FTP completePendingCommand 실패: " + ftpClient.getReplyString());
+            }
+            reusable = true;
+            log.debug("파일 '{}' offset={} 에 {} byte 를 썼습니다.", remoteFullPath, offset, written);
+            return written;
+        } finally {
+            releaseClient(ftpClient, reusable);
+        }
+    }
+
+    /**
+     * [Low-level] FTP 서버의 파일 크기를 조회합니다. (SIZE 명령)
+     *
+     * @param remoteFullPath 원격 서버의 파일 전체 경로
+     * @return 파일 크기 (byte), 서버가 지원하지 않거나 파일이 없으면 null
+     */
+    public Long getFtpFileSize(String remoteFullPath) {
+        FTPClient ftpClient = acquireClient();
+        if (ftpClient == null) return null;
+
+        boolean reusable = true;
+        try {
+            String size = ftpClient.getSize(remoteFullPath);
+            return size != null ? Long.valueOf(size.trim()) : null;
+        } catch (IOException e) {
+            log.error("FTP 파일 크기 조회 중 오류 발생: {}", e.getMessage(), e);
+            reusable = false;
+            return null;
+        } catch (NumberFormatException e) {
+            return null;
+        } finally {
+            releaseClient(ftpClient, reusable);
+        }
+    }
+
+    /**
+     * [Low-level] FTP 서버에서 파일을 이동(이름 변경)합니다. 대상 디렉토리가 없으면 생성합니다. (DB 기록 없음)
+     *
+     * @param fromFullPath 원래 파일 전체 경로
+     * @param toFullPath 옮길 파일 전체 경로
+     * @return 이동 성공 여부
+     */
+    public boolean moveFileOnFtp(String fromFullPath, String toFullPath) {
+        FTPClient ftpClient = acquireClient();
+        if (ftpClient == null) return false;
+
+        boolean success = false;
+        boolean reusable = true;
+        try {
+            String remoteDir = toFullPath.substring(0, toFullPath.lastIndexOf('/'));
+            if (!changeOrMakeDirectory(ftpClient, remoteDir)) {
+                return false;
+            }
+            success = ftpClient.rename(fromFullPath, toFullPath);
+            if (!success) {
+                log.error("FTP 파일 이동 실패: {} -> {}. 응답: {}", fromFullPath, toFullPath, ftpClient.getReplyString());
+            }
+        } catch (IOException e) {
+            log.error("FTP 파일 이동 중 오류 발생: {}", e.getMessage(), e);
+            reusable = false;
+        } finally {
+            releaseClient(ftpClient, reusable);
         }
         return success;
     }
@@ -464,10 +1194,11 @@ public class FtpService {
      * @return 삭제 성공 여부
      */
     public boolean deleteFileFromFtp(String remoteFullPath) {
-        FTPClient ftpClient = ftpClientFactory.createClient();
-        if (!connectAndLogin(ftpClient)) return false;
+        FTPClient ftpClient = acquireClient();
+        if (ftpClient == null) return false;
 
         boolean success = false;
+        boolean reusable = true;
         try {
             success = ftpClient.deleteFile(remoteFullPath);
             if (success) {
@@ -479,63 +1210,106 @@ public class FtpService {
             }
         } catch (IOException e) {
             log.error("FTP 파일 삭제 중 오류 발생: {}", e.getMessage(), e);
+            reusable = false;
         } finally {
-            disconnect(ftpClient);
+            releaseClient(ftpClient, reusable);
         }
         return success;
     }
 
     /**
-     * [Low-level] 특정 원격 디렉토리의 모든 파일 이름을 가져옵니다.
+     * [Low-level] 디렉토리에서 수정 시각이 기준보다 오래된 파일을 한 연결로 삭제합니다.
+     * 이름과 수정 시각은 MLSD(지원하지 않으면 LIST) 한 번으로 받고, 오래된 파일부터 같은 연결에서 삭제합니다.
      *
-     * @param remoteDirPath 파일 목록을 가져올 원격 디렉토리 경로
-     * @return 파일 이름 목록
-     * @throws IOException FTP 통신 중 오류 발생 시
+     * @param remoteDirPath 정리할 원격 디렉토리 경로
+     * @param cutoffMillis 이 시각(epoch ms) 이전에 수정된 파일을 삭제
+     * @param maxDeletions 이번에 삭제할 최대 파일 수 (남은 파일은 다음 실행에서 삭제)
+     * @return 삭제한 파일 수. 삭제 도중 통신 오류가 나면 그때까지 삭제한 수 (남은 파일은 다음 실행에서 삭제)
+     * @throws IOException 연결 실패 또는 목록 조회 중 통신 오류 발생 시
      */
-    public List<String> listFileNames(String remoteDirPath) throws IOException {
-        FTPClient ftpClient = ftpClientFactory.createClient();
-        if (!connectAndLogin(ftpClient)) {
+    public int deleteFilesOlderThan(String remoteDirPath, long cutoffMillis, int maxDeletions) throws IOException {
+        FTPClient ftpClient = acquireClient();
+        if (ftpClient == null) {
             throw new IOException("FTP 서버에 연결할 수 없습니다.");
         }
 
+        boolean reusable = false;
+        int deleted = 0;
         try {
-            return Arrays.stream(ftpClient.listFiles(remoteDirPath))
-                    .filter(f -> f != null && f.isFile())
-                    .map(f -> remoteDirPath + "/" + f.getName()) // Return full path
-                    .collect(Collectors.toList());
+            // MLSD 는 UTC 초 단위 수정 시각을 주지만 LIST 는 서버 형식에 따라 분 단위까지만 줌
+            FTPFile[] files = ftpClient.hasFeature(FTPCmd.MLST)
+                    ? ftpClient.mlistDir(remoteDirPath)
+                    : ftpClient.listFiles(remoteDirPath);
+            List<FTPFile> expired = Arrays.stream(files)
+                    .filter(f -> f != null && f.isFile() && f.getTimestamp() != null)
+                    .filter(f -> f.getTimestamp().getTimeInMillis() < cutoffMillis)
+                    .sorted(Comparator.comparingLong(f -> f.getTimestamp().getTimeInMillis()))
+                    .limit(maxDeletions)
+                    .toList();
+
+            for (FTPFile file : expired) {
+                String remoteFullPath = remoteDirPath + "/" + file.getName();
+                try {
+                    if (ftpClient.deleteFile(remoteFullPath)) {
+                        deleted++;
+                    } else {
+                        log.warn("FTP 파일 '{}' 삭제 실패. 응답: {}", remoteFullPath, ftpClient.getReplyString());
+                    }
+                } catch (IOException e) {
+                    // 이미 삭제한 수가 호출 측 지표에서 빠지지 않도록 예외 대신 부분 결과를 반환
+                    log.warn("'{}' 정리 중 통신 오류, {}개 삭제 후 중단: {}", remoteDirPath, deleted, e.getMessage());
+                    return deleted;
+                }
+            }
+            reusable = true;
+            log.debug("'{}' 에서 오래된 파일 {}개 중 {}개를 삭제했습니다.", remoteDirPath, expired.size(), deleted);
+            return deleted;
         } finally {
-            disconnect(ftpClient);
+            releaseClient(ftpClient, reusable);
         }
     }
 
+    // ===================================================================================
+    // Private FTP Helper 메서드
+    // ===================================================================================
+
     /**
-     * [Low-level] 특정 원격 파일의 최종 수정 시간을 가져옵니다.
+     * 로그인된 FTP 연결을 가져온다. 연결 풀을 사용하면 풀에서 빌리고, 아니면 새로 접속한다.
      *
-     * @param remoteFilePath 파일의 전체 경로
-     * @return 최종 수정 시간(Timestamp)
-     * @throws IOException FTP 통신 중 오류 발생 시
+     * @return 연결 또는 실패 시 null
      */
-    public Calendar getFileTimestamp(String remoteFilePath) throws IOException {
-        FTPClient ftpClient = ftpClientFactory.createClient();
-        if (!connectAndLogin(ftpClient)) {
-            throw new IOException("FTP 서버에 연결할 수 없습니다.");
-        }
+    private FTPClient acquireClient() {
+        return acquireClient(false);
+    }
 
-        try {
-            FTPFile[] files = ftpClient.listFiles(remoteFilePath);
-            if (files != null && files.length > 0) {
-                return files[0].getTimestamp();
+    /**
+     * @param clientPaced 클라이언트 속도에 맞춰 전송하여 연결을 오래 잡는 작업이면 true (ftp.pool.max-streaming 으로 제한)
+     */
+    private FTPClient acquireClient(boolean clientPaced) {
+        if (ftpClientFactory.isPoolEnabled()) {
+            try {
+                return clientPaced ? ftpClientFactory.borrowStreamingClient() : ftpClientFactory.borrowClient();
+            } catch (IOException e) {
+                log.error("FTP 연결 풀에서 연결을 가져오지 못했습니다: {}", e.getMessage());
+                return null;
             }
-            return null;
-        } finally {
-            disconnect(ftpClient);
         }
+        FTPClient ftpClient = ftpClientFactory.createClient();
+        return connectAndLogin(ftpClient) ? ftpClient : null;
     }
 
-
-    // ===================================================================================
-    // Private FTP Helper 메서드
-    // ===================================================================================
+    /**
+     * acquireClient 로 가져온 연결을 반납한다. 풀을 사용하지 않으면 연결을 해제한다.
+     *
+     * @param reusable 통신 오류나 전송 중단으로 상태를 알 수 없으면 false (풀에서 제거)
+     */
+    private void releaseClient(FTPClient ftpClient, boolean reusable) {
+        if (ftpClientFactory.isPoolEnabled()) {
+            ftpClientFactory.returnClient(ftpClient, reusable);
+            return;
+        }
+        disconnect(ftpClient);
+    }
 
     private boolean connectAndLogin(FTPClient ftpClient) {
         try {
@@ -554,6 +1328,7 @@ public class FtpService {
             }
             ftpClient.enterLocalPassiveMode();
             ftpClient.setFileType(FTP.BINARY_FILE_TYPE);
+            ftpClient.setBufferSize(copyBufferSize()); // retrieveFile/storeFile 의 스트림 복사 버퍼
             log.info("FTP 서버에 성공적으로 연결 및 로그인: {}:{}", host, port);
             return true;
         } catch (IOException e) {
@@ -562,6 +1337,25 @@ public class FtpService {
         }
     }
 
+    // 입력 스트림에서 최대 length 만큼 복사하고, 입력이 먼저 끝나 전송하지 못한 길이를 반환
+    private long copyRange(InputStream inputStream, OutputStream outputStream, long length) throws IOException {
+        byte[] buffer = new byte[copyBufferSize()];
+        long remaining = length;
+        while (remaining > 0) {
+            int bytesRead = inputStream.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (bytesRead == -1) {
+                break;
+            }
+            outputStream.write(buffer, 0, bytesRead);
+            remaining -= bytesRead;
+        }
+        return remaining;
+    }
+
+    private int copyBufferSize() {
+        return bufferSize > 0 ? bufferSize : DEFAULT_BUFFER_SIZE;
+    }
+
     private void disconnect(FTPClient ftpClient) {
         try {
             if (ftpClient != null && ftpClient.isConnected()) {
@@ -574,8 +1368,14 @@ public class FtpService {
     }
 
     private boolean changeOrMakeDirectory(FTPClient ftpClient, String remoteDirPath) throws IOException {
+        // 이미 확인한 디렉토리면 FTP 명령 없이 바로 사용 (파일 경로는 항상 전체 경로로 지정하므로 이동 불필요)
+        if (isKnownDirectory(remoteDirPath)) {
+            return true;
+        }
+
         // 최종 디렉토리가 이미 존재하는지 확인
         if (doesDirectoryExist(ftpClient, remoteDirPath)) {
+            rememberDirectory(remoteDirPath);
             return true;
         }
 
@@ -603,18 +1403,40 @@ public class FtpService {
             }
 
             // 디렉토리로 이동하거나 생성 시도
-            if (!doesDirectoryExist(ftpClient, currentPath)) {
+            if (!isKnownDirectory(currentPath) && !doesDirectoryExist(ftpClient, currentPath)) {
                 if (!ftpClient.makeDirectory(currentPath)) {
                     log.error("원격 디렉토리 '{}' 생성 실패.", currentPath);
                     return false;
                 }
                 log.info("원격 디렉토리 '{}' 생성 성공.", currentPath);
             }
+            rememberDirectory(currentPath);
         }
         // 최종적으로 대상 디렉토리로 이동
         return ftpClient.changeWorkingDirectory(remoteDirPath);
     }
 
+    // 상대 경로는 연결마다 현재 디렉토리가 달라 캐시하지 않음
+    private boolean isKnownDirectory(String remoteDirPath) {
+        return knownDirectories != null && remoteDirPath.startsWith("/")
+                && knownDirectories.getIfPresent(remoteDirPath) != null;
+    }
+
+    private void rememberDirectory(String remoteDirPath) {
+        if (knownDirectories != null && remoteDirPath.startsWith("/")) {
+            knownDirectories.put(remoteDirPath, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * 캐시에 있던 디렉토리를 제거한다. (외부에서 삭제되어 "없는 디렉토리" 오류가 난 경우)
+     *
+     * @return 캐시에 있었으면 true
+     */
+    private boolean forgetDirectory(String remoteDirPath) {
+        return knownDirectories != null && knownDirectories.asMap().remove(remoteDirPath) != null;
+    }
+
     private boolean doesDirectoryExist(FTPClient ftpClient, String path) throws IOException {
         String current = ftpClient.printWorkingDirectory();
         try {
@@ -624,6 +1446,83 @@ public class FtpService {
         }
     }
 
+    private static final class FetchedContent {
+        private final ByteArrayOutputStream bytes;
+        private final long crc;
+
+        private FetchedContent(ByteArrayOutputStream bytes, long crc) {
+            this.bytes = bytes;
+            this.crc = crc;
+        }
+    }
+
+    /**
+     * 묶음 다운로드에서 미리 받고 있는 파일 하나. 쓰거나 취소할 때 메모리 예산을 한 번만 반환한다.
+     */
+    private final class Prefetch {
+        private final int permits;
+        // 풀에서 미리 빌린 연결. 작업과 취소 중 먼저 가져간 쪽이 반납한다 (풀을 쓰지 않으면 작업이 직접 접속)
+        private final AtomicReference<FTPClient> pooledClient;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private final Future<FetchedContent> future;
+
+        private Prefetch(AttachFile file, int permits, FTPClient pooledClient) {
+            this.permits = permits;
+            this.pooledClient = new AtomicReference<>(pooledClient);
+            this.future = prefetchExecutor.submit(() -> fetch(file));
+        }
+
+        private FetchedContent fetch(AttachFile file) throws IOException {
+            FTPClient ftpClient = ftpClientFactory.isPoolEnabled() ? pooledClient.getAndSet(null) : acquireClient();
+            if (ftpClient == null) {
+                throw new IOException("선반입용 FTP 연결이 없습니다: " + file.getOriginalFileName());
+            }
+            boolean reusable = false;
+            try {
+                FetchedContent content = fetchToMemory(ftpClient, file);
+                reusable = true;
+                return content;
+            } finally {
+                releaseClient(ftpClient, reusable);
+            }
+        }
+
+        /**
+         * @param timeoutMillis 최대 대기 시간 (ms)
+         * @throws InterruptedIOException 기다리는 스레드가 인터럽트된 경우
+         * @throws IOException 선반입이 실패했거나 시간 안에 끝나지 않은 경우
+         */
+        private FetchedContent await(long timeoutMillis) throws IOException {
+            try {
+                return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                throw new IOException("파일 선반입 실패: " + cause.getMessage(), cause);
+            } catch (TimeoutException e) {
+                throw new IOException("파일 선반입이 " + timeoutMillis + "ms 안에 끝나지 않았습니다.");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("파일 선반입 대기 중 인터럽트");
+            }
+        }
+
+        private void cancel() {
+            future.cancel(true);
+            // 시작하지 않은 작업이 빌려 둔 연결 반납
+            FTPClient unused = pooledClient.getAndSet(null);
+            if (unused != null) {
+                releaseClient(unused, true);
+            }
+            release();
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                prefetchMemoryBudget.release(permits);
+            }
+        }
+    }
+
     /**
      * ZIP 파일 내에서 고유한 파일명을 생성.
      * 중복될 경우 "파일명 (카운트).확장자" 형태로 만듭니다.
@@ -0,0 +1,197 @@
+package com.akmz.springBase.attach.service;
+
+import com.akmz.springBase.attach.mapper.AttachMapper;
+import com.akmz.springBase.attach.model.entity.Attach;
+import com.akmz.springBase.attach.model.entity.AttachFile;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.fileupload2.core.FileItemInput;
+import org.apache.commons.fileupload2.core.FileItemInputIterator;
+import org.apache.commons.fileupload2.jakarta.servlet6.JakartaServletDiskFileUpload;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * multipart 요청 본문을 읽는 대로 FTP 로 보내는 업로드.
+ *
+ * MultipartFile 로 받으면 각 파트를 로컬 임시 파일에 모두 쓴 뒤 다시 읽어 FTP 로 보내지만,
+ * 여기서는 본문을 파트 단위로 차례로 읽으면서 바로 storeFileStream 으로 전송하고 크기는 전송하며 센다.
+ * 본문을 한 번만 읽으므로 폼 필드(attachName)는 파일 파트보다 앞에 있어야 한다.
+ * 수 GB 를 보내는 동안 DB 연결을 잡지 않도록 첨부/파일 행은 전송이 모두 끝난 뒤에 한 번에 기록한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StreamingUploadService {
+
+    private static final String ATTACH_NAME_FIELD = "attachName";
+
+    private final AttachMapper attachMapper;
+    private final FtpService ftpService;
+    private final TransactionTemplate transactionTemplate;
+
+    // 스트리밍 업로드 파일 하나의 최대 크기 (byte)
+    @Value("${ftp.stream-upload.max-file-size:1073741824}")
+    private long maxFileSize;
+
+    // 스트리밍 업로드 요청 전체의 최대 크기 (byte)
+    @Value("${ftp.stream-upload.max-request-size:4294967296}")
+    private long maxRequestSize;
+
+    /**
+     * 요청의 파일 파트를 FTP 에 업로드하고 첨부파일로 등록합니다.
+     * 전송하는 동안에는 DB 연결을 잡지 않고, 모든 파트를 보낸 뒤 짧은 트랜잭션으로 첨부/파일 행을 기록합니다.
+     *
+     * @param request multipart/form-data 요청 (본문을 아직 읽지 않은 상태)
+     * @param attachId 파일을 추가할 첨부 ID, null 이면 attachName 필드로 새 첨부 생성
+     * @param uploaderId 업로더 ID
+     * @return 저장한 파일 정보 (요청 순서, 빈 파일 제외)
+     * @throws IOException 본문 읽기/FTP 전송 실패 또는 크기 제한 초과 시 (이미 올라간 파일은 삭제)
+     * @throws IllegalArgumentException 존재하지 않는 첨부 ID 이거나 attachName 이 파일보다 먼저 오지 않은 경우
+     */
+    public List<AttachFile> upload(HttpServletRequest request, Long attachId, String uploaderId) throws IOException {
+        if (attachId != null && attachMapper.findAttachById(attachId) == null) {
+            throw new IllegalArgumentException("존재하지 않는 첨부 ID입니다: " + attachId);
+        }
+
+        JakartaServletDiskFileUpload fileUpload = new JakartaServletDiskFileUpload();
+        fileUpload.setHeaderCharset(StandardCharsets.UTF_8);
+        fileUpload.setFileSizeMax(maxFileSize);
+        fileUpload.setSizeMax(maxRequestSize);
+
+        String datePath = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
+        String remoteDirPath = "/uploads/" + datePath;
+
+        String attachName = null;
+        List<AttachFile> attachFiles = new ArrayList<>();
+        List<String> uploadedPaths = Collections.synchronizedList(new ArrayList<>());
+        try {
+            FileItemInputIterator parts = fileUpload.getItemIterator(request);
+            while (parts.hasNext()) {
+                FileItemInput part = parts.next();
+                if (part.isFormField()) {
+                    if (ATTACH_NAME_FIELD.equals(part.getFieldName())) {
+                        try (InputStream inputStream = part.getInputStream()) {
+                            attachName = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+                        }
+                    }
+                    continue;
+                }
+
+                String originalFileName = fileNameOf(part);
+                if (originalFileName.isEmpty()) continue; // 선택하지 않은 파일 입력
+
+                if (attachId == null && attachName == null) {
+                    throw new IllegalArgumentException("attachName 필드는 파일보다 앞에 있어야 합니다.");
+                }
+
+                AttachFile attachFile = new AttachFile();
+                attachFile.setOriginalFileName(originalFileName);
+                attachFile.setSavedFileName(UUID.randomUUID() + "_" + originalFileName);
+                attachFile.setFilePath(remoteDirPath);
+                attachFile.setUploaderId(uploaderId);
+                if (uploadPart(part, attachFile, uploadedPaths)) {
+                    attachFiles.add(attachFile);
+                }
+            }
+
+            if (!attachFiles.isEmpty()) {
+                String newAttachName = attachName;
+                transactionTemplate.executeWithoutResult(status ->
+                        saveAttachFiles(attachId, newAttachName, attachFiles, uploaderId, uploadedPaths));
+            }
+        } catch (IOException | RuntimeException e) {
+            deleteUploadedFiles(uploadedPaths);
+            throw e;
+        }
+        return attachFiles;
+    }
+
+    // 전송을 마친 파일의 첨부/중복 제거/파일 행 기록 (실패하면 트랜잭션이 롤백되고 호출한 쪽에서 파일 삭제)
+    private void saveAttachFiles(Long attachId, String attachName, List<AttachFile> attachFiles, String uploaderId,
+                                 List<String> uploadedPaths) {
+        Long targetAttachId = attachId;
+        if (targetAttachId == null) {
+            Attach attach = new Attach();
+            attach.setAttachName(attachName);
+            attach.setCreatorId(uploaderId);
+            attachMapper.insertAttach(attach);
+            targetAttachId = attach.getAttachId();
+        }
+        for (AttachFile attachFile : attachFiles) {
+            attachFile.setAttachId(targetAttachId);
+            if (attachFile.getContentHash() != null) {
+                ftpService.registerUploadedBlob(attachFile, uploadedPaths);
+            }
+        }
+        attachMapper.insertAttachFiles(attachFiles);
+    }
+
+    // 파트를 FTP 로 보내며 크기(와 중복 제거용 해시)를 계산. 빈 파일이면 지우고 false
+    private boolean uploadPart(FileItemInput part, AttachFile attachFile, List<String> uploadedPaths) throws IOException {
+        String remoteFullPath = attachFile.getFilePath() + "/" + attachFile.getSavedFileName();
+        MessageDigest digest = ftpService.isDedupEnabled() ? sha256Digest() : null;
+
+        // 전송 도중 실패해도 남은 조각이 지워지도록 먼저 등록
+        uploadedPaths.add(remoteFullPath);
+        long fileSize;
+        try (InputStream partStream = part.getInputStream();
+             InputStream inputStream = digest != null ? new DigestInputStream(partStream, digest) : partStream) {
+            fileSize = ftpService.writeRangeToFtp(remoteFullPath, inputStream, 0, maxFileSize);
+        }
+
+        if (fileSize == 0) {
+            uploadedPaths.remove(remoteFullPath);
+            deleteUploadedFiles(List.of(remoteFullPath));
+            return false;
+        }
+        attachFile.setFileSize(fileSize);
+        if (digest != null) {
+            attachFile.setContentHash(HexFormat.of().formatHex(digest.digest())); // 저장 파일 등록은 행 기록 시
+        }
+        log.debug("스트리밍 업로드 완료: {} ({} bytes)", remoteFullPath, fileSize);
+        return true;
+    }
+
+    // FileItemInput.getName() 은 파일명을 로컬 경로(Paths.get)로 검사하여 서버의 파일명 인코딩에 따라 한글 이름이 실패하므로 헤더에서 직접 읽음
+    private static String fileNameOf(FileItemInput part) {
+        String disposition = part.getHeaders().getHeader(HttpHeaders.CONTENT_DISPOSITION);
+        String fileName = disposition == null ? null : ContentDisposition.parse(disposition).getFilename();
+        return fileName == null ? "" : fileName.replaceAll(".*[/\\\\]", "");
+    }
+
+    // 실패 보상: 이번 요청에서 올라간 파일 삭제 (삭제 실패는 로그만 남김)
+    private void deleteUploadedFiles(List<String> uploadedPaths) {
+        for (String remoteFullPath : uploadedPaths) {
+            if (!ftpService.deleteFileFromFtp(remoteFullPath)) {
+                log.error("업로드 실패 보상 중 FTP 파일 삭제 실패: {}", remoteFullPath);
+            }
+        }
+    }
+
+    private static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
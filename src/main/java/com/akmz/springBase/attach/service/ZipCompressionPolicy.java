@@ -0,0 +1,73 @@
+package com.akmz.springBase.attach.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.Deflater;
+
+/**
+ * ZIP 묶음 다운로드 시 항목별 압축 방식 결정.
+ *
+ * JPEG, PDF, MP4, ZIP 처럼 이미 압축된 파일은 다시 압축해도 크기가 거의 줄지 않으므로 저장(STORED)하고,
+ * 나머지는 설정한 레벨로 압축(DEFLATED)한다. 판단은 확장자와 파일명으로 추정한 Content-Type 으로 한다.
+ */
+@Component
+public class ZipCompressionPolicy {
+
+    // 압축하지 않고 저장할 확장자 (대소문자 무시, 점 제외)
+    @Value("${ftp.bundle.store-extensions:jpg,jpeg,png,gif,webp,heic,pdf,mp4,mov,avi,mkv,mp3,m4a,zip,gz,tgz,7z,rar,docx,xlsx,pptx,hwpx}")
+    private List<String> storeExtensions;
+
+    // 압축하지 않고 저장할 Content-Type 접두어 (확장자 목록에 없더라도 적용)
+    @Value("${ftp.bundle.store-content-types:video/,audio/}")
+    private List<String> storeContentTypes;
+
+    // 압축 대상 항목의 Deflater 레벨 (-1: 기본값, 1: 빠름 ~ 9: 최대 압축)
+    @Value("${ftp.bundle.compression-level:-1}")
+    private int compressionLevel;
+
+    private Set<String> extensions;
+
+    @PostConstruct
+    public void init() {
+        if (compressionLevel != Deflater.DEFAULT_COMPRESSION
+                && (compressionLevel < Deflater.NO_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION)) {
+            throw new IllegalStateException("ftp.bundle.compression-level 은 -1 또는 0~9 이어야 합니다: " + compressionLevel);
+        }
+        extensions = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        storeExtensions.stream().map(String::trim).filter(ext -> !ext.isEmpty()).forEach(extensions::add);
+    }
+
+    /**
+     * 압축하지 않고 저장할 항목인지 판단한다.
+     *
+     * @param fileName 원본 파일명
+     */
+    public boolean shouldStore(String fileName) {
+        if (fileName == null) {
+            return false;
+        }
+        int dotIndex = fileName.lastIndexOf('.');
+        if (dotIndex >= 0 && extensions.contains(fileName.substring(dotIndex + 1))) {
+            return true;
+        }
+        String contentType = MediaTypeFactory.getMediaType(fileName)
+                .map(MediaType::toString)
+                .orElse("")
+                .toLowerCase(Locale.ROOT);
+        return !contentType.isEmpty() && storeContentTypes.stream()
+                .map(String::trim)
+                .anyMatch(prefix -> !prefix.isEmpty() && contentType.startsWith(prefix.toLowerCase(Locale.ROOT)));
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+}
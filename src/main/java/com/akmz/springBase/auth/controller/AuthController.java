@@ -3,9 +3,11 @@ package com.akmz.springBase.auth.controller;
 import com.akmz.springBase.auth.exception.ExpiredResetTokenException;
 import com.akmz.springBase.auth.exception.InvalidRefreshTokenException;
 import com.akmz.springBase.auth.exception.InvalidResetTokenException;
+import com.akmz.springBase.auth.exception.LoginThrottledException;
 import com.akmz.springBase.auth.exception.RefreshTokenMismatchException;
 import com.akmz.springBase.auth.model.dto.*;
 import com.akmz.springBase.auth.service.AuthService;
+import com.akmz.springBase.common.config.VerifiedClaims;
 import io.jsonwebtoken.JwtException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -52,7 +54,8 @@ public class AuthController {
             responses = {
                 @ApiResponse(responseCode = "200", description = "로그인 성공", content = @Content(schema = @Schema(implementation = TokenResponse.class))),
                 @ApiResponse(responseCode = "400", description = "잘못된 요청 - 입력값 검증 실패"),
-                @ApiResponse(responseCode = "401", description = "인증 실패")
+                @ApiResponse(responseCode = "401", description = "인증 실패"),
+                @ApiResponse(responseCode = "503", description = "로그인 요청 폭주 - Retry-After 이후 재시도")
             }
     )
     public ResponseEntity<?> login(
@@ -84,6 +87,10 @@ public class AuthController {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("계정이 비활성화되었습니다. 관리자에게 문의하세요.");
             } catch (AuthenticationException e) { // 그 외 Spring Security 인증 관련 예외
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("인증 실패: " + e.getMessage());
+            } catch (LoginThrottledException e) { // 로그인 폭주로 비밀번호 해시 대기열 초과
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                        .body(e.getMessage());
             } catch (Exception e) {
                 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("서버 오류가 발생했습니다.");
             }
@@ -192,14 +199,16 @@ public class AuthController {
     @PostMapping("/logout")
     @Operation(
             summary = "[POST] 로그아웃 API",
-            description = "db에 저장되어있는 Refresh Token을 삭제한다.",
+            description = "현재 Access Token과 세션의 Refresh Token을 폐기한다. 쿠키가 없으면 사용자의 모든 세션을 폐기한다.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "로그아웃 성공", content = @Content(schema = @Schema(implementation = TokenResponse.class))),
             }
     )
-    public ResponseEntity<?> logout(Authentication authentication) {
+    public ResponseEntity<?> logout(Authentication authentication,
+                                    @CookieValue(value = "X-Refresh-Token", required = false) String refreshToken) {
         String userId = authentication.getName();
-        authService.logout(userId);
+        VerifiedClaims accessClaims = authentication.getDetails() instanceof VerifiedClaims claims ? claims : null;
+        authService.logout(userId, refreshToken, accessClaims);
         return ResponseEntity.ok().build();
     }
 
@@ -0,0 +1,28 @@
+package com.akmz.springBase.auth.event;
+
+import lombok.Getter;
+
+/**
+ * 사용자 계정 정보(활성 여부, 로그인 실패 횟수, 비밀번호, 권한)가 변경되었음을 알리는 이벤트.
+ * 사용자 정보 캐시를 무효화하는 데 사용한다.
+ */
+@Getter
+public class UserAccountChangedEvent {
+
+    private final String userName; // null 이면 전체 사용자
+
+    public UserAccountChangedEvent(String userName) {
+        this.userName = userName;
+    }
+
+    /**
+     * 특정 사용자가 아닌 전체 사용자에 영향이 있는 변경 (예: 권한 삭제)
+     */
+    public static UserAccountChangedEvent allUsers() {
+        return new UserAccountChangedEvent(null);
+    }
+
+    public boolean isAllUsers() {
+        return userName == null;
+    }
+}
@@ -0,0 +1,16 @@
+package com.akmz.springBase.auth.exception;
+
+// 비밀번호 해시 작업 대기열이 가득 차 요청을 받을 수 없음 (503 + Retry-After)
+public class LoginThrottledException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
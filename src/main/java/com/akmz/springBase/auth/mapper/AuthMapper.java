@@ -1,9 +1,11 @@
 package com.akmz.springBase.auth.mapper;
 
 import com.akmz.springBase.auth.model.entity.AuthUser;
+import com.akmz.springBase.auth.model.entity.LoginFailureDelta;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Date;
 import java.util.List;
 
 @Mapper
@@ -12,11 +14,13 @@ public interface AuthMapper {
 
     
 
-    void updateRefreshToken(AuthUser authUser);
 
     // --- 추가: 로그인 실패 횟수 및 마지막 실패 시각 업데이트 메서드 ---
-    void updateLoginFailure(@Param("userName") String userName); // 실패 시 카운트 증가 및 시각 업데이트
-    void resetLoginFailureCount(@Param("userName") String userName); // 성공 시 카운트 초기화
+    int updateLoginFailure(@Param("userName") String userName); // 실패 시 카운트 증가 및 시각 업데이트 (갱신 건수 0 이면 사용자 없음)
+    void resetLoginFailureCount(@Param("userName") String userName); // 카운트 초기화 (관리자)
+    int resetLoginFailureCountIfFailed(@Param("userName") String userName); // 로그인 성공 시 실패 이력이 있을 때만 초기화
+    int addLoginFailures(@Param("deltas") List<LoginFailureDelta> deltas); // 메모리에 모아둔 실패 횟수 일괄 반영 (마지막 실패 시각은 DB 시각)
+    Date findDbTimestamp(); // DB 서버 현재 시각 (일괄 반영 완료 여부 판단용)
     void resetLoginFailureOnUnlock(@Param("userName") String userName); // 잠금 해제 시 카운트 초기화
     void updateUserPassword(AuthUser authUser); // 사용자 비밀번호 업데이트
     String getEmailAddr(String userId); // 이메일 주소 가져오기
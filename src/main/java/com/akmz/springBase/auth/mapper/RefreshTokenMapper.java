@@ -0,0 +1,18 @@
+package com.akmz.springBase.auth.mapper;
+
+import com.akmz.springBase.auth.model.entity.RefreshToken;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Date;
+
+@Mapper
+public interface RefreshTokenMapper {
+    void insertRefreshToken(RefreshToken refreshToken);
+    int rotateRefreshToken(@Param("oldTokenHash") String oldTokenHash, @Param("userName") String userName,
+                           @Param("newTokenHash") String newTokenHash, @Param("expiryDate") Date expiryDate,
+                           @Param("now") Date now); // 유효한 기존 토큰을 새 토큰으로 교체, 교체 건수 반환
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
+    int deleteByUserName(@Param("userName") String userName);
+    int deleteExpired(@Param("now") Date now); // 만료된 토큰 일괄 삭제
+}
@@ -0,0 +1,15 @@
+package com.akmz.springBase.auth.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Date;
+import java.util.List;
+
+@Mapper
+public interface RevokedTokenMapper {
+    void insertRevokedToken(@Param("jti") String jti, @Param("userName") String userName,
+                            @Param("expiryDate") Date expiryDate, @Param("now") Date now);
+    List<String> findActiveJtis(@Param("now") Date now); // 아직 만료되지 않은 폐기 토큰 jti 목록
+    int deleteExpired(@Param("now") Date now); // 만료된 폐기 토큰 일괄 삭제
+}
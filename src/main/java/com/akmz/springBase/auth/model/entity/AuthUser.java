@@ -11,7 +11,6 @@ public class AuthUser {
     private String email; // 이메일 필드 추가
     private String googleId; // Google ID 필드 추가
     private String naverId; // Naver ID 필드 추가
-    private String refreshToken;
     
     private String useYn;
     // --- 로그인 시도 제한 관련 필드 추가 ---
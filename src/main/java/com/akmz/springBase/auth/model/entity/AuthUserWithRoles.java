@@ -0,0 +1,18 @@
+package com.akmz.springBase.auth.model.entity;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 사용자 정보와 권한명 목록을 한 번의 조인 쿼리로 조회한 결과
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class AuthUserWithRoles extends AuthUser {
+    private List<String> roleNames = new ArrayList<>(); // ROLES.ROLE_NAME 목록
+}
@@ -0,0 +1,14 @@
+package com.akmz.springBase.auth.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 메모리에 모아둔 로그인 실패 증가분 (일괄 반영용)
+ */
+@Data
+@AllArgsConstructor
+public class LoginFailureDelta {
+    private String userName;
+    private int count; // 누적된 실패 횟수 증가분
+}
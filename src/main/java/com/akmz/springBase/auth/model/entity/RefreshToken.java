@@ -0,0 +1,14 @@
+package com.akmz.springBase.auth.model.entity;
+
+import lombok.Data;
+
+import java.util.Date;
+
+@Data
+public class RefreshToken {
+    private Long id;
+    private String tokenHash; // 토큰 원문의 SHA-256 해시 (hex)
+    private String userName;
+    private Date expiryDate;
+    private Date createdDate;
+}
@@ -0,0 +1,97 @@
+package com.akmz.springBase.auth.service;
+
+import com.akmz.springBase.auth.mapper.AuthMapper;
+import com.akmz.springBase.auth.model.entity.AuthUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * 무상태(stateless) 인증 모드에서 사용하는 계정 상태(잠김/비활성) 확인 서비스.
+ * 매 요청마다 DB를 조회하지 않도록 짧은 TTL 동안 상태를 메모리에 보관한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Log4j2
+public class AccountStatusService {
+
+    public enum AccountStatus {
+        ACTIVE,     // 정상
+        DISABLED,   // 비활성 (USE_YN = 'N')
+        LOCKED,     // 로그인 실패 누적으로 잠김
+        NOT_FOUND   // 존재하지 않는 사용자
+    }
+
+    private final AuthMapper authMapper;
+    private final LoginFailureCounterStore loginFailureCounterStore;
+
+    // 계정 상태 캐시 유지 시간 (ms). 0 이면 계정 상태 확인을 하지 않는다.
+    @Value("${jwt.stateless.account-check-ttl:30000}")
+    private long accountCheckTtl;
+
+    @Value("${jwt.stateless.account-check-max-size:10000}")
+    private long accountCheckMaxSize;
+
+    private Cache<String, AccountStatus> statusCache;
+
+    @PostConstruct
+    public void init() {
+        statusCache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(Math.max(accountCheckTtl, 1)))
+                .maximumSize(accountCheckMaxSize)
+                .build();
+    }
+
+    /**
+     * 계정 상태 확인 사용 여부
+     */
+    public boolean isEnabled() {
+        return accountCheckTtl > 0;
+    }
+
+    /**
+     * 사용자의 계정 상태를 반환한다. TTL 내에서는 캐시된 값을 사용한다.
+     *
+     * @param username 사용자명
+     * @return 계정 상태
+     */
+    public AccountStatus getStatus(String username) {
+        return statusCache.get(username, this::loadStatus);
+    }
+
+    /**
+     * 계정 상태가 바뀐 경우 (활성/비활성, 잠금 해제 등) 캐시에서 제거한다.
+     *
+     * @param username 사용자명
+     */
+    public void evict(String username) {
+        statusCache.invalidate(username);
+    }
+
+    /**
+     * 전체 사용자에 영향이 있는 변경 (예: 권한 삭제) 이 있는 경우 캐시를 모두 비운다.
+     */
+    public void evictAll() {
+        statusCache.invalidateAll();
+    }
+
+    private AccountStatus loadStatus(String username) {
+        AuthUser authUser = authMapper.findByUsername(username);
+        if (authUser == null) {
+            return AccountStatus.NOT_FOUND;
+        }
+        if (!"Y".equals(authUser.getUseYn())) {
+            return AccountStatus.DISABLED;
+        }
+        if (!CustomUserDetailsService.isAccountNonLocked(authUser, loginFailureCounterStore)) {
+            return AccountStatus.LOCKED;
+        }
+        return AccountStatus.ACTIVE;
+    }
+}
@@ -3,9 +3,12 @@ package com.akmz.springBase.auth.service;
 import com.akmz.springBase.admin.service.AdminService;
 import com.akmz.springBase.auth.model.dto.*;
 import com.akmz.springBase.common.config.JwtTokenProvider;
+import com.akmz.springBase.common.config.VerifiedClaims;
+import com.akmz.springBase.auth.event.UserAccountChangedEvent;
 import com.akmz.springBase.auth.exception.ExpiredResetTokenException;
 import com.akmz.springBase.auth.exception.InvalidRefreshTokenException;
 import com.akmz.springBase.auth.exception.InvalidResetTokenException;
+import com.akmz.springBase.auth.exception.LoginThrottledException;
 import com.akmz.springBase.auth.exception.RefreshTokenMismatchException;
 import com.akmz.springBase.auth.mapper.AuthMapper;
 import com.akmz.springBase.auth.mapper.AuthTokenMapper;
@@ -17,6 +20,7 @@ import jakarta.mail.MessagingException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -53,6 +57,10 @@ public class AuthService {
     private final UserRoleMapper userRoleMapper;
     private final ResourceMapper resourceMapper;
     private final AdminService adminService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LoginFailureCounterStore loginFailureCounterStore;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
 
     @Value("${app.base-url}")
     private String appBaseUrl;
@@ -80,7 +88,8 @@ public class AuthService {
             // 성공적인 로그인 시에만 실패 횟수 초기화
             loginSuccess(username);
 
-            return issueAndSaveTokens(username);
+            // 인증 과정에서 이미 조회한 사용자 정보(권한)를 그대로 사용하여 재조회하지 않음
+            return issueAndSaveTokens((UserDetails) authentication.getPrincipal());
         } catch (LockedException | BadCredentialsException e) {
             // 계정 잠김, 비밀번호 불일치 시: 실패 횟수 증가 (잠긴 상태에서 시도해도 카운트 증가)
             loginFailure(username); // 실패 횟수 증가
@@ -90,6 +99,8 @@ public class AuthService {
             throw e;
         } catch (DisabledException e) { // 계정 비활성화 시 (DisabledException)
             throw e;
+        } catch (LoginThrottledException e) { // 비밀번호 해시 대기열 초과 시 (503)
+            throw e;
         } catch (Exception e) {
             log.error("알 수 없는 인증 오류 발생", e);
             // 그 외 알 수 없는 예외 처리 (매우 드뭄)
@@ -126,30 +137,34 @@ public class AuthService {
 
     @Transactional
     public void loginSuccess(String username) {
-        authMapper.resetLoginFailureCount(username); // DB 업데이트 (실패 횟수 0으로 초기화)
-        System.out.println("Login success for user: " + username + ". Failed attempts reset.");
+        // 실패 이력이 있을 때만 초기화 (조건부 UPDATE, 사전 조회 없음)
+        loginFailureCounterStore.recordSuccess(username);
     }
 
     @Transactional
     public void loginFailure(String username) {
-        // 사용자 존재 여부를 먼저 확인 (UserDetailsService에서 UsernameNotFoundException이 발생할 수도 있기 때문)
-        AuthUser authUser = authMapper.findByUsername(username);
-        if (authUser != null) {
-            authMapper.updateLoginFailure(username); // DB 업데이트 (실패 횟수 증가)
-            System.out.println("로그인 실패 (비밀번호 틀림) : " + username);
-        } else {
-            System.out.println("로그인 실패 (유저 정보가 존재하지 않음) : " + username);
-        }
+        // 실패 횟수 증가 (write-behind 모드에서는 메모리에 누적 후 일괄 반영)
+        loginFailureCounterStore.recordFailure(username);
+        log.debug("로그인 실패 : {}", username);
     }
 
 
     /**
      * 로그 아웃
      *
-     * @userId 해당하는 리프레쉬 토큰 삭제
+     * @param userId       사용자 아이디
+     * @param refreshToken 현재 세션의 리프레쉬 토큰 (없으면 사용자의 모든 세션 폐기)
+     * @param accessClaims 현재 엑세스 토큰의 클레임 (jti 로 폐기하여 만료 전 재사용 차단)
      */
-    public void logout(String userId) {
-        saveRefreshToken(userId, null);
+    public void logout(String userId, String refreshToken, VerifiedClaims accessClaims) {
+        if (accessClaims != null && accessClaims.getId() != null) {
+            tokenRevocationService.revoke(accessClaims.getId(), userId, accessClaims.getExpiration());
+        }
+        if (refreshToken != null) {
+            refreshTokenService.revoke(refreshToken);
+        } else {
+            refreshTokenService.revokeAll(userId);
+        }
     }
 
     /**
@@ -159,38 +174,24 @@ public class AuthService {
      * @return
      */
     public TokenResponse refreshAccessToken(String refreshToken) {
-        if (!jwtTokenProvider.validateToken(refreshToken)) {
+        // 서명/만료 검증과 사용자명 추출을 한 번에 수행 (실패 시 JwtException)
+        VerifiedClaims claims = jwtTokenProvider.verify(refreshToken);
+        String username = claims.getSubject();
+        // 엑세스 토큰으로는 재발급하지 않음 (용도 클레임이 없는 이전 리프레시 토큰은 저장된 토큰과의 비교로 확인)
+        if (username == null || JwtTokenProvider.ACCESS_TOKEN_TYPE.equals(claims.getTokenType())
+                || claims.isLegacyAccess()) {
             throw new InvalidRefreshTokenException("Invalid refresh token");
         }
 
-        String username = jwtTokenProvider.getUsername(refreshToken);
-
-        AuthUser authUser = authMapper.findByUsername(username);
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        String newRefreshToken = jwtTokenProvider.createRefreshToken(username);
 
-        if (!refreshToken.equals(authUser.getRefreshToken())) {
+        // 저장된 토큰을 해시 인덱스로 찾아 새 토큰으로 교체 (이미 사용/폐기된 토큰이면 0건)
+        if (!refreshTokenService.rotate(username, refreshToken, newRefreshToken)) {
             throw new RefreshTokenMismatchException("Refresh token does not match");
         }
 
-        return issueAndSaveTokens(username);
-    }
-
-    /**
-     * 리프레쉬 토큰을 db에 저장하는 메서드
-     *
-     * @param username     사용자이름 또는 아이디 같은 유니크한 키값
-     * @param refreshToken 리프레쉬 토큰
-     */
-    private void saveRefreshToken(String username, String refreshToken) {
-        log.debug("Attempting to save refresh token for user: {}", username);
-        AuthUser authUser = authMapper.findByUsername(username);
-        if (authUser != null) {
-            log.debug("Found user {}. Updating refresh token.", username);
-            authUser.setRefreshToken(refreshToken);
-            authMapper.updateRefreshToken(authUser);
-            log.info("Refresh token updated for user {}: {}", username, refreshToken);
-        } else {
-            log.warn("사용자를 찾을 수 없습니다: {}", username);
-        }
+        return buildTokenResponse(userDetails, newRefreshToken);
     }
 
     /**
@@ -302,10 +303,14 @@ public class AuthService {
         // 새 비밀번호 해싱 및 업데이트
         user.setPassword(passwordEncoder.encode(newPassword));
         authMapper.updateUserPassword(user); // AuthMapper에 이 메서드가 필요합니다.
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getUserName())); // 이전 비밀번호가 캐시에 남지 않도록
 
         // 토큰 사용 처리
         authTokenMapper.updateAuthTokenUsed(token);
 
+        // 비밀번호가 바뀌었으므로 기존 세션(리프레시 토큰) 모두 폐기
+        refreshTokenService.revokeAll(user.getUserName());
+
         log.info("비밀번호 재설정 완료: {}", user.getUserName());
     }
 
@@ -400,16 +405,29 @@ public class AuthService {
      * @return 발급된 토큰 응답 객체
      */
     private TokenResponse issueAndSaveTokens(String username) {
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        return issueAndSaveTokens(userDetailsService.loadUserByUsername(username));
+    }
+
+    /**
+     * 이미 조회된 사용자 정보로 토큰을 발급하고 저장 (로그인 시 인증 결과의 principal 재사용)
+     *
+     * @param userDetails 토큰을 발급할 사용자 정보
+     * @return 발급된 토큰 응답 객체
+     */
+    private TokenResponse issueAndSaveTokens(UserDetails userDetails) {
+        String refreshToken = jwtTokenProvider.createRefreshToken(userDetails.getUsername());
+        refreshTokenService.store(userDetails.getUsername(), refreshToken); // 새 세션 저장
+
+        return buildTokenResponse(userDetails, refreshToken);
+    }
+
+    private TokenResponse buildTokenResponse(UserDetails userDetails, String refreshToken) {
         List<String> roles = userDetails.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority).toList();
 
         String accessToken = jwtTokenProvider.createToken(userDetails.getUsername(), roles);
-        String refreshToken = jwtTokenProvider.createRefreshToken(userDetails.getUsername());
-
-        saveRefreshToken(userDetails.getUsername(), refreshToken);
 
-        // menuItems를 AdminService를 통해 가져옵니다.
+        // menuItems를 AdminService를 통해 가져옵니다. (메뉴 스냅샷 캐시, DB 조회 없음)
         List<ResourceResponse> menuItems = adminService.getAllMenuResources();
 
         return TokenResponse.builder()
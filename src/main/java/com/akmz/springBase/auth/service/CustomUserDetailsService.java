@@ -1,20 +1,28 @@
 package com.akmz.springBase.auth.service;
 
-import com.akmz.springBase.auth.mapper.AuthMapper;
 import com.akmz.springBase.admin.mapper.UserRoleMapper; // Added
-import com.akmz.springBase.admin.mapper.RoleMapper; // Added
-import com.akmz.springBase.admin.model.entity.UserRole; // Added
-import com.akmz.springBase.admin.model.entity.Role; // Added
+import com.akmz.springBase.auth.event.UserAccountChangedEvent;
 import com.akmz.springBase.auth.model.entity.AuthUser;
+import com.akmz.springBase.auth.model.entity.AuthUserWithRoles;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Duration;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,9 +30,20 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
-    private final AuthMapper authMapper;
     private final UserRoleMapper userRoleMapper; // Injected
-    private final RoleMapper roleMapper; // Injected
+    private final AccountStatusService accountStatusService;
+    private final LoginFailureCounterStore loginFailureCounterStore;
+    private final MeterRegistry meterRegistry;
+
+    // 사용자 정보 캐시 유지 시간 (ms). 0 이면 캐시를 사용하지 않는다.
+    @Value("${auth.user-cache.ttl:60000}")
+    private long userCacheTtl;
+
+    @Value("${auth.user-cache.max-size:10000}")
+    private long userCacheMaxSize;
+
+    // 사용자 행과 권한 목록을 보관. UserDetails 는 인증 후 비밀번호가 지워지므로 매번 새로 생성한다.
+    private Cache<String, CachedUser> userCache;
 
     // 잠금 시간 설정
     private static final long LOCK_TIME_MILLIS = 30 * 60 * 1000; // 30분
@@ -32,27 +51,111 @@ public class CustomUserDetailsService implements UserDetailsService {
     // 최대 실패 횟수
     private static final int MAX_FAILED_ATTEMPTS = 5;
 
+    @PostConstruct
+    public void init() {
+        userCache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(Math.max(userCacheTtl, 1)))
+                .maximumSize(userCacheMaxSize)
+                .recordStats()
+                .build();
+        // auth.userDetails 캐시의 hit/miss/eviction 지표를 /actuator/metrics 로 노출
+        CaffeineCacheMetrics.monitor(meterRegistry, userCache, "auth.userDetails");
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        AuthUser authUser = authMapper.findByUsername(username);
+        CachedUser cachedUser = userCacheTtl > 0
+                ? userCache.get(username, this::loadCachedUser)
+                : loadCachedUser(username);
 
-        if (authUser == null) {
+        if (cachedUser == null) {
             throw new UsernameNotFoundException("User not found");
         }
-        
-        boolean isAccountNonLocked = true; // 계정 잠김 여부 (잘못된 로그인이 여러번 반복되었을때)
+
+        AuthUser authUser = cachedUser.authUser;
+        // 잠금 여부는 시간에 따라 풀리므로 캐시된 값이 아니라 조회 시점에 계산
+        boolean isAccountNonLocked = isAccountNonLocked(authUser, loginFailureCounterStore); // 계정 잠김 여부 (잘못된 로그인이 여러번 반복되었을때)
+
+        return new org.springframework.security.core.userdetails.User(
+                authUser.getUserName(),
+                authUser.getPassword(),
+                "Y".equals(authUser.getUseYn()),
+                true,    // accountNonExpired
+                true,                   // credentialsNonExpired
+                isAccountNonLocked,
+                cachedUser.authorities
+        );
+    }
+
+    /**
+     * 계정 정보가 변경되면 (트랜잭션 커밋 후) 해당 사용자의 캐시를 제거한다.
+     * 트랜잭션 밖에서 발행된 이벤트는 즉시 처리한다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        if (event.isAllUsers()) {
+            userCache.invalidateAll();
+            accountStatusService.evictAll();
+            return;
+        }
+        userCache.invalidate(event.getUserName());
+        accountStatusService.evict(event.getUserName());
+    }
+
+    private CachedUser loadCachedUser(String username) {
+        // 사용자 정보와 권한명을 USERS, USER_ROLES, ROLES 조인 한 번으로 가져오기
+        AuthUserWithRoles authUser = userRoleMapper.findUserWithRolesByUserName(username);
+        if (authUser == null) {
+            return null;
+        }
+
+        List<GrantedAuthority> authorities = authUser.getRoleNames().stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+
+        if (authorities.isEmpty()) {
+            // 권한이 없으면 기본 ROLE_USER 부여 (필요에 따라 조정)
+            authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
+        }
+
+        return new CachedUser(authUser, List.copyOf(authorities));
+    }
+
+    private static final class CachedUser {
+        private final AuthUser authUser;
+        private final List<GrantedAuthority> authorities;
+
+        private CachedUser(AuthUser authUser, List<GrantedAuthority> authorities) {
+            this.authUser = authUser;
+            this.authorities = authorities;
+        }
+    }
+
+    /**
+     * 로그인 실패 횟수와 마지막 실패 시각으로 계정 잠김 여부를 판단한다.
+     * 무상태(stateless) 인증의 계정 상태 확인에서도 같은 정책을 사용한다.
+     *
+     * 아직 DB 에 반영되지 않은 실패 횟수(write-behind)도 함께 계산한다.
+     *
+     * @param authUser 사용자 정보
+     * @param loginFailureCounterStore 미반영 실패 횟수 저장소
+     * @return 잠기지 않았으면 true
+     */
+    static boolean isAccountNonLocked(AuthUser authUser, LoginFailureCounterStore loginFailureCounterStore) {
+        boolean isAccountNonLocked = true;
 
         // 계정 잠금 체크 시작
-        int currentFailureCount = authUser.getLoginFailureCount() != null ? authUser.getLoginFailureCount() : 0;
+        int currentFailureCount = loginFailureCounterStore.effectiveFailureCount(authUser.getUserName(), authUser.getLoginFailureCount(), authUser.getLastFailureTimestamp());
+        Date lastFailureTimestamp = loginFailureCounterStore.effectiveLastFailure(authUser.getUserName(), authUser.getLastFailureTimestamp());
 
         if (currentFailureCount >= MAX_FAILED_ATTEMPTS) {
             // 실패 횟수가 최대치를 넘었을 경우 잠금 시간 확인
-            if (authUser.getLastFailureTimestamp() == null) {
+            if (lastFailureTimestamp == null) {
                 // 이 경우는 발생해서는 안 되지만 (최대 실패 시 Timestamp가 있어야 함), 방어 코드로
                 // 실패 횟수가 MAX를 넘었는데 타임스탬프가 없다면, 일단 잠기지 않은 것으로 간주 (혹은 즉시 잠금 처리 등 정책 필요)
                 isAccountNonLocked = true;
             } else {
-                long lastFailureTime = authUser.getLastFailureTimestamp().getTime();
+                long lastFailureTime = lastFailureTimestamp.getTime();
                 long currentTime = System.currentTimeMillis();
 
                 if ((currentTime - lastFailureTime) < LOCK_TIME_MILLIS) {
@@ -69,26 +172,6 @@ public class CustomUserDetailsService implements UserDetailsService {
             }
         }
 
-        // 권한 목록을 USER_ROLES 및 ROLES 테이블에서 가져오기
-        List<UserRole> userRoles = userRoleMapper.findUserRolesByUserName(username);
-        List<GrantedAuthority> authorities = userRoles.stream()
-                .map(userRole -> roleMapper.findRoleById(userRole.getRoleId()))
-                .map(role -> new SimpleGrantedAuthority(role.getRoleName()))
-                .collect(Collectors.toList());
-
-        if (authorities.isEmpty()) {
-            // 권한이 없으면 기본 ROLE_USER 부여 (필요에 따라 조정)
-            authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
-        }
-
-        return new org.springframework.security.core.userdetails.User(
-                authUser.getUserName(),
-                authUser.getPassword(),
-                "Y".equals(authUser.getUseYn()),
-                true,    // accountNonExpired
-                true,                   // credentialsNonExpired
-                isAccountNonLocked,
-                authorities
-        );
+        return isAccountNonLocked;
     }
-}
\ No newline at end of file
+}
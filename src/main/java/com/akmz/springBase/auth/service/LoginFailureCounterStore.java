@@ -0,0 +1,244 @@
+package com.akmz.springBase.auth.service;
+
+import com.akmz.springBase.auth.event.UserAccountChangedEvent;
+import com.akmz.springBase.auth.mapper.AuthMapper;
+import com.akmz.springBase.auth.model.entity.LoginFailureDelta;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 로그인 실패 횟수 기록 저장소.
+ *
+ * write-behind 모드에서는 실패 횟수를 사용자별로 메모리에 누적했다가 flush-interval 마다
+ * 한 번의 UPDATE 로 묶어서 반영한다. 무차별 대입 공격이 한 계정에 몰려도 USERS 행 잠금 경합이
+ * 요청 수가 아니라 반영 주기에 비례하게 된다.
+ * 잠금 판단은 DB 값에 아직 반영되지 않은 증가분을 더해서 하므로 반영 지연과 관계없이 정확하다.
+ * 서버가 비정상 종료되면 마지막 flush-interval 동안의 실패 횟수는 유실될 수 있다.
+ *
+ * 미반영 실패 횟수는 노드별 메모리에 있으므로 다른 노드의 잠금 판단에는 반영될 때까지 보이지 않는다.
+ * 여러 노드로 운영하면 flush-interval 동안 노드 수만큼 잠금 기준을 넘는 시도가 허용될 수 있으므로,
+ * 기본값은 꺼져 있고 단일 노드이거나 이 오차를 감수할 수 있을 때만 켠다.
+ */
+@Component
+@RequiredArgsConstructor
+@Log4j2
+public class LoginFailureCounterStore {
+
+    private final AuthMapper authMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // false 이면 기존처럼 실패할 때마다 즉시 UPDATE
+    @Value("${auth.login-failure.write-behind.enabled:false}")
+    private boolean writeBehindEnabled;
+
+    // 메모리에 모아둘 최대 사용자 수. 초과하면 해당 요청은 즉시 UPDATE (사용자명 무작위 대입 대비)
+    @Value("${auth.login-failure.write-behind.max-pending:10000}")
+    private int maxPending;
+
+    @Value("${auth.login-failure.write-behind.batch-size:500}")
+    private int batchSize;
+
+    // 사용자별 미반영 실패 횟수 (ConcurrentHashMap 의 키 단위 잠금으로 사용자별 분산)
+    private final Map<String, Pending> pendingFailures = new ConcurrentHashMap<>();
+
+    // flush 의 DB 반영 구간. 반영 중인 사용자의 성공/초기화는 반영이 끝난 뒤에 DB 를 초기화하도록 기다린다.
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private static final class Pending {
+        private int count;                     // flush 가 아직 가져가지 않은 실패 횟수
+        private long lastFailureMillis;
+        private int inFlightCount;             // flush 가 DB 에 반영 중인 실패 횟수
+        private long inFlightSinceMillis;      // 반영 시작 시각 (DB 시계). DB 의 마지막 실패 시각이 이 이후면 반영 완료
+    }
+
+    /**
+     * 로그인 실패 기록
+     *
+     * @param userName 사용자명
+     */
+    public void recordFailure(String userName) {
+        if (!writeBehindEnabled || (pendingFailures.size() >= maxPending && !pendingFailures.containsKey(userName))) {
+            if (authMapper.updateLoginFailure(userName) > 0) {
+                eventPublisher.publishEvent(new UserAccountChangedEvent(userName)); // 사용자 정보 캐시 무효화
+            }
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        pendingFailures.compute(userName, (key, pending) -> {
+            Pending value = pending != null ? pending : new Pending();
+            synchronized (value) {
+                value.count++;
+                value.lastFailureMillis = now;
+            }
+            return value;
+        });
+    }
+
+    /**
+     * 로그인 성공 기록: 미반영 실패 횟수를 버리고, 실패 이력이 있을 때만 DB 를 초기화한다.
+     *
+     * @param userName 사용자명
+     */
+    public void recordSuccess(String userName) {
+        clear(userName);
+        if (authMapper.resetLoginFailureCountIfFailed(userName) > 0) {
+            eventPublisher.publishEvent(new UserAccountChangedEvent(userName)); // 사용자 정보 캐시 무효화
+        }
+    }
+
+    /**
+     * 관리자 초기화 등으로 실패 횟수를 초기화하기 전에 미반영 실패 횟수를 버린다.
+     * flush 가 이 사용자의 실패 횟수를 DB 에 반영하는 중이면 끝날 때까지 기다리므로,
+     * 이후의 DB 초기화가 지난 실패 횟수로 덮어써지지 않는다.
+     *
+     * @param userName 사용자명
+     */
+    public void clear(String userName) {
+        Pending removed = pendingFailures.remove(userName);
+        if (removed == null) {
+            return;
+        }
+        boolean inFlight;
+        synchronized (removed) {
+            inFlight = removed.inFlightCount > 0;
+        }
+        if (inFlight) {
+            // 반영 중 표시는 flush 가 flushLock 을 가진 상태에서만 하므로, 잠금을 얻으면 반영이 끝난 것
+            flushLock.lock();
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * DB 값에 미반영 실패 횟수를 더한 실제 실패 횟수.
+     * 반영 중인 실패 횟수는 DB 의 마지막 실패 시각이 반영 시작 이후인지로 이미 반영되었는지 확인하여 한 번만 더한다.
+     *
+     * @param userName 사용자명
+     * @param dbFailureCount DB 의 실패 횟수
+     * @param dbLastFailure DB 의 마지막 실패 시각 (dbFailureCount 와 같은 행에서 읽은 값)
+     */
+    public int effectiveFailureCount(String userName, Integer dbFailureCount, Date dbLastFailure) {
+        int count = dbFailureCount != null ? dbFailureCount : 0;
+        Pending pending = pendingFailures.get(userName);
+        if (pending == null) {
+            return count;
+        }
+        synchronized (pending) {
+            count += pending.count;
+            boolean committed = dbLastFailure != null && dbLastFailure.getTime() >= pending.inFlightSinceMillis;
+            if (pending.inFlightCount > 0 && !committed) {
+                count += pending.inFlightCount;
+            }
+            return count;
+        }
+    }
+
+    /**
+     * DB 값과 미반영 실패 중 더 최근의 마지막 실패 시각
+     */
+    public Date effectiveLastFailure(String userName, Date dbLastFailure) {
+        Pending pending = pendingFailures.get(userName);
+        if (pending == null) {
+            return dbLastFailure;
+        }
+        long pendingLast;
+        synchronized (pending) {
+            pendingLast = pending.lastFailureMillis;
+        }
+        if (dbLastFailure == null || dbLastFailure.getTime() < pendingLast) {
+            return new Date(pendingLast);
+        }
+        return dbLastFailure;
+    }
+
+    /**
+     * 누적된 실패 횟수를 일괄 반영한다.
+     * 사용자별 누적분을 반영 중(in-flight)으로 옮긴 뒤 DB 반영 → 캐시 무효화 → 반영 중 표시 제거 순서로 처리한다.
+     * 반영 중인 실패 횟수는 DB 에 기록될 때까지만 잠금 판단에 더해지므로 적게도, 두 번도 계산되지 않는다.
+     */
+    @Scheduled(fixedDelayString = "${auth.login-failure.write-behind.flush-interval:500}")
+    public void flush() {
+        if (pendingFailures.isEmpty()) {
+            return;
+        }
+
+        flushLock.lock();
+        try {
+            // 반영 시작 시각 (DB 시계, 일괄 UPDATE 는 이후의 SYSTIMESTAMP 를 기록)
+            long flushStartedAt;
+            try {
+                flushStartedAt = authMapper.findDbTimestamp().getTime();
+            } catch (Exception e) {
+                log.error("로그인 실패 횟수 일괄 반영 준비 실패, 다음 주기에 재시도", e);
+                return;
+            }
+
+            List<LoginFailureDelta> deltas = new ArrayList<>();
+            for (String userName : pendingFailures.keySet()) {
+                // 성공 처리(remove)와 같은 키 잠금 안에서 옮겨, 이미 제거된 항목은 반영하지 않음
+                pendingFailures.computeIfPresent(userName, (key, pending) -> {
+                    synchronized (pending) {
+                        if (pending.count > 0) {
+                            pending.inFlightCount = pending.count;
+                            pending.inFlightSinceMillis = flushStartedAt;
+                            pending.count = 0;
+                            deltas.add(new LoginFailureDelta(key, pending.inFlightCount));
+                        }
+                    }
+                    return pending;
+                });
+            }
+
+            for (int from = 0; from < deltas.size(); from += batchSize) {
+                List<LoginFailureDelta> batch = deltas.subList(from, Math.min(from + batchSize, deltas.size()));
+                try {
+                    authMapper.addLoginFailures(batch);
+                } catch (Exception e) {
+                    log.error("로그인 실패 횟수 일괄 반영 실패 ({}건), 다음 주기에 재시도", batch.size(), e);
+                    for (LoginFailureDelta delta : batch) {
+                        settle(delta.getUserName(), true);
+                    }
+                    continue;
+                }
+                for (LoginFailureDelta delta : batch) {
+                    eventPublisher.publishEvent(new UserAccountChangedEvent(delta.getUserName()));
+                    settle(delta.getUserName(), false);
+                }
+            }
+            log.debug("로그인 실패 횟수 일괄 반영: {}명", deltas.size());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // 반영 중 표시 제거. 반영에 실패했으면 다음 주기에 다시 반영하도록 누적분으로 되돌림
+    private void settle(String userName, boolean retry) {
+        pendingFailures.computeIfPresent(userName, (key, pending) -> {
+            synchronized (pending) {
+                if (retry) {
+                    pending.count += pending.inFlightCount;
+                }
+                pending.inFlightCount = 0;
+                return pending.count > 0 ? pending : null;
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
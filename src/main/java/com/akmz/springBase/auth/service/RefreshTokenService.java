@@ -0,0 +1,91 @@
+package com.akmz.springBase.auth.service;
+
+import com.akmz.springBase.auth.mapper.RefreshTokenMapper;
+import com.akmz.springBase.auth.model.entity.RefreshToken;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+
+/**
+ * 리프레시 토큰 저장소.
+ * 사용자별로 여러 세션(기기)을 허용하며, 토큰 원문 대신 SHA-256 해시를 유니크 인덱스로 저장하여
+ * 재발급 시 인덱스 한 번으로 찾고 같은 행을 새 토큰으로 교체(회전)한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Log4j2
+public class RefreshTokenService {
+
+    private final RefreshTokenMapper refreshTokenMapper;
+
+    @Value("${jwt.refresh-expiration}")
+    private long refreshExpiration;
+
+    /**
+     * 새 세션의 리프레시 토큰 저장 (로그인)
+     *
+     * @param userName     사용자명
+     * @param refreshToken 리프레시 토큰 원문
+     */
+    public void store(String userName, String refreshToken) {
+        Date now = new Date();
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash(refreshToken));
+        token.setUserName(userName);
+        token.setExpiryDate(new Date(now.getTime() + refreshExpiration));
+        token.setCreatedDate(now);
+        refreshTokenMapper.insertRefreshToken(token);
+    }
+
+    /**
+     * 기존 토큰을 새 토큰으로 교체 (재발급).
+     *
+     * @return 기존 토큰이 유효하여 교체되었으면 true, 이미 사용(회전)되었거나 만료/폐기된 토큰이면 false
+     */
+    public boolean rotate(String userName, String oldRefreshToken, String newRefreshToken) {
+        Date now = new Date();
+        int updated = refreshTokenMapper.rotateRefreshToken(hash(oldRefreshToken), userName,
+                hash(newRefreshToken), new Date(now.getTime() + refreshExpiration), now);
+        return updated > 0;
+    }
+
+    /**
+     * 한 세션의 리프레시 토큰 폐기 (로그아웃)
+     */
+    public void revoke(String refreshToken) {
+        refreshTokenMapper.deleteByTokenHash(hash(refreshToken));
+    }
+
+    /**
+     * 사용자의 모든 세션 폐기
+     */
+    public void revokeAll(String userName) {
+        int deleted = refreshTokenMapper.deleteByUserName(userName);
+        log.debug("리프레시 토큰 전체 폐기: {} ({}건)", userName, deleted);
+    }
+
+    /**
+     * 만료된 토큰 일괄 삭제
+     *
+     * @return 삭제 건수
+     */
+    public int purgeExpired() {
+        return refreshTokenMapper.deleteExpired(new Date());
+    }
+
+    static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.akmz.springBase.auth.service;
+
+import com.akmz.springBase.auth.mapper.RevokedTokenMapper;
+import com.akmz.springBase.common.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 엑세스 토큰 폐기 목록 (jti 기준).
+ *
+ * 매 요청마다 확인하므로 DB 를 조회하지 않고 메모리의 블룸 필터 + 정확한 집합으로 판단한다.
+ * 대부분의 토큰은 블룸 필터에서 바로 "없음"으로 끝나고, 블룸 필터가 "있을 수 있음"일 때만 집합을 확인한다.
+ * 다른 서버에서 폐기한 토큰도 반영되도록 refresh-interval 마다 DB 에서 다시 만들어 교체한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Log4j2
+public class TokenRevocationService {
+
+    private final RevokedTokenMapper revokedTokenMapper;
+
+    @Value("${jwt.revocation.expected-size:10000}")
+    private long expectedSize;
+
+    @Value("${jwt.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    // 재구성 시 스냅샷 교체 (읽기는 volatile 참조 한 번)
+    private volatile Snapshot snapshot;
+
+    // 이 서버에서 폐기했지만 아직 DB 재구성에서 확인되지 않은 jti (jti -> 토큰 만료 시각)
+    private final Map<String, Long> localRevocations = new ConcurrentHashMap<>();
+
+    private static final class Snapshot {
+        private final BloomFilter bloomFilter;
+        private final Set<String> revokedJtis;
+
+        private Snapshot(BloomFilter bloomFilter, Set<String> revokedJtis) {
+            this.bloomFilter = bloomFilter;
+            this.revokedJtis = revokedJtis;
+        }
+
+        private void add(String jti) {
+            revokedJtis.add(jti);
+            bloomFilter.add(jti);
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        snapshot = new Snapshot(new BloomFilter(expectedSize, falsePositiveRate), ConcurrentHashMap.newKeySet());
+    }
+
+    /**
+     * 폐기된 토큰인지 확인 (요청마다 호출)
+     *
+     * @param jti 엑세스 토큰의 jti
+     */
+    public boolean isRevoked(String jti) {
+        Snapshot current = snapshot;
+        return current.bloomFilter.mightContain(jti) && current.revokedJtis.contains(jti);
+    }
+
+    /**
+     * 엑세스 토큰 폐기 (로그아웃)
+     *
+     * @param jti        엑세스 토큰의 jti
+     * @param userName   사용자명
+     * @param expiryDate 엑세스 토큰 만료 시각 (이후에는 목록에서 제거)
+     */
+    public void revoke(String jti, String userName, Date expiryDate) {
+        revokedTokenMapper.insertRevokedToken(jti, userName, expiryDate, new Date());
+        localRevocations.put(jti, expiryDate.getTime());
+
+        // 재구성과 동시에 호출되어도 최신 스냅샷에 반영되도록 확인
+        Snapshot current = snapshot;
+        current.add(jti);
+        while (current != snapshot) {
+            current = snapshot;
+            current.add(jti);
+        }
+    }
+
+    /**
+     * DB 의 폐기 목록으로 블룸 필터와 집합을 새로 만들어 교체한다.
+     * 다른 서버의 폐기 내역이 반영되고, 만료된 jti 는 자연스럽게 빠진다.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval:10000}")
+    public void rebuild() {
+        long now = System.currentTimeMillis();
+        List<String> activeJtis;
+        try {
+            activeJtis = revokedTokenMapper.findActiveJtis(new Date(now));
+        } catch (Exception e) {
+            log.error("폐기 토큰 목록 재구성 실패, 기존 목록 유지", e);
+            return;
+        }
+
+        Set<String> fromDb = new HashSet<>(activeJtis);
+        localRevocations.entrySet().removeIf(entry -> entry.getValue() <= now || fromDb.contains(entry.getKey()));
+
+        Set<String> jtis = ConcurrentHashMap.newKeySet(fromDb.size() + localRevocations.size());
+        jtis.addAll(fromDb);
+        jtis.addAll(localRevocations.keySet());
+
+        BloomFilter bloomFilter = new BloomFilter(Math.max(expectedSize, jtis.size() * 2L), falsePositiveRate);
+        jtis.forEach(bloomFilter::add);
+        snapshot = new Snapshot(bloomFilter, jtis);
+
+        // 교체 직전에 폐기된 jti 가 빠지지 않도록 다시 반영
+        localRevocations.keySet().forEach(snapshot::add);
+    }
+
+    /**
+     * 만료된 폐기 토큰 일괄 삭제
+     *
+     * @return 삭제 건수
+     */
+    public int purgeExpired() {
+        return revokedTokenMapper.deleteExpired(new Date());
+    }
+}
@@ -0,0 +1,121 @@
+package com.akmz.springBase.common.aspect;
+
+import com.akmz.springBase.common.mapper.SchedulerLockMapper;
+import com.akmz.springBase.common.scheduler.SchedulerLock;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @SchedulerLock 이 붙은 작업을 DB 잠금(lease)을 얻은 노드에서만 실행한다.
+ *
+ * 실행 중에는 leaseSeconds 의 1/3 마다 잠금 만료 시각을 연장(heartbeat)하고, 끝나면 minHoldSeconds 이후 만료되도록 한다.
+ * 노드가 죽어 heartbeat 가 멈추면 잠금이 만료되어 다음 주기에 다른 노드가 가져간다.
+ */
+@Aspect
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class SchedulerLockAspect {
+
+    private final SchedulerLockMapper schedulerLockMapper;
+
+    @Value("${scheduler.lock.enabled:true}")
+    private boolean enabled;
+
+    // 잠금을 가진 노드 표시, 비어 있으면 호스트명 + 임의 값
+    @Value("${scheduler.lock.node-id:}")
+    private String configuredNodeId;
+
+    private String nodeId;
+    private ScheduledExecutorService heartbeatExecutor;
+
+    @PostConstruct
+    public void init() {
+        nodeId = configuredNodeId.isBlank() ? hostName() + "-" + UUID.randomUUID().toString().substring(0, 8) : configuredNodeId;
+        heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "scheduler-lock-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatExecutor.shutdownNow();
+    }
+
+    @Around("@annotation(schedulerLock)")
+    public Object runWithLock(ProceedingJoinPoint joinPoint, SchedulerLock schedulerLock) throws Throwable {
+        if (!enabled) {
+            return joinPoint.proceed();
+        }
+
+        String lockName = schedulerLock.name();
+        if (!tryAcquire(lockName, schedulerLock.leaseSeconds())) {
+            log.debug("다른 노드가 '{}' 작업의 잠금을 가지고 있어 건너뜁니다.", lockName);
+            return null;
+        }
+
+        long heartbeatInterval = Math.max(TimeUnit.SECONDS.toMillis(schedulerLock.leaseSeconds()) / 3, 1);
+        ScheduledFuture<?> heartbeat = heartbeatExecutor.scheduleAtFixedRate(
+                () -> extend(lockName, schedulerLock.leaseSeconds()), heartbeatInterval, heartbeatInterval, TimeUnit.MILLISECONDS);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            heartbeat.cancel(false);
+            schedulerLockMapper.releaseLock(lockName, nodeId, schedulerLock.minHoldSeconds());
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    // 만료된 잠금을 가져오고, 잠금이 아직 없으면 새로 만든다. (동시에 만들면 한 노드만 성공)
+    private boolean tryAcquire(String lockName, long leaseSeconds) {
+        if (schedulerLockMapper.acquireExpiredLock(lockName, nodeId, leaseSeconds) > 0) {
+            return true;
+        }
+        try {
+            return schedulerLockMapper.insertLock(lockName, nodeId, leaseSeconds) > 0;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private void extend(String lockName, long leaseSeconds) {
+        try {
+            if (schedulerLockMapper.extendLock(lockName, nodeId, leaseSeconds) == 0) {
+                // 실행 중인 작업은 중단할 수 없으므로 두 노드가 함께 실행 중일 수 있음 (@SchedulerLock 참고)
+                log.error("'{}' 작업의 잠금을 다른 노드가 가져갔습니다. 이 노드의 실행이 끝날 때까지 중복 실행될 수 있습니다. (heartbeat 지연)", lockName);
+            }
+        } catch (RuntimeException e) {
+            // 다음 heartbeat 에서 다시 시도 (예외가 나가면 이후 실행이 멈춤)
+            log.warn("'{}' 작업의 잠금 연장 실패: {}", lockName, e.getMessage());
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
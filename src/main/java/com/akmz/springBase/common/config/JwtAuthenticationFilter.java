@@ -1,5 +1,8 @@
 package com.akmz.springBase.common.config;
 
+import com.akmz.springBase.auth.service.AccountStatusService;
+import com.akmz.springBase.auth.service.AccountStatusService.AccountStatus;
+import com.akmz.springBase.auth.service.TokenRevocationService;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
@@ -7,16 +10,19 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 @Order(2)
@@ -26,6 +32,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtTokenProvider jwtTokenProvider;
     @Autowired
     private UserDetailsService userDetailsService;
+    @Autowired
+    private AccountStatusService accountStatusService;
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    // true 이면 DB 조회 없이 토큰의 클레임(subject, roles)으로 인증 정보를 구성
+    @Value("${jwt.stateless.enabled:false}")
+    private boolean statelessEnabled;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -33,12 +47,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = resolveToken(request);
         try {
-            if (token != null && jwtTokenProvider.validateToken(token)) {
-                String username = jwtTokenProvider.getUsername(token);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                Authentication auth = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                SecurityContextHolder.getContext().setAuthentication(auth);
+            if (token != null) {
+                // 서명 검증과 클레임 추출을 한 번의 파싱으로 처리
+                VerifiedClaims claims = jwtTokenProvider.verify(token);
+                // 리프레시 토큰이나 jti 가 없는 토큰은 폐기 확인을 할 수 없으므로 인증에 사용하지 않음
+                if (!claims.isAccessToken()) {
+                    request.setAttribute("exception", "INVALID_TOKEN");
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+                // 로그아웃으로 폐기된 엑세스 토큰 (메모리 블룸 필터 + 집합 확인, DB 조회 없음)
+                if (claims.getId() != null && tokenRevocationService.isRevoked(claims.getId())) {
+                    request.setAttribute("exception", "TOKEN_REVOKED");
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+                UserDetails userDetails = statelessEnabled
+                        ? buildStatelessUser(claims, request)
+                        : userDetailsService.loadUserByUsername(claims.getSubject());
+                if (userDetails != null) {
+                    UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities());
+                    auth.setDetails(claims); // 로그아웃 시 jti, 만료 시각 사용
+                    SecurityContextHolder.getContext().setAuthentication(auth);
+                }
             }
         } catch (ExpiredJwtException e) {
             request.setAttribute("exception", "TOKEN_EXPIRED");
@@ -49,6 +81,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * 무상태 모드: 토큰의 클레임으로 사용자 정보를 구성한다.
+     * 계정 상태 확인이 켜져 있으면 짧은 TTL 캐시로 잠김/비활성 여부만 확인하고,
+     * 사용할 수 없는 계정이면 null 을 반환하여 인증하지 않는다.
+     */
+    private UserDetails buildStatelessUser(VerifiedClaims claims, HttpServletRequest request) {
+        String username = claims.getSubject();
+        if (accountStatusService.isEnabled()) {
+            AccountStatus status = accountStatusService.getStatus(username);
+            if (status == AccountStatus.LOCKED) {
+                request.setAttribute("exception", "ACCOUNT_LOCKED");
+                return null;
+            }
+            if (status != AccountStatus.ACTIVE) {
+                request.setAttribute("exception", "ACCOUNT_DISABLED");
+                return null;
+            }
+        }
+
+        List<SimpleGrantedAuthority> authorities = claims.getRoles().stream()
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+        return User.withUsername(username)
+                .password("")
+                .authorities(authorities)
+                .build();
+    }
+
     private String resolveToken(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
@@ -2,9 +2,13 @@ package com.akmz.springBase.common.config;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -20,22 +24,47 @@ public class JwtTokenProvider {
     @Value("${jwt.refresh-expiration}")
     private long refreshExpiration;
 
+    // token_type 클레임 도입 이전에 발급된 엑세스 토큰을 만료될 때까지 허용 (배포 직후 강제 로그아웃 방지)
+    @Value("${jwt.legacy-grace.enabled:true}")
+    private boolean legacyGraceEnabled;
+
+
+    // 엑세스/리프레시 토큰은 같은 키로 서명하므로 용도를 클레임으로 구분 (리프레시 토큰을 엑세스 토큰으로 쓰지 못하게)
+    public static final String TOKEN_TYPE_CLAIM = "token_type";
+    public static final String ACCESS_TOKEN_TYPE = "access";
+    public static final String REFRESH_TOKEN_TYPE = "refresh";
 
     private final SignatureAlgorithm algorithm = SignatureAlgorithm.HS256;
 
+    // 서명 키와 파서는 불변 객체이므로 기동 시 한 번만 생성하여 모든 요청에서 재사용
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    private Date startedAt;
+
+    @PostConstruct
+    public void init() {
+        startedAt = new Date();
+        signingKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
     // 토큰 생성
     public String createToken(String username, List<String> roles) {
         Claims claims = Jwts.claims().setSubject(username);
         claims.put("roles", roles);
+        claims.put(TOKEN_TYPE_CLAIM, ACCESS_TOKEN_TYPE);
 
         Date now = new Date();
         Date expiry = new Date(now.getTime() + expiration);
 
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(java.util.UUID.randomUUID().toString()) // jti: 로그아웃 시 엑세스 토큰 폐기용
                 .setIssuedAt(now)
                 .setExpiration(expiry)
-                .signWith(Keys.hmacShaKeyFor(secretKey.getBytes()), algorithm)
+                .signWith(signingKey, algorithm)
                 .compact();
     }
 
@@ -43,6 +72,7 @@ public class JwtTokenProvider {
     public String createRefreshToken(String username) {
         Claims claims = Jwts.claims().setSubject(username);
         claims.put("uuid", java.util.UUID.randomUUID().toString()); // 고유한 UUID 추가
+        claims.put(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE);
 
         Date now = new Date();
         Date expiry = new Date(now.getTime() + refreshExpiration);
@@ -51,26 +81,57 @@ public class JwtTokenProvider {
                 .setClaims(claims)
                 .setIssuedAt(now)
                 .setExpiration(expiry)
-                .signWith(Keys.hmacShaKeyFor(secretKey.getBytes()), algorithm)
+                .signWith(signingKey, algorithm)
                 .compact();
     }
 
+    /**
+     * 토큰의 서명과 만료를 한 번만 검증하고, 필요한 클레임(jti, subject, roles, 토큰 용도, 만료시각)을 반환한다.
+     *
+     * @param token 검증할 JWT
+     * @return 검증된 클레임
+     * @throws ExpiredJwtException 토큰이 만료된 경우
+     * @throws JwtException 서명이 올바르지 않거나 형식이 잘못된 경우
+     * @throws IllegalArgumentException 토큰이 비어있는 경우
+     */
+    public VerifiedClaims verify(String token) {
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        String tokenType = claims.get(TOKEN_TYPE_CLAIM, String.class);
+        return new VerifiedClaims(claims.getId(), claims.getSubject(), extractRoles(claims),
+                tokenType, tokenType == null && isLegacyAccessToken(claims), claims.getExpiration());
+    }
+
+    /**
+     * token_type 이 없는 이전 형식의 엑세스 토큰인지 확인한다.
+     * 기동 전에 발급되었고 유효기간이 엑세스 토큰 유효기간 이내인 것만 인정하므로
+     * 유예는 기동 후 최대 jwt.expiration 동안만 유지된다. 리프레시 토큰(uuid 클레임)은 해당하지 않는다.
+     */
+    private boolean isLegacyAccessToken(Claims claims) {
+        Date issuedAt = claims.getIssuedAt();
+        Date expiry = claims.getExpiration();
+        return legacyGraceEnabled
+                && claims.containsKey("roles") && !claims.containsKey("uuid")
+                && issuedAt != null && expiry != null
+                && issuedAt.before(startedAt)
+                && expiry.getTime() - issuedAt.getTime() <= expiration;
+    }
+
     // 토큰에서 사용자 이름 추출
     public String getUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey.getBytes())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return verify(token).getSubject();
     }
 
     // 토큰 유효성 검증
     public boolean validateToken(String token) {
-        Jwts.parserBuilder()
-                .setSigningKey(secretKey.getBytes())
-                .build()
-                .parseClaimsJws(token);
+        jwtParser.parseClaimsJws(token);
         return true;
     }
-}
\ No newline at end of file
+
+    private List<String> extractRoles(Claims claims) {
+        Object roles = claims.get("roles");
+        if (!(roles instanceof List<?> roleList)) {
+            return Collections.emptyList();
+        }
+        return roleList.stream().map(String::valueOf).toList();
+    }
+}
@@ -0,0 +1,114 @@
+package com.akmz.springBase.common.config;
+
+import com.akmz.springBase.auth.exception.LoginThrottledException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt 해시/검증을 전용 스레드 풀에서 실행하는 PasswordEncoder.
+ * 로그인이 몰려도 해시 연산은 풀 크기만큼만 CPU 를 사용하고, 대기열이 가득 차면 즉시 LoginThrottledException 을 던진다.
+ *
+ * 호출한 요청 스레드는 결과를 wait-timeout 까지 기다리므로, 대기열에 들어간 요청 수(queue-capacity)만큼의
+ * Tomcat 작업 스레드는 여전히 점유될 수 있다. 대기열 크기와 wait-timeout 으로 그 상한을 정한다.
+ * 시간 초과 시 아직 시작하지 않은 작업은 취소되지만, 이미 실행 중인 BCrypt 연산은 인터럽트되지 않고 끝까지 실행된다.
+ * LoginThrottledException 은 로그인 외(가입, 비밀번호 재설정 등)에서도 발생할 수 있으며 GlobalExceptionHandler 가 503 으로 응답한다.
+ */
+@Log4j2
+public class OffloadingPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long waitTimeoutMillis;
+    private final long retryAfterSeconds;
+    private final Timer matchesTimer;
+    private final Timer encodeTimer;
+
+    public OffloadingPasswordEncoder(PasswordEncoder delegate, int poolSize, int queueCapacity,
+                                     long waitTimeoutMillis, long retryAfterSeconds, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        AtomicInteger threadSeq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadSeq.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        // 해시 소요 시간 분포 (p50/p95/p99) 와 대기열 길이
+        this.matchesTimer = Timer.builder("auth.password.hash")
+                .tag("operation", "matches")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("auth.password.hash")
+                .tag("operation", "encode")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.queue", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> encodeTimer.record(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            log.warn("비밀번호 해시 대기열 초과 (queue={}), 요청 거절", executor.getQueue().size());
+            throw new LoginThrottledException("요청이 많아 잠시 후 다시 시도해주세요.", retryAfterSeconds);
+        }
+
+        try {
+            return future.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true); // 대기열에 남아 있으면 실행하지 않음 (실행 중인 해시는 멈추지 않음)
+            throw new LoginThrottledException("요청이 많아 잠시 후 다시 시도해주세요.", retryAfterSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("비밀번호 해시 대기 중 인터럽트 발생", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("비밀번호 해시 처리 실패", e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -2,8 +2,10 @@ package com.akmz.springBase.common.config;
 
 import com.akmz.springBase.auth.service.CustomUserDetailsService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.http.HttpStatus;
@@ -29,11 +31,32 @@ public class SecurityConfig {
     private final XssFilter xssFilter;
     private final ObjectMapper objectMapper;
 
+    // BCrypt 비용 (2^strength 회 반복). BCryptStrengthBenchmark 결과를 보고 조정
+    @Value("${auth.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    // 비밀번호 해시를 전용 스레드 풀에서 실행 (로그인 폭주 시 서블릿 스레드 보호)
+    @Value("${auth.password.offload.enabled:true}")
+    private boolean passwordOffloadEnabled;
+
+    @Value("${auth.password.offload.pool-size:0}")
+    private int passwordPoolSize; // 0 이면 CPU 코어 수
+
+    @Value("${auth.password.offload.queue-capacity:100}")
+    private int passwordQueueCapacity;
+
+    @Value("${auth.password.offload.wait-timeout:3000}")
+    private long passwordWaitTimeout; // ms
+
+    @Value("${auth.password.offload.retry-after:2}")
+    private long passwordRetryAfter; // 초
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         return http
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/**").hasRole("ADMIN") // 운영 지표 (캐시 hit/miss 등)
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html", // 스웨거
                                 "/api/auth/validate-reset-token", "/api/auth/token/reissue", "/api/auth/password/reset/**",  // 비밀번호 재설정
                                 "/api/auth/login", "/api/auth/register", "/api/auth/google", "/api/auth/naver", // 구글, 네이버 로그인 추가
@@ -60,9 +83,15 @@ public class SecurityConfig {
                             if ("TOKEN_EXPIRED".equals(exception)) {
                                 problemDetail.setTitle("Expired Token");
                                 problemDetail.setDetail("엑세스 토큰이 만료되었습니다. 토큰을 refresh 하세요.");
-                            } else if (authException instanceof LockedException) {
+                            } else if ("TOKEN_REVOKED".equals(exception)) {
+                                problemDetail.setTitle("Revoked Token");
+                                problemDetail.setDetail("로그아웃된 엑세스 토큰입니다. 다시 로그인하세요.");
+                            } else if (authException instanceof LockedException || "ACCOUNT_LOCKED".equals(exception)) {
                                 problemDetail.setTitle("Account Locked");
                                 problemDetail.setDetail("계정이 잠겼있습니다. 관리자에게 문의하세요.");
+                            } else if ("ACCOUNT_DISABLED".equals(exception)) {
+                                problemDetail.setTitle("Account Disabled");
+                                problemDetail.setDetail("사용할 수 없는 계정입니다. 관리자에게 문의하세요.");
                             } else {
                                 problemDetail.setTitle("Unauthorized");
                                 problemDetail.setDetail("인증에 실패했습니다. 자격 증명이 잘못되었거나 없습니다.");
@@ -87,8 +116,14 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        if (!passwordOffloadEnabled) {
+            return bcrypt;
+        }
+        int poolSize = passwordPoolSize > 0 ? passwordPoolSize : Runtime.getRuntime().availableProcessors();
+        return new OffloadingPasswordEncoder(bcrypt, poolSize, passwordQueueCapacity,
+                passwordWaitTimeout, passwordRetryAfter, meterRegistry);
 //        return NoOpPasswordEncoder.getInstance();
     }
 
@@ -0,0 +1,39 @@
+package com.akmz.springBase.common.config;
+
+import lombok.Getter;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 서명과 만료가 검증된 JWT 에서 꺼낸 클레임 값.
+ * JwtTokenProvider.verify() 가 한 번의 파싱으로 생성한다.
+ */
+@Getter
+public class VerifiedClaims {
+
+    private final String id;           // jti (엑세스 토큰 폐기 확인용, 리프레시 토큰은 null)
+    private final String subject;      // 사용자명
+    private final List<String> roles; // 권한 목록 (리프레시 토큰은 빈 목록)
+    private final String tokenType;    // 토큰 용도 (access / refresh, 이전에 발급된 토큰은 null)
+    private final boolean legacyAccess; // token_type 도입 이전에 발급되어 유예 중인 엑세스 토큰
+    private final Date expiration;     // 만료 시각
+
+    public VerifiedClaims(String id, String subject, List<String> roles, String tokenType,
+                          boolean legacyAccess, Date expiration) {
+        this.id = id;
+        this.subject = subject;
+        this.roles = roles;
+        this.tokenType = tokenType;
+        this.legacyAccess = legacyAccess;
+        this.expiration = expiration;
+    }
+
+    /**
+     * 요청 인증에 쓸 수 있는 엑세스 토큰인지 여부. 폐기 확인을 위해 jti 가 반드시 있어야 한다.
+     * 단, 유예 중인 이전 형식의 엑세스 토큰은 jti 가 없어도 만료될 때까지 허용한다 (로그아웃으로 폐기되지 않음).
+     */
+    public boolean isAccessToken() {
+        return legacyAccess || (JwtTokenProvider.ACCESS_TOKEN_TYPE.equals(tokenType) && id != null);
+    }
+}
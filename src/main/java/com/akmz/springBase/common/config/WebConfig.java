@@ -1,11 +1,30 @@
 package com.akmz.springBase.common.config;
 
+import com.akmz.springBase.attach.controller.AttachController;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.multipart.MultipartResolver;
+import org.springframework.web.multipart.support.StandardServletMultipartResolver;
+import org.springframework.web.servlet.DispatcherServlet;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
+
+    // 본문을 직접 읽어 FTP 로 보내는 스트리밍 업로드 경로 (AttachController 의 매핑과 같은 패턴)
+    private static final List<PathPattern> STREAMING_UPLOAD_PATTERNS = AttachController.STREAMING_UPLOAD_PATTERNS.stream()
+            .map(PathPatternParser.defaultInstance::parse)
+            .toList();
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**") // 1️⃣ 모든 엔드포인트에 대해 CORS를 허용합니다.
@@ -19,4 +38,29 @@ public class WebConfig implements WebMvcConfigurer {
                 .maxAge(3600)           // 6️⃣ Preflight 요청 결과를 캐시할 시간 (초 단위)
                 .exposedHeaders("content-disposition"); // ftp 다운로드 할때 res 헤더에 파일명 저장되는 위치
     }
+
+    /**
+     * 기본 multipart 처리는 각 파트를 로컬 임시 파일에 먼저 저장하므로, 스트리밍 업로드 요청은 multipart 로 해석하지 않고
+     * 본문을 그대로 컨트롤러에 넘긴다. (spring.servlet.multipart 크기 제한도 적용되지 않음)
+     * 스트리밍 업로드 매핑과 정확히 일치하는 POST 요청만 제외하고, 다른 요청은 그대로 MultipartFile 로 받는다.
+     */
+    @Bean(name = DispatcherServlet.MULTIPART_RESOLVER_BEAN_NAME)
+    public MultipartResolver multipartResolver(MultipartProperties multipartProperties) {
+        StandardServletMultipartResolver multipartResolver = new StandardServletMultipartResolver() {
+            @Override
+            public boolean isMultipart(HttpServletRequest request) {
+                return super.isMultipart(request) && !isStreamingUpload(request);
+            }
+        };
+        multipartResolver.setResolveLazily(multipartProperties.isResolveLazily());
+        return multipartResolver;
+    }
+
+    private static boolean isStreamingUpload(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod())) {
+            return false;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        return STREAMING_UPLOAD_PATTERNS.stream().anyMatch(pattern -> pattern.matches(path));
+    }
 }
@@ -1,8 +1,11 @@
 package com.akmz.springBase.common.exception;
 
+import com.akmz.springBase.auth.exception.LoginThrottledException;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.dao.DataAccessException;
 
@@ -66,6 +69,17 @@ public class GlobalExceptionHandler {
         throw ex; // 예외를 다시 던져 Spring Security의 AccessDeniedHandler가 처리하도록 함
     }
 
+    // LoginThrottledException 처리 로직 (비밀번호 해시 대기열 초과: 로그인 외 가입/비밀번호 재설정 등)
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<ProblemDetail> handleLoginThrottledException(LoginThrottledException ex) {
+        log.warn("Password hashing throttled: {}", ex.getMessage());
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+        problemDetail.setTitle("Service Busy");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(problemDetail);
+    }
+
     // 기타 예상치 못한 모든 예외를 처리하는 제네릭 핸들러
     @ExceptionHandler(Exception.class)
     public ProblemDetail handleGenericException(Exception ex) {
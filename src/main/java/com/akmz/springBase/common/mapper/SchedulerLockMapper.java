@@ -0,0 +1,19 @@
+package com.akmz.springBase.common.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * 스케줄 작업 잠금. 시각은 노드 간 시계 차이가 없도록 모두 DB 시각(SYSTIMESTAMP) 기준.
+ */
+@Mapper
+public interface SchedulerLockMapper {
+    int insertLock(@Param("lockName") String lockName, @Param("lockedBy") String lockedBy,
+                   @Param("leaseSeconds") long leaseSeconds); // 처음 실행되는 작업의 잠금 생성 (이미 있으면 DuplicateKeyException)
+    int acquireExpiredLock(@Param("lockName") String lockName, @Param("lockedBy") String lockedBy,
+                           @Param("leaseSeconds") long leaseSeconds); // 만료된 잠금을 가져옴, 가져온 건수 반환
+    int extendLock(@Param("lockName") String lockName, @Param("lockedBy") String lockedBy,
+                   @Param("leaseSeconds") long leaseSeconds); // heartbeat, 아직 잠금을 가지고 있으면 1
+    int releaseLock(@Param("lockName") String lockName, @Param("lockedBy") String lockedBy,
+                    @Param("minHoldSeconds") long minHoldSeconds); // 잠금을 얻은 뒤 minHoldSeconds 까지는 유지
+}
@@ -0,0 +1,34 @@
+package com.akmz.springBase.common.scheduler;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 여러 노드에서 같은 @Scheduled 작업이 동시에 실행되지 않도록 SCHEDULER_LOCK 테이블의 잠금을 얻은 노드만 실행한다.
+ * 잠금을 얻지 못한 노드는 작업을 건너뛴다. (SchedulerLockAspect)
+ *
+ * 실행 중인 작업을 중단시키지는 않는다. GC 정지나 DB 장애로 heartbeat 가 leaseSeconds 넘게 늦어 다른 노드가
+ * 잠금을 가져가면, 이미 실행 중인 작업은 끝까지 실행되므로 잠시 두 노드가 함께 실행될 수 있다.
+ * 따라서 작업은 중복 실행되어도 안전하게(멱등) 만들고, leaseSeconds 는 heartbeat 지연보다 충분히 길게 둔다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SchedulerLock {
+
+    /**
+     * 잠금 이름 (작업마다 고유)
+     */
+    String name();
+
+    /**
+     * 잠금 유지 시간(초). 실행 중에는 heartbeat 로 계속 연장하고, 노드가 죽으면 이 시간이 지난 뒤 다른 노드가 가져간다.
+     */
+    long leaseSeconds() default 300;
+
+    /**
+     * 작업이 빨리 끝나도 잠금을 유지할 최소 시간(초). 노드 간 시계 차이로 같은 주기에 다른 노드가 다시 실행하는 것을 막는다.
+     */
+    long minHoldSeconds() default 30;
+}
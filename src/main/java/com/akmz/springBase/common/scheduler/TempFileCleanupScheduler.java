@@ -2,7 +2,12 @@
 
 package com.akmz.springBase.common.scheduler;
 
+import com.akmz.springBase.attach.service.ChunkedUploadService;
 import com.akmz.springBase.attach.service.FtpService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,8 +15,7 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.util.Calendar;
-import java.util.List;
+import java.time.Duration;
 
 @Component
 @Slf4j
@@ -19,46 +23,65 @@ import java.util.List;
 public class TempFileCleanupScheduler {
 
     private final FtpService ftpService;
+    private final ChunkedUploadService chunkedUploadService;
+    private final MeterRegistry meterRegistry;
     @Value("${ftp.temp-uploads-dir:/temp-uploads}")
     private String tempUploadsDir;
     @Value("${ftp.temp-file-expiration-hours:1}")
     private int expirationHours;
+    // 한 번 실행에 삭제할 최대 파일 수 (남은 파일은 다음 실행에서 삭제)
+    @Value("${ftp.temp-cleanup.max-deletions:5000}")
+    private int maxDeletions;
+
+    private Timer cleanupTimer;
+    private Counter deletedCounter;
+
+    @PostConstruct
+    public void init() {
+        cleanupTimer = Timer.builder("ftp.temp-cleanup.duration")
+                .description("오래된 임시 파일 정리 1회에 걸린 시간")
+                .register(meterRegistry);
+        deletedCounter = Counter.builder("ftp.temp-cleanup.deleted")
+                .description("정리 작업으로 삭제한 임시 파일 수")
+                .register(meterRegistry);
+    }
 
     /**
      * 매시 정각에 실행되어 1시간 이상된 임시 파일을 삭제합니다.
      */
     @Scheduled(cron = "0 0 * * * ?") // 매시 정각에 실행
+    @SchedulerLock(name = "tempFileCleanup")
 //    @Scheduled(cron = "0/30 * * * * ?") // 30초마다 실행(테스트 코드)
     public void cleanupOldTempFiles() {
         log.info("오래된 임시 파일 정리를 시작합니다...");
         long expirationTimeMs = (long) expirationHours * 60 * 60 * 1000; // 밀리초로 변환
+        long cutoffMillis = System.currentTimeMillis() - expirationTimeMs;
 
+        long start = System.nanoTime();
         try {
-            cleanupDirectory(tempUploadsDir, expirationTimeMs); // 계산된 만료 시간 전달
+            // 목록 조회와 삭제를 한 연결에서 처리
+            int deleted = ftpService.deleteFilesOlderThan(tempUploadsDir, cutoffMillis, maxDeletions);
+            deletedCounter.increment(deleted);
+            if (deleted >= maxDeletions) {
+                log.warn("삭제 한도({})에 도달했습니다. 남은 임시 파일은 다음 실행에서 정리합니다.", maxDeletions);
+            }
+            log.info("오래된 임시 파일 정리를 완료했습니다. (삭제 {}개)", deleted);
         } catch (IOException e) {
-            log.error("임시 파일 정리 중 최상위 디렉토리 처리 실패", e);
+            log.error("임시 파일 정리 중 오류 발생: {}", tempUploadsDir, e);
+        } finally {
+            cleanupTimer.record(Duration.ofNanos(System.nanoTime() - start));
         }
-        log.info("오래된 임시 파일 정리를 완료했습니다.");
     }
 
-    private void cleanupDirectory(String directoryPath, long expirationTimeMs) throws IOException {
-        List<String> filePaths = ftpService.listFileNames(directoryPath);
-
-        for (String filePath : filePaths) {
-            try {
-                Calendar fileTimestamp = ftpService.getFileTimestamp(filePath);
-                if (fileTimestamp != null) {
-                    long fileTime = fileTimestamp.getTimeInMillis();
-                    long currentTime = System.currentTimeMillis();
-
-                    if (currentTime - fileTime > expirationTimeMs) {
-                        log.info("오래된 임시 파일을 삭제합니다: {}", filePath);
-                        ftpService.deleteFileFromFtp(filePath);
-                    }
-                }
-            } catch (IOException e) {
-                log.error("임시 파일 처리 중 오류 발생: {}", filePath, e);
-            }
+    /**
+     * 오래 chunk 가 오지 않은 분할 업로드 세션과 FTP 임시 파일을 정리합니다. (기본: 매시 30분)
+     */
+    @Scheduled(cron = "${ftp.chunked-upload.purge-cron:0 30 * * * ?}")
+    @SchedulerLock(name = "uploadSessionPurge")
+    public void cleanupExpiredUploadSessions() {
+        int purged = chunkedUploadService.purgeExpiredSessions();
+        if (purged > 0) {
+            log.info("중단된 분할 업로드 세션 {}건을 정리했습니다.", purged);
         }
     }
 }
\ No newline at end of file
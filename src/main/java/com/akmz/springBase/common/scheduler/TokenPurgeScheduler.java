@@ -0,0 +1,28 @@
+package com.akmz.springBase.common.scheduler;
+
+import com.akmz.springBase.auth.service.RefreshTokenService;
+import com.akmz.springBase.auth.service.TokenRevocationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class TokenPurgeScheduler {
+
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+
+    /**
+     * 만료된 리프레시 토큰과 폐기 엑세스 토큰을 일괄 삭제합니다. (기본: 매일 새벽 4시)
+     */
+    @Scheduled(cron = "${jwt.refresh-token-purge-cron:0 0 4 * * ?}")
+    @SchedulerLock(name = "tokenPurge")
+    public void purgeExpiredTokens() {
+        int deletedRefreshTokens = refreshTokenService.purgeExpired();
+        int deletedRevokedTokens = tokenRevocationService.purgeExpired();
+        log.info("만료된 리프레시 토큰 {}건, 폐기 엑세스 토큰 {}건을 삭제했습니다.", deletedRefreshTokens, deletedRevokedTokens);
+    }
+}
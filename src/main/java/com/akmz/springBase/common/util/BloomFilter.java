@@ -0,0 +1,71 @@
+package com.akmz.springBase.common.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 문자열 키용 잠금 없는(lock-free) 블룸 필터.
+ * 비트 배열을 AtomicLongArray 로 관리하여 추가(add)와 조회(mightContain)를 동시에 호출해도 안전하다.
+ * mightContain 이 false 이면 확실히 없는 키이고, true 이면 정확한 집합으로 다시 확인해야 한다.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions 예상 원소 수
+     * @param falsePositiveRate  허용 오탐률 (예: 0.01)
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(expectedInsertions, 1);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        m = Math.max(64, ((m + 63) / 64) * 64);
+        this.bitSize = m;
+        this.hashCount = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        this.bits = new AtomicLongArray((int) (m / 64));
+    }
+
+    public void add(String key) {
+        long hash1 = hash64(key);
+        long hash2 = (hash1 >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bitIndex = Math.floorMod(hash1 + i * hash2, bitSize);
+            int wordIndex = (int) (bitIndex >>> 6);
+            long mask = 1L << bitIndex;
+            long word = bits.get(wordIndex);
+            while ((word & mask) == 0) {
+                long witness = bits.compareAndExchange(wordIndex, word, word | mask);
+                if (witness == word) {
+                    break;
+                }
+                word = witness;
+            }
+        }
+    }
+
+    public boolean mightContain(String key) {
+        long hash1 = hash64(key);
+        long hash2 = (hash1 >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bitIndex = Math.floorMod(hash1 + i * hash2, bitSize);
+            if ((bits.get((int) (bitIndex >>> 6)) & (1L << bitIndex)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // FNV-1a 64bit + 비트 섞기 (문자열 키 전용, 추가 할당 없음)
+    private static long hash64(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= (hash >>> 33);
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= (hash >>> 33);
+        return hash;
+    }
+}
@@ -1,5 +1,6 @@
 package com.akmz.springBase.menu.controller;
 
+import com.akmz.springBase.admin.service.AdminDataVersion;
 import com.akmz.springBase.menu.model.dto.MenuResponse;
 import com.akmz.springBase.menu.service.MenuService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,6 +12,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import org.springframework.web.bind.annotation.RequestParam;
 
@@ -24,20 +26,21 @@ import java.util.List;
 public class MenuController {
 
     private final MenuService menuService;
+    private final AdminDataVersion adminDataVersion;
 
     @Operation(summary = "[GET] 현재 사용자 메뉴 조회", description = "로그인한 사용자의 역할에 따라 접근 가능한 메뉴 목록을 계층 구조로 조회합니다.")
     @GetMapping
-    public ResponseEntity<List<MenuResponse>> getMenusForCurrentUser(Principal principal) {
-        List<MenuResponse> menus = menuService.getMenusForCurrentUser(principal.getName());
-        return ResponseEntity.ok(menus);
+    public ResponseEntity<List<MenuResponse>> getMenusForCurrentUser(Principal principal, WebRequest webRequest) {
+        // 같은 브라우저에서 다른 사용자로 로그인해도 이전 사용자의 메뉴를 재사용하지 않도록 사용자별 ETag
+        return adminDataVersion.conditional(webRequest, principal.getName(),
+                () -> menuService.getMenusForCurrentUser(principal.getName()));
     }
 
     @Operation(summary = "[GET] roleId 에 따른 사용자 메뉴 조회", description = "관리자는 ROLEID에 해당하는 사용자의 메뉴 목록을 계층 구조로 조회합니다.")
     @GetMapping("/by-roles")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<MenuResponse>> getMenusForRoles(@RequestParam List<Long> roleIds){
-        List<MenuResponse> menus = menuService.getMenusForRoles(roleIds);
-        return ResponseEntity.ok(menus);
+    public ResponseEntity<List<MenuResponse>> getMenusForRoles(@RequestParam List<Long> roleIds, WebRequest webRequest){
+        return adminDataVersion.conditional(webRequest, null, () -> menuService.getMenusForRoles(roleIds));
     }
 }
 
@@ -1,16 +1,30 @@
 package com.akmz.springBase.menu.service;
 
+import com.akmz.springBase.admin.event.MenuResourceChangedEvent;
 import com.akmz.springBase.admin.mapper.ResourceMapper;
 import com.akmz.springBase.admin.mapper.UserRoleMapper;
 import com.akmz.springBase.admin.model.entity.Resource;
 import com.akmz.springBase.admin.model.entity.UserRole;
+import com.akmz.springBase.admin.service.AdminDataVersion;
+import com.akmz.springBase.auth.event.UserAccountChangedEvent;
 import com.akmz.springBase.menu.model.dto.MenuResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,30 +33,107 @@ public class MenuService {
 
     private final UserRoleMapper userRoleMapper;
     private final ResourceMapper resourceMapper;
+    private final MeterRegistry meterRegistry;
+
+    // 사용자별 역할 ID 캐시 유지 시간 (ms). 0 이면 매번 조회한다.
+    @Value("${menu.cache.user-roles-ttl:60000}")
+    private long userRolesTtl;
+
+    // 캐시할 최대 역할 조합 수 (관리자용 by-roles 조회는 임의 조합이 가능하므로 상한을 둔다)
+    @Value("${menu.cache.max-role-sets:1000}")
+    private long maxRoleSets;
+
+    @Value("${menu.cache.max-users:10000}")
+    private long maxUsers;
+
+    // 정렬된 역할 ID 목록 -> 완성된 메뉴 트리. 같은 역할 조합의 사용자는 하나의 트리를 공유한다.
+    private Cache<List<Long>, MenuTree> menuTreeCache;
+    private Cache<String, List<Long>> userRoleIdCache;
+
+    // 메뉴/매핑 변경 시 증가. 변경 전에 조회를 시작한 트리가 캐시에 남아도 사용하지 않도록 트리마다 기록한다.
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        menuTreeCache = Caffeine.newBuilder()
+                .maximumSize(maxRoleSets)
+                .recordStats()
+                .build();
+        userRoleIdCache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(Math.max(userRolesTtl, 1)))
+                .maximumSize(maxUsers)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, menuTreeCache, "menu.tree");
+    }
 
     public List<MenuResponse> getMenusForCurrentUser(String currentUserName) {
-        // 1. 기존 메소드를 사용해 사용자의 Role 목록 조회
-        List<UserRole> userRoles = userRoleMapper.findUserRolesByUserName(currentUserName);
+        // 1. 사용자의 Role ID 목록 (캐시)
+        List<Long> roleIds = userRolesTtl > 0
+                ? userRoleIdCache.get(currentUserName, this::loadRoleIds)
+                : loadRoleIds(currentUserName);
 
-        if (userRoles.isEmpty()) {
-            return new ArrayList<>();
+        if (roleIds.isEmpty()) {
+            return List.of();
         }
 
-        // 2. 조회된 Role 목록에서 ID만 추출
-        List<Long> roleIds = userRoles.stream()
-                .map(UserRole::getRoleId)
-                .collect(Collectors.toList());
+        // 2. 역할 조합별로 미리 만들어 둔 메뉴 트리 반환
+        return getMenuTree(roleIds);
+    }
 
-        // 3. 역할(Role)에 따른 메뉴 리소스 조회
-        List<Resource> accessibleMenus = resourceMapper.findMenuResourcesByRoleIds(roleIds);
+    public List<MenuResponse> getMenusForRoles (List<Long> roleIds) {
+        return getMenuTree(normalize(roleIds));
+    }
 
-        // 4. 계층 구조로 변환
-        return buildMenuTree(accessibleMenus);
+    /**
+     * 메뉴 리소스 또는 역할-리소스 매핑이 변경되면 (커밋 후) 모든 메뉴 트리를 버린다.
+     * ETag 버전보다 먼저 실행되어야 새 ETag 로 옛 메뉴 트리를 응답하지 않는다.
+     */
+    @Order(AdminDataVersion.CACHE_EVICT_ORDER)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMenuResourceChanged(MenuResourceChangedEvent event) {
+        generation.incrementAndGet();
+        menuTreeCache.invalidateAll();
     }
 
-    public List<MenuResponse> getMenusForRoles (List<Long> roleIds) {
-        List<Resource> accessibleMenus = resourceMapper.findMenuResourcesByRoleIds(roleIds);
-        return buildMenuTree(accessibleMenus);
+    /**
+     * 사용자 권한이 변경되면 (커밋 후) 해당 사용자의 역할 ID 캐시를 제거한다. (ETag 버전보다 먼저 실행)
+     */
+    @Order(AdminDataVersion.CACHE_EVICT_ORDER)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        if (event.isAllUsers()) {
+            userRoleIdCache.invalidateAll();
+            return;
+        }
+        userRoleIdCache.invalidate(event.getUserName());
+    }
+
+    private List<Long> loadRoleIds(String userName) {
+        List<Long> roleIds = userRoleMapper.findUserRolesByUserName(userName).stream()
+                .map(UserRole::getRoleId)
+                .toList();
+        return normalize(roleIds);
+    }
+
+    // 캐시 키로 쓰기 위해 중복 제거 후 정렬한 불변 목록으로 변환
+    private List<Long> normalize(List<Long> roleIds) {
+        return roleIds.stream().distinct().sorted().toList();
+    }
+
+    private List<MenuResponse> getMenuTree(List<Long> sortedRoleIds) {
+        long currentGeneration = generation.get();
+        MenuTree cached = menuTreeCache.getIfPresent(sortedRoleIds);
+        if (cached != null && cached.generation == currentGeneration) {
+            return cached.menus;
+        }
+
+        // 3. 역할(Role)에 따른 메뉴 리소스 조회
+        List<Resource> accessibleMenus = resourceMapper.findMenuResourcesByRoleIds(sortedRoleIds);
+
+        // 4. 계층 구조로 변환 후 공유할 수 있도록 불변으로 고정
+        List<MenuResponse> menus = freeze(buildMenuTree(accessibleMenus));
+        menuTreeCache.put(sortedRoleIds, new MenuTree(currentGeneration, menus));
+        return menus;
     }
 
     private List<MenuResponse> buildMenuTree(List<Resource> resources) {
@@ -77,5 +168,22 @@ public class MenuService {
             }
         }
     }
-}
 
+    // 모든 레벨의 children 을 불변 목록으로 교체 (캐시된 트리는 여러 요청이 공유)
+    private List<MenuResponse> freeze(List<MenuResponse> menus) {
+        for (MenuResponse menu : menus) {
+            menu.setChildren(freeze(menu.getChildren()));
+        }
+        return List.copyOf(menus);
+    }
+
+    private static final class MenuTree {
+        private final long generation;
+        private final List<MenuResponse> menus;
+
+        private MenuTree(long generation, List<MenuResponse> menus) {
+            this.generation = generation;
+            this.menus = menus;
+        }
+    }
+}
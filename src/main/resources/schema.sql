@@ -4,7 +4,6 @@ CREATE TABLE users (
     EMAIL VARCHAR(100),
     GOOGLE_ID VARCHAR(255), -- GOOGLE_ID 컬럼 추가
     NAVER_ID VARCHAR(255), -- NAVER_ID 컬럼 추가
-    REFRESH_TOKEN  VARCHAR(255),
     USE_YN CHAR(1) NOT NULL,
     -- 로그인 시도 제한 관련 컬럼 추가
     LOGIN_FAILURE_COUNT INT DEFAULT 0,
@@ -69,6 +68,29 @@ CREATE TABLE auth_tokens (
     CONSTRAINT fk_auth_tokens_users FOREIGN KEY (USER_NAME) REFERENCES users(USER_NAME)
 );
 
+-- 리프레시 토큰 테이블 (사용자별 다중 세션, 토큰 원문 대신 SHA-256 해시 저장)
+-- 기존 운영 DB 이관: ALTER TABLE USERS DROP COLUMN REFRESH_TOKEN; (USERS 에 남아 있던 토큰은 옮기지 않으므로 재로그인 필요)
+CREATE TABLE REFRESH_TOKENS (
+    ID BIGINT  PRIMARY KEY,
+    TOKEN_HASH VARCHAR(64) NOT NULL COMMENT '리프레시 토큰 SHA-256 해시 (hex)',
+    USER_NAME VARCHAR(50) NOT NULL COMMENT '사용자명',
+    EXPIRY_DATE TIMESTAMP NOT NULL COMMENT '만료 시각',
+    CREATED_DATE TIMESTAMP NOT NULL COMMENT '발급(회전) 시각',
+    CONSTRAINT uk_refresh_tokens_hash UNIQUE (TOKEN_HASH),
+    CONSTRAINT fk_refresh_tokens_users FOREIGN KEY (USER_NAME) REFERENCES users(USER_NAME) ON DELETE CASCADE
+);
+CREATE INDEX idx_refresh_tokens_user ON REFRESH_TOKENS (USER_NAME);
+CREATE INDEX idx_refresh_tokens_expiry ON REFRESH_TOKENS (EXPIRY_DATE);
+
+-- 폐기된 엑세스 토큰 (jti) 테이블, 토큰 만료 시각이 지나면 삭제 가능
+CREATE TABLE REVOKED_TOKENS (
+    JTI VARCHAR(64) PRIMARY KEY COMMENT '엑세스 토큰 jti',
+    USER_NAME VARCHAR(50) COMMENT '사용자명',
+    EXPIRY_DATE TIMESTAMP NOT NULL COMMENT '엑세스 토큰 만료 시각',
+    CREATED_DATE TIMESTAMP NOT NULL COMMENT '폐기 시각'
+);
+CREATE INDEX idx_revoked_tokens_expiry ON REVOKED_TOKENS (EXPIRY_DATE);
+
 -- 첨부파일 묶음 테이블
 CREATE TABLE ATTACH (
     ATTACH_ID BIGINT  PRIMARY KEY COMMENT '첨부 고유 ID',
@@ -89,9 +111,44 @@ CREATE TABLE ATTACH_FILE (
     UPLOADED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '업로드 시간',
     STATUS VARCHAR(50) DEFAULT 'AVAILABLE' COMMENT '파일 상태 (AVAILABLE, DELETED)',
     DELETED_AT TIMESTAMP NULL COMMENT '삭제된 시간',
+    CONTENT_HASH VARCHAR(64) NULL COMMENT '내용 SHA-256 (중복 제거 저장 시 ATTACH_BLOB 참조, 아니면 NULL)',
     FOREIGN KEY (ATTACH_ID) REFERENCES ATTACH(ATTACH_ID) ON DELETE CASCADE
 );
 
+-- 대용량 첨부파일 분할(chunk) 업로드 세션, 커밋 전까지 FTP 임시 경로에 이어 붙임
+CREATE TABLE ATTACH_UPLOAD_SESSION (
+    SESSION_ID VARCHAR(36) PRIMARY KEY COMMENT '업로드 세션 ID (UUID)',
+    ATTACH_ID BIGINT NULL COMMENT '파일을 추가할 첨부 ID (NULL 이면 커밋 시 새 첨부 생성)',
+    ATTACH_NAME VARCHAR(255) NULL COMMENT '새 첨부 생성 시 첨부명',
+    ORIGINAL_FILE_NAME VARCHAR(255) NOT NULL COMMENT '원본 파일명',
+    TEMP_PATH VARCHAR(512) NOT NULL COMMENT '업로드 중인 FTP 임시 파일 전체 경로',
+    TOTAL_SIZE BIGINT NOT NULL COMMENT '전체 파일 크기 (bytes)',
+    UPLOADED_SIZE BIGINT NOT NULL COMMENT '확인된 업로드 크기 (다음 chunk 시작 위치)',
+    UPLOADER_ID VARCHAR(100) NOT NULL COMMENT '업로드한 사용자 ID',
+    CREATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '생성 시간',
+    UPDATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '마지막 chunk 수신 시간'
+);
+CREATE INDEX idx_attach_upload_session_updated ON ATTACH_UPLOAD_SESSION (UPDATED_AT);
+
+-- 내용 기준(SHA-256) 중복 제거 저장소, 같은 내용의 첨부파일은 FTP 파일 하나를 참조 수로 공유
+CREATE TABLE ATTACH_BLOB (
+    CONTENT_HASH VARCHAR(64) PRIMARY KEY COMMENT '내용 SHA-256 (hex)',
+    FILE_PATH VARCHAR(512) NOT NULL COMMENT '파일 저장 디렉토리 경로',
+    SAVED_FILE_NAME VARCHAR(255) NOT NULL COMMENT '서버에 저장된 실제 파일명',
+    FILE_SIZE BIGINT NOT NULL COMMENT '파일 크기 (bytes)',
+    REF_COUNT INT NOT NULL COMMENT '참조하는 ATTACH_FILE 수 (0 이 되면 FTP 파일 삭제)',
+    CREATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '생성 시간'
+);
+
+-- 스케줄 작업 잠금 (여러 노드 중 한 곳에서만 실행), LOCK_UNTIL 이 지나면 다른 노드가 가져감
+CREATE TABLE SCHEDULER_LOCK (
+    LOCK_NAME VARCHAR(64) PRIMARY KEY COMMENT '작업 이름',
+    LOCKED_BY VARCHAR(255) NOT NULL COMMENT '잠금을 가진 노드 ID',
+    LOCKED_AT TIMESTAMP NOT NULL COMMENT '잠금을 얻은 시각',
+    LOCK_UNTIL TIMESTAMP NOT NULL COMMENT '잠금 만료 시각 (실행 중에는 heartbeat 로 연장)',
+    HEARTBEAT_AT TIMESTAMP NOT NULL COMMENT '마지막으로 잠금을 연장한 시각'
+);
+
 -- ===== ORACLE COMPATIBILITY SEQUENCES (FOR H2) =====
 CREATE SEQUENCE IF NOT EXISTS resources_seq START WITH 1000 INCREMENT BY 1;
 CREATE SEQUENCE IF NOT EXISTS roles_seq START WITH 1000 INCREMENT BY 1;
@@ -99,4 +156,5 @@ CREATE SEQUENCE IF NOT EXISTS role_resource_mappings_seq START WITH 1000 INCREME
 CREATE SEQUENCE IF NOT EXISTS user_roles_seq START WITH 1000 INCREMENT BY 1;
 CREATE SEQUENCE IF NOT EXISTS attach_seq START WITH 1000 INCREMENT BY 1;
 CREATE SEQUENCE IF NOT EXISTS auth_tokens_seq START WITH 1000 INCREMENT BY 1;
+CREATE SEQUENCE IF NOT EXISTS refresh_tokens_seq START WITH 1000 INCREMENT BY 1;
 CREATE SEQUENCE IF NOT EXISTS attach_file_seq START WITH 1000 INCREMENT BY 1;
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.akmz.springBase.admin;
+
+import com.akmz.springBase.admin.event.AdminDataChangedEvent;
+import com.akmz.springBase.admin.service.AdminDataVersion;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdminDataVersionTest {
+
+    private AdminDataVersion newNode() {
+        return new AdminDataVersion(new ObjectMapper());
+    }
+
+    private ServletWebRequest request(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/admin/roles");
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    @Test
+    @DisplayName("본문 해시 ETag - 변경을 보지 못한 다른 서버도 바뀐 내용에는 304 를 주지 않음")
+    void contentEtagIsConsistentAcrossNodes() {
+        // given: 서버 A 에서 받은 ETag
+        AdminDataVersion nodeA = newNode();
+        AdminDataVersion nodeB = newNode();
+        String etag = nodeA.conditional(request(null), null, () -> List.of("ROLE_ADMIN", "ROLE_USER"))
+                .getHeaders().getETag();
+
+        // when: 변경 이벤트를 받지 못한 서버 B 에 같은 내용 / 바뀐 내용으로 요청
+        nodeA.onAdminDataChanged(new AdminDataChangedEvent());
+        ResponseEntity<List<String>> same = nodeB.conditional(request(etag), null,
+                () -> List.of("ROLE_ADMIN", "ROLE_USER"));
+        ResponseEntity<List<String>> changed = nodeB.conditional(request(etag), null,
+                () -> List.of("ROLE_ADMIN", "ROLE_USER", "ROLE_NEW"));
+
+        // then
+        assertEquals(HttpStatus.NOT_MODIFIED, same.getStatusCode());
+        assertEquals(HttpStatus.OK, changed.getStatusCode());
+        assertNotEquals(etag, changed.getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("카운터 ETag 의 범위는 SHA-256 으로 구분 (String.hashCode 가 같은 사용자명도 다른 ETag)")
+    void scopeDoesNotCollideOnHashCode() {
+        // given: "Aa" 와 "BB" 는 String.hashCode 가 같음
+        AdminDataVersion node = newNode();
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+
+        // when & then
+        assertNotEquals(node.etag("Aa"), node.etag("BB"));
+        assertNotEquals(node.contentEtag("Aa", List.of()), node.contentEtag("BB", List.of()));
+    }
+}
@@ -1,8 +1,10 @@
 package com.akmz.springBase.admin;
 
+import com.akmz.springBase.admin.model.dto.MenuResourceRequest;
 import com.akmz.springBase.auth.mapper.AuthMapper;
 import com.akmz.springBase.auth.model.dto.LoginRequest;
 import com.akmz.springBase.common.test.DotenvContextInitializer;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -19,8 +21,16 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
@@ -99,4 +109,127 @@ public class AdminIntegrationTest {
         // then: 401 Unauthorized 응답 확인
         result.andExpect(status().isUnauthorized());
     }
+
+    @Test
+    @DisplayName("메뉴 리소스 생성/수정/삭제 후 로그인 응답의 메뉴 목록에 즉시 반영")
+    void menu_snapshot_refreshed_after_change_test() throws Exception {
+        // given: 메뉴 스냅샷이 만들어진 상태
+        String adminAccessToken = getAccessToken("admin", "admin");
+        MenuResourceRequest request = new MenuResourceRequest();
+        request.setResourcePattern("sidebar:snapshot_test");
+        request.setMenuName("스냅샷테스트");
+        request.setMenuUrl("/snapshot-test");
+        request.setDisplayOrder(99);
+        request.setIsGroup(false);
+        request.setUseYn("Y");
+
+        // when: 생성
+        MvcResult created = mockMvc.perform(post("/api/admin/resources/menu")
+                        .header("Authorization", "Bearer " + adminAccessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        long resourceId = objectMapper.readTree(created.getResponse().getContentAsString()).get("resourceId").asLong();
+
+        // then
+        assertTrue(loginMenuNames().contains("스냅샷테스트"));
+
+        // when: 수정
+        request.setMenuName("스냅샷테스트-수정");
+        mockMvc.perform(post("/api/admin/resources/menu/" + resourceId + "/update")
+                        .header("Authorization", "Bearer " + adminAccessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        // then
+        assertTrue(loginMenuNames().contains("스냅샷테스트-수정"));
+
+        // when: 삭제
+        mockMvc.perform(post("/api/admin/resources/menu/" + resourceId + "/delete")
+                        .header("Authorization", "Bearer " + adminAccessToken))
+                .andExpect(status().isNoContent());
+
+        // then
+        assertFalse(loginMenuNames().contains("스냅샷테스트-수정"));
+    }
+
+    @Test
+    @DisplayName("역할 목록 조건부 조회 - 변경 없으면 304, 역할 생성 후에는 새 ETag 로 200")
+    void roles_etag_test() throws Exception {
+        // given
+        String adminAccessToken = getAccessToken("admin", "admin");
+        String etag = mockMvc.perform(get("/api/admin/roles")
+                        .header("Authorization", "Bearer " + adminAccessToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // when & then: 변경 없음
+        mockMvc.perform(get("/api/admin/roles")
+                        .header("Authorization", "Bearer " + adminAccessToken)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        // when: 역할 생성
+        mockMvc.perform(post("/api/admin/roles")
+                        .header("Authorization", "Bearer " + adminAccessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"roleName\":\"ROLE_ETAG_TEST\",\"description\":\"ETag 테스트\"}"))
+                .andExpect(status().isCreated());
+
+        // then: 이전 ETag 로는 304 가 아님
+        String newEtag = mockMvc.perform(get("/api/admin/roles")
+                        .header("Authorization", "Bearer " + adminAccessToken)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.roleName == 'ROLE_ETAG_TEST')]").exists())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, newEtag);
+    }
+
+    @Test
+    @DisplayName("사용자 메뉴 조건부 조회 - 같은 ETag 라도 다른 사용자에게는 304 를 주지 않음")
+    void menu_etag_per_user_test() throws Exception {
+        // given
+        String userAccessToken = getAccessToken("user", "user");
+        String adminAccessToken = getAccessToken("admin", "admin");
+        String etag = mockMvc.perform(get("/api/menu")
+                        .header("Authorization", "Bearer " + userAccessToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // when & then: 같은 사용자
+        mockMvc.perform(get("/api/menu")
+                        .header("Authorization", "Bearer " + userAccessToken)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        // when & then: 다른 사용자
+        mockMvc.perform(get("/api/menu")
+                        .header("Authorization", "Bearer " + adminAccessToken)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
+    private List<String> loginMenuNames() throws Exception {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUserName("user");
+        loginRequest.setPassword("user");
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        List<String> menuNames = new ArrayList<>();
+        for (JsonNode menuItem : objectMapper.readTree(loginResult.getResponse().getContentAsString()).get("menuItems")) {
+            menuNames.add(menuItem.get("menuName").asText());
+        }
+        return menuNames;
+    }
 }
@@ -0,0 +1,157 @@
+package com.akmz.springBase.attach;
+
+import com.akmz.springBase.attach.model.entity.AttachFile;
+import com.akmz.springBase.attach.service.FtpService;
+import com.akmz.springBase.auth.model.dto.LoginRequest;
+import com.akmz.springBase.common.test.DotenvContextInitializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ContextConfiguration(initializers = DotenvContextInitializer.class)
+class AttachDownloadIntegrationTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private FtpService ftpService;
+
+    private String accessToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        AttachFile attachFile = new AttachFile();
+        attachFile.setFileId(7L);
+        attachFile.setOriginalFileName("sample.txt");
+        attachFile.setFileSize((long) CONTENT.length);
+        when(ftpService.findDownloadableFile(7L)).thenReturn(attachFile);
+
+        // FTP 대신 고정된 내용을 전송
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write(CONTENT);
+            return null;
+        }).when(ftpService).streamFile(eq(attachFile), any(OutputStream.class));
+        doAnswer(invocation -> {
+            long offset = invocation.getArgument(2);
+            long length = invocation.getArgument(3);
+            invocation.<OutputStream>getArgument(1).write(CONTENT, (int) offset, (int) length);
+            return null;
+        }).when(ftpService).streamFile(eq(attachFile), any(OutputStream.class), anyLong(), anyLong());
+
+        accessToken = getAccessToken("user", "user");
+    }
+
+    private String getAccessToken(String username, String password) throws Exception {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUserName(username);
+        loginRequest.setPassword(password);
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return objectMapper.readTree(loginResult.getResponse().getContentAsString()).get("accessToken").asText();
+    }
+
+    @Test
+    @DisplayName("Range 없이 요청 - 200, 전체 내용과 ETag/Accept-Ranges")
+    void full_download_test() throws Exception {
+        mockMvc.perform(get("/api/attach/download/7")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7-10\""))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10))
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    @DisplayName("Range 요청 - 206, 요청 구간만 FTP 에서 전송")
+    void range_download_test() throws Exception {
+        mockMvc.perform(get("/api/attach/download/7")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 4))
+                .andExpect(content().string("2345"));
+
+        verify(ftpService).streamFile(any(AttachFile.class), any(OutputStream.class), eq(2L), eq(4L));
+        verify(ftpService, never()).streamFile(any(AttachFile.class), any(OutputStream.class));
+    }
+
+    @Test
+    @DisplayName("이어받기 - 마지막 구간(bytes=7-)과 끝에서부터(bytes=-3)")
+    void open_ended_range_test() throws Exception {
+        mockMvc.perform(get("/api/attach/download/7")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .header(HttpHeaders.RANGE, "bytes=7-")
+                        .header(HttpHeaders.IF_RANGE, "\"7-10\""))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 7-9/10"))
+                .andExpect(content().string("789"));
+
+        mockMvc.perform(get("/api/attach/download/7")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .header(HttpHeaders.RANGE, "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("789"));
+    }
+
+    @Test
+    @DisplayName("If-Range 불일치 - 파일이 바뀌었을 수 있으므로 200 전체 전송")
+    void if_range_mismatch_test() throws Exception {
+        mockMvc.perform(get("/api/attach/download/7")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .header(HttpHeaders.RANGE, "bytes=2-5")
+                        .header(HttpHeaders.IF_RANGE, "\"7-999\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    @DisplayName("파일 크기를 벗어난 구간 - 416")
+    void unsatisfiable_range_test() throws Exception {
+        mockMvc.perform(get("/api/attach/download/7")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .header(HttpHeaders.RANGE, "bytes=20-30"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+    }
+}
@@ -0,0 +1,113 @@
+package com.akmz.springBase.attach;
+
+import com.akmz.springBase.attach.service.AttachFileCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AttachFileCacheTest {
+
+    @TempDir
+    Path cacheDir;
+
+    private AttachFileCache attachFileCache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        attachFileCache = new AttachFileCache(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(attachFileCache, "enabled", true);
+        ReflectionTestUtils.setField(attachFileCache, "cacheDirectory", cacheDir.toString());
+        ReflectionTestUtils.setField(attachFileCache, "maxBytes", 10L);
+        ReflectionTestUtils.setField(attachFileCache, "maxFileSize", 8L);
+        attachFileCache.init();
+    }
+
+    @Test
+    @DisplayName("응답으로 보내면서 캐시에 기록하고, 다음 요청은 캐시 파일(전체/구간)에서 전송")
+    void fillThenTransfer() throws IOException {
+        // Given
+        ByteArrayOutputStream firstResponse = new ByteArrayOutputStream();
+        try (AttachFileCache.Fill fill = attachFileCache.startFill("/uploads/a.pdf", firstResponse)) {
+            fill.write("abcdef".getBytes(StandardCharsets.UTF_8));
+            fill.commit(6);
+        }
+
+        // When
+        ByteArrayOutputStream full = new ByteArrayOutputStream();
+        ByteArrayOutputStream range = new ByteArrayOutputStream();
+        boolean fullHit = attachFileCache.transferTo("/uploads/a.pdf", full);
+        boolean rangeHit = attachFileCache.transferTo("/uploads/a.pdf", range, 2, 3);
+
+        // Then
+        assertEquals("abcdef", firstResponse.toString(StandardCharsets.UTF_8));
+        assertTrue(fullHit);
+        assertEquals("abcdef", full.toString(StandardCharsets.UTF_8));
+        assertTrue(rangeHit);
+        assertEquals("cde", range.toString(StandardCharsets.UTF_8));
+        assertFalse(attachFileCache.transferTo("/uploads/other.pdf", new ByteArrayOutputStream()));
+    }
+
+    @Test
+    @DisplayName("크기가 맞지 않게 받은 파일은 등록하지 않고 임시 파일도 남기지 않음")
+    void incompleteFillDiscarded() throws IOException {
+        // When
+        try (AttachFileCache.Fill fill = attachFileCache.startFill("/uploads/a.pdf", new ByteArrayOutputStream())) {
+            fill.write("abc".getBytes(StandardCharsets.UTF_8));
+            fill.commit(6);
+        }
+
+        // Then
+        assertFalse(attachFileCache.transferTo("/uploads/a.pdf", new ByteArrayOutputStream()));
+        assertEquals(0, fileCount());
+    }
+
+    @Test
+    @DisplayName("삭제 시 캐시 항목과 로컬 파일 제거, 전체 크기를 넘으면 오래된 파일부터 제거")
+    void evictAndSizeBound() throws IOException {
+        // Given
+        fill("/uploads/a.pdf", "aaaaa");
+        fill("/uploads/b.pdf", "bbbbb");
+        assertEquals(2, fileCount());
+
+        // When: 삭제
+        attachFileCache.evict("/uploads/a.pdf");
+
+        // Then
+        assertFalse(attachFileCache.transferTo("/uploads/a.pdf", new ByteArrayOutputStream()));
+        assertEquals(1, fileCount());
+
+        // When: 최대 크기(10 byte) 초과
+        fill("/uploads/c.pdf", "ccccc");
+        fill("/uploads/d.pdf", "ddddd");
+
+        // Then
+        assertTrue(fileCount() <= 2);
+        assertFalse(attachFileCache.isCacheable(9L));
+        assertTrue(attachFileCache.isCacheable(8L));
+    }
+
+    private void fill(String remoteFullPath, String content) throws IOException {
+        try (AttachFileCache.Fill fill = attachFileCache.startFill(remoteFullPath, new ByteArrayOutputStream())) {
+            fill.write(content.getBytes(StandardCharsets.UTF_8));
+            fill.commit(content.length());
+        }
+    }
+
+    private long fileCount() throws IOException {
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            return files.count();
+        }
+    }
+}
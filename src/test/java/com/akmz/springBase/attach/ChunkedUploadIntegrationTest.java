@@ -0,0 +1,191 @@
+package com.akmz.springBase.attach;
+
+import com.akmz.springBase.attach.mapper.AttachMapper;
+import com.akmz.springBase.attach.model.dto.UploadSessionRequest;
+import com.akmz.springBase.attach.model.entity.AttachFile;
+import com.akmz.springBase.attach.service.FtpService;
+import com.akmz.springBase.auth.model.dto.LoginRequest;
+import com.akmz.springBase.common.test.DotenvContextInitializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ContextConfiguration(initializers = DotenvContextInitializer.class)
+class ChunkedUploadIntegrationTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AttachMapper attachMapper;
+
+    @MockBean
+    private FtpService ftpService;
+
+    private final ByteArrayOutputStream remoteFile = new ByteArrayOutputStream();
+
+    private String accessToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // FTP 임시 파일 대신 메모리에 이어 씀
+        doAnswer(invocation -> {
+            long offset = invocation.getArgument(2);
+            assertThat(offset).isEqualTo(remoteFile.size());
+            byte[] chunk = invocation.<InputStream>getArgument(1).readAllBytes();
+            remoteFile.write(chunk);
+            return (long) chunk.length;
+        }).when(ftpService).writeRangeToFtp(anyString(), any(InputStream.class), anyLong(), anyLong());
+        when(ftpService.getFtpFileSize(anyString())).thenAnswer(invocation -> (long) remoteFile.size());
+        when(ftpService.moveFileOnFtp(anyString(), anyString())).thenReturn(true);
+        when(ftpService.deleteFileFromFtp(anyString())).thenReturn(true);
+
+        accessToken = getAccessToken("user", "user");
+    }
+
+    private String getAccessToken(String username, String password) throws Exception {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUserName(username);
+        loginRequest.setPassword(password);
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return objectMapper.readTree(loginResult.getResponse().getContentAsString()).get("accessToken").asText();
+    }
+
+    private String startSession(String fileName, long totalSize) throws Exception {
+        UploadSessionRequest request = new UploadSessionRequest();
+        request.setFileName(fileName);
+        request.setTotalSize(totalSize);
+
+        MvcResult result = mockMvc.perform(post("/api/attach/uploads")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.uploadedSize").value(0))
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("sessionId").asText();
+    }
+
+    @Test
+    @DisplayName("분할 업로드 - chunk 이어 쓰기, 잘못된 offset 은 409, 커밋 시 첨부파일 등록")
+    void chunked_upload_test() throws Exception {
+        String sessionId = startSession("large.bin", CONTENT.length);
+
+        mockMvc.perform(put("/api/attach/uploads/" + sessionId).param("offset", "0")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(new byte[]{CONTENT[0], CONTENT[1], CONTENT[2], CONTENT[3]}))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.uploadedSize").value(4));
+
+        // 끊긴 뒤 잘못된 위치로 보내면 현재 위치를 알려줌
+        mockMvc.perform(put("/api/attach/uploads/" + sessionId).param("offset", "2")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(new byte[]{CONTENT[2]}))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.uploadedSize").value(4));
+
+        // 다 받기 전에는 커밋 불가
+        mockMvc.perform(post("/api/attach/uploads/" + sessionId + "/commit")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(get("/api/attach/uploads/" + sessionId)
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.uploadedSize").value(4))
+                .andExpect(jsonPath("$.totalSize").value(CONTENT.length));
+
+        byte[] rest = new byte[CONTENT.length - 4];
+        System.arraycopy(CONTENT, 4, rest, 0, rest.length);
+        mockMvc.perform(put("/api/attach/uploads/" + sessionId).param("offset", "4")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(rest))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.uploadedSize").value(CONTENT.length));
+        assertThat(remoteFile.toByteArray()).isEqualTo(CONTENT);
+
+        MvcResult commitResult = mockMvc.perform(post("/api/attach/uploads/" + sessionId + "/commit")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isCreated())
+                .andReturn();
+        JsonNode committed = objectMapper.readTree(commitResult.getResponse().getContentAsString());
+
+        List<AttachFile> files = attachMapper.findFilesByAttachId(committed.get("attachId").asLong());
+        assertThat(files).hasSize(1);
+        assertThat(files.get(0).getOriginalFileName()).isEqualTo("large.bin");
+        assertThat(files.get(0).getFileSize()).isEqualTo(CONTENT.length);
+        verify(ftpService).moveFileOnFtp(eq("/chunked-uploads/" + sessionId), startsWith("/uploads/"));
+
+        // 커밋된 세션은 더 이상 없음
+        mockMvc.perform(get("/api/attach/uploads/" + sessionId)
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("분할 업로드 취소 - 임시 파일 삭제, 다른 사용자의 세션은 찾을 수 없음")
+    void abort_test() throws Exception {
+        String sessionId = startSession("cancel.bin", 100);
+
+        String otherToken = getAccessToken("admin", "admin");
+        mockMvc.perform(get("/api/attach/uploads/" + sessionId)
+                        .header("Authorization", "Bearer " + otherToken))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(delete("/api/attach/uploads/" + sessionId)
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isNoContent());
+        verify(ftpService).deleteFileFromFtp("/chunked-uploads/" + sessionId);
+
+        mockMvc.perform(get("/api/attach/uploads/" + sessionId)
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,152 @@
+package com.akmz.springBase.attach;
+
+import com.akmz.springBase.attach.service.FtpClientFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.commons.net.ftp.FTPClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FtpClientFactoryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private FtpClientFactory ftpClientFactory;
+    private final List<FTPClient> created = new ArrayList<>();
+    private final List<FTPClient> closed = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // 실제 FTP 서버 대신 NOOP 에 성공하는 Mock 연결을 생성
+        ftpClientFactory = new FtpClientFactory(meterRegistry) {
+            @Override
+            public FTPClient createClient() {
+                FTPClient ftpClient = mock(FTPClient.class);
+                try {
+                    when(ftpClient.isConnected()).thenReturn(true);
+                    when(ftpClient.sendNoOp()).thenReturn(true);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+                created.add(ftpClient);
+                return ftpClient;
+            }
+        };
+        ReflectionTestUtils.setField(ftpClientFactory, "poolEnabled", true);
+        ReflectionTestUtils.setField(ftpClientFactory, "maxTotal", 1);
+        ReflectionTestUtils.setField(ftpClientFactory, "maxIdle", 1);
+        ReflectionTestUtils.setField(ftpClientFactory, "maxWait", 50L);
+        ReflectionTestUtils.setField(ftpClientFactory, "minEvictableIdle", 60000L);
+        ReflectionTestUtils.setField(ftpClientFactory, "evictionInterval", 60000L);
+        ftpClientFactory.initPool(ftpClient -> true, closed::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ftpClientFactory.close();
+    }
+
+    @Test
+    @DisplayName("반납한 연결은 NOOP 확인 후 재사용 (접속/로그인 1회)")
+    void returnedClientIsReused() throws IOException {
+        // when
+        FTPClient first = ftpClientFactory.borrowClient();
+        ftpClientFactory.returnClient(first, true);
+        FTPClient second = ftpClientFactory.borrowClient();
+
+        // then
+        assertSame(first, second);
+        assertEquals(1, created.size());
+        verify(second, atLeastOnce()).sendNoOp();
+        assertEquals(2, meterRegistry.get("ftp.pool.borrow").timer().count());
+        assertEquals(1.0, meterRegistry.get("ftp.pool.active").gauge().value());
+    }
+
+    @Test
+    @DisplayName("NOOP 에 실패한 연결은 버리고 새로 접속")
+    void brokenClientIsReplaced() throws IOException {
+        // given: 서버가 유휴 연결을 끊은 상황
+        FTPClient first = ftpClientFactory.borrowClient();
+        ftpClientFactory.returnClient(first, true);
+        when(first.sendNoOp()).thenReturn(false);
+
+        // when
+        FTPClient second = ftpClientFactory.borrowClient();
+
+        // then
+        assertNotSame(first, second);
+        assertTrue(closed.contains(first));
+    }
+
+    @Test
+    @DisplayName("재사용할 수 없다고 반납한 연결은 풀에서 제거")
+    void invalidatedClientIsClosed() throws IOException {
+        // when
+        FTPClient first = ftpClientFactory.borrowClient();
+        ftpClientFactory.returnClient(first, false);
+
+        // then
+        assertTrue(closed.contains(first));
+        assertNotSame(first, ftpClientFactory.borrowClient());
+        assertEquals(1.0, meterRegistry.get("ftp.pool.invalidated").counter().count());
+    }
+
+    @Test
+    @DisplayName("모든 연결이 사용 중이면 max-wait 후 IOException")
+    void borrowTimesOutWhenExhausted() throws IOException {
+        // given: max-total 1 을 모두 사용 중
+        ftpClientFactory.borrowClient();
+
+        // when & then
+        assertThrows(IOException.class, () -> ftpClientFactory.borrowClient());
+        assertEquals(1.0, meterRegistry.get("ftp.pool.borrow.timeout").counter().count());
+    }
+
+    @Test
+    @DisplayName("스트리밍 전송은 max-streaming 까지만 연결을 잡고, 남은 연결은 짧은 작업이 사용")
+    void streamingBorrowLeavesConnectionsForShortOperations() throws IOException {
+        // given: max-total 3, max-streaming 2
+        ftpClientFactory.close();
+        ReflectionTestUtils.setField(ftpClientFactory, "pool", null);
+        ReflectionTestUtils.setField(ftpClientFactory, "maxTotal", 3);
+        ReflectionTestUtils.setField(ftpClientFactory, "maxIdle", 3);
+        ReflectionTestUtils.setField(ftpClientFactory, "maxStreaming", 2);
+        ftpClientFactory.initPool(ftpClient -> true, closed::add);
+        FTPClient firstStream = ftpClientFactory.borrowStreamingClient();
+        ftpClientFactory.borrowStreamingClient();
+
+        // when & then: 세 번째 스트리밍은 실패하지만 짧은 작업은 연결을 받음
+        assertThrows(IOException.class, () -> ftpClientFactory.borrowStreamingClient());
+        FTPClient shortOperation = ftpClientFactory.borrowClient();
+        assertNotNull(shortOperation);
+        assertEquals(2.0, meterRegistry.get("ftp.pool.streaming.active").gauge().value());
+
+        // when & then: 스트리밍 연결을 반납하면 다시 스트리밍 가능
+        ftpClientFactory.returnClient(firstStream, true);
+        ftpClientFactory.returnClient(shortOperation, true);
+        assertNotNull(ftpClientFactory.borrowStreamingClient());
+    }
+
+    @Test
+    @DisplayName("tryBorrowClient - 모든 연결이 사용 중이면 기다리지 않고 null")
+    void tryBorrowReturnsNullWhenExhausted() throws IOException {
+        // given: max-total 1 을 모두 사용 중
+        FTPClient first = ftpClientFactory.borrowClient();
+
+        // when & then
+        long start = System.nanoTime();
+        assertNull(ftpClientFactory.tryBorrowClient());
+        assertTrue(System.nanoTime() - start < 40_000_000L); // max-wait(50ms) 를 기다리지 않음
+        ftpClientFactory.returnClient(first, true);
+        assertSame(first, ftpClientFactory.tryBorrowClient());
+    }
+}
@@ -1,27 +1,48 @@
 package com.akmz.springBase.attach;
 
+import com.akmz.springBase.attach.event.AttachBlobReleasedEvent;
+import com.akmz.springBase.attach.mapper.AttachMapper;
+import com.akmz.springBase.attach.model.entity.Attach;
+import com.akmz.springBase.attach.model.entity.AttachBlob;
+import com.akmz.springBase.attach.model.entity.AttachFile;
+import com.akmz.springBase.attach.service.AttachFileCache;
 import com.akmz.springBase.attach.service.FtpClientFactory;
 import com.akmz.springBase.attach.service.FtpService;
+import com.akmz.springBase.attach.service.ZipCompressionPolicy;
 import org.apache.commons.net.ftp.FTPClient;
+import org.apache.commons.net.ftp.FTPCmd;
+import org.apache.commons.net.ftp.FTPFile;
 import org.apache.commons.net.ftp.FTPReply;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -40,6 +61,15 @@ class FtpServiceTest {
     @Mock
     private FtpClientFactory mockFtpClientFactory;
 
+    @Mock
+    private AttachMapper mockAttachMapper;
+
+    @Mock
+    private AttachFileCache mockAttachFileCache;
+
+    @Mock
+    private ApplicationEventPublisher mockEventPublisher;
+
     @BeforeEach
     void setUp() throws IOException {
         // @Value 필드 주입 (ReflectionTestUtils 사용)
@@ -47,6 +77,13 @@ class FtpServiceTest {
         ReflectionTestUtils.setField(ftpService, "port", 21);
         ReflectionTestUtils.setField(ftpService, "username", "ftpUser");
         ReflectionTestUtils.setField(ftpService, "password", "ftpUser1!");
+
+        ZipCompressionPolicy zipCompressionPolicy = new ZipCompressionPolicy();
+        ReflectionTestUtils.setField(zipCompressionPolicy, "storeExtensions", List.of("jpg", "mp4"));
+        ReflectionTestUtils.setField(zipCompressionPolicy, "storeContentTypes", List.of("video/"));
+        ReflectionTestUtils.setField(zipCompressionPolicy, "compressionLevel", 1);
+        zipCompressionPolicy.init();
+        ReflectionTestUtils.setField(ftpService, "zipCompressionPolicy", zipCompressionPolicy);
         
         // FtpClientFactory가 Mock FTPClient를 반환하도록 설정
         when(mockFtpClientFactory.createClient()).thenReturn(mockFtpClient);
@@ -84,6 +121,62 @@ class FtpServiceTest {
         verify(mockFtpClient, times(1)).disconnect();
     }
 
+    @Test
+    @DisplayName("파일 업로드 - 이미 확인한 디렉토리는 디렉토리 명령 없이 업로드")
+    void uploadFile_knownDirectorySkipsProbe() throws IOException {
+        // Given
+        ReflectionTestUtils.setField(ftpService, "directoryCacheTtl", 60000L);
+        ReflectionTestUtils.setField(ftpService, "directoryCacheMaxSize", 100L);
+        ftpService.init();
+        when(mockFtpClient.storeFile(anyString(), any(InputStream.class))).thenReturn(true);
+        MockMultipartFile mockFile = new MockMultipartFile("file", "a.txt", "text/plain", "a".getBytes());
+        assertTrue(ftpService.uploadFileToFtp(mockFile, "/uploads/2025/07/22/a.txt"));
+        clearInvocations(mockFtpClient);
+
+        // When
+        boolean result = ftpService.uploadFileToFtp(mockFile, "/uploads/2025/07/22/b.txt");
+
+        // Then
+        assertTrue(result);
+        verify(mockFtpClient, never()).changeWorkingDirectory(anyString());
+        verify(mockFtpClient, never()).printWorkingDirectory();
+        verify(mockFtpClient).storeFile(eq("/uploads/2025/07/22/b.txt"), any(InputStream.class));
+    }
+
+    @Test
+    @DisplayName("파일 업로드 - 캐시된 디렉토리가 없어졌으면 캐시를 지우고 다시 만든 뒤 재시도")
+    void uploadFile_staleDirectoryRetried() throws IOException {
+        // Given
+        ReflectionTestUtils.setField(ftpService, "directoryCacheTtl", 60000L);
+        ReflectionTestUtils.setField(ftpService, "directoryCacheMaxSize", 100L);
+        ftpService.init();
+        when(mockFtpClient.storeFile(anyString(), any(InputStream.class))).thenReturn(true);
+        MockMultipartFile mockFile = new MockMultipartFile("file", "a.txt", "text/plain", "a".getBytes());
+        assertTrue(ftpService.uploadFileToFtp(mockFile, "/uploads/2025/07/22/a.txt"));
+
+        // 다음 STOR 한 번은 550 (디렉토리 없음) 으로 실패
+        AtomicBoolean rejected = new AtomicBoolean();
+        AtomicInteger storeCalls = new AtomicInteger();
+        when(mockFtpClient.storeFile(anyString(), any(InputStream.class))).thenAnswer(invocation -> {
+            if (storeCalls.incrementAndGet() == 1) {
+                rejected.set(true);
+                return false;
+            }
+            return true;
+        });
+        when(mockFtpClient.getReplyCode()).thenAnswer(invocation ->
+                rejected.getAndSet(false) ? FTPReply.FILE_UNAVAILABLE : FTPReply.COMMAND_OK);
+        clearInvocations(mockFtpClient);
+
+        // When
+        boolean result = ftpService.uploadFileToFtp(mockFile, "/uploads/2025/07/22/b.txt");
+
+        // Then
+        assertTrue(result);
+        assertEquals(2, storeCalls.get());
+        verify(mockFtpClient, atLeastOnce()).changeWorkingDirectory("/uploads/2025/07/22");
+    }
+
     @Test
     @DisplayName("파일 업로드 실패 테스트 - storeFile 실패")
     void uploadFile_fail_storeFile() throws IOException {
@@ -143,6 +236,451 @@ class FtpServiceTest {
         verify(mockFtpClient, times(1)).retrieveFile(eq(remotePath), any(OutputStream.class));
     }
 
+    @Test
+    @DisplayName("파일 스트리밍 다운로드 - 설정한 버퍼 크기로 출력 스트림에 직접 전송")
+    void streamFile_usesBoundedBuffer() throws IOException {
+        // Given
+        ReflectionTestUtils.setField(ftpService, "bufferSize", 32768);
+        AttachFile attachFile = new AttachFile();
+        attachFile.setFileId(1L);
+        attachFile.setFilePath("/uploads/2025/07/22");
+        attachFile.setSavedFileName("uuid_test.txt");
+        attachFile.setOriginalFileName("test.txt");
+        OutputStream responseStream = new ByteArrayOutputStream();
+        when(mockFtpClient.retrieveFile(eq("/uploads/2025/07/22/uuid_test.txt"), same(responseStream))).thenReturn(true);
+
+        // When
+        ftpService.streamFile(attachFile, responseStream);
+
+        // Then
+        verify(mockFtpClient).setBufferSize(32768);
+        verify(mockFtpClient).retrieveFile(eq("/uploads/2025/07/22/uuid_test.txt"), same(responseStream));
+    }
+
+    @Test
+    @DisplayName("파일 스트리밍 다운로드 - 로컬 캐시에 있으면 FTP 에 접속하지 않음")
+    void streamFile_localCacheHit() throws IOException {
+        // Given
+        AttachFile attachFile = new AttachFile();
+        attachFile.setFilePath("/uploads");
+        attachFile.setSavedFileName("uuid_notice.pdf");
+        attachFile.setOriginalFileName("notice.pdf");
+        OutputStream responseStream = new ByteArrayOutputStream();
+        when(mockAttachFileCache.transferTo("/uploads/uuid_notice.pdf", responseStream)).thenReturn(true);
+
+        // When
+        ftpService.streamFile(attachFile, responseStream);
+
+        // Then
+        verify(mockFtpClientFactory, never()).createClient();
+        verify(mockFtpClient, never()).retrieveFile(anyString(), any(OutputStream.class));
+    }
+
+    @Test
+    @DisplayName("파일 스트리밍 다운로드 실패 - IOException")
+    void streamFile_fail() throws IOException {
+        // Given
+        AttachFile attachFile = new AttachFile();
+        attachFile.setFilePath("/uploads");
+        attachFile.setSavedFileName("missing.txt");
+        attachFile.setOriginalFileName("missing.txt");
+        when(mockFtpClient.retrieveFile(anyString(), any(OutputStream.class))).thenReturn(false);
+
+        // When & Then
+        assertThrows(IOException.class, () -> ftpService.streamFile(attachFile, new ByteArrayOutputStream()));
+    }
+
+    @Test
+    @DisplayName("파일 부분 다운로드 - REST 오프셋 지정 후 요청 길이만 전송")
+    void downloadFileRange_success() throws IOException {
+        // Given: 서버가 오프셋 2 부터 전송
+        String remotePath = "/uploads/range.txt";
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        when(mockFtpClient.retrieveFileStream(remotePath)).thenReturn(new ByteArrayInputStream("23456789".getBytes()));
+
+        // When
+        boolean result = ftpService.downloadFileRangeFromFtp(remotePath, outputStream, 2, 3);
+
+        // Then
+        assertTrue(result);
+        assertEquals("234", outputStream.toString());
+        verify(mockFtpClient).setRestartOffset(2);
+        verify(mockFtpClient).disconnect();
+    }
+
+    @Test
+    @DisplayName("파일 부분 다운로드 실패 - 파일이 요청 구간보다 짧음")
+    void downloadFileRange_fail_shortFile() throws IOException {
+        // Given
+        String remotePath = "/uploads/range.txt";
+        when(mockFtpClient.retrieveFileStream(remotePath)).thenReturn(new ByteArrayInputStream("89".getBytes()));
+
+        // When
+        boolean result = ftpService.downloadFileRangeFromFtp(remotePath, new ByteArrayOutputStream(), 8, 5);
+
+        // Then
+        assertFalse(result);
+    }
+
+    @Test
+    @DisplayName("동시 업로드/선반입 수는 연결 풀 크기를 넘지 않도록 제한")
+    void init_clampsConcurrencyToPoolSize() {
+        // Given: max-total 3 인 풀
+        when(mockFtpClientFactory.isPoolEnabled()).thenReturn(true);
+        when(mockFtpClientFactory.getMaxTotal()).thenReturn(3);
+        ReflectionTestUtils.setField(ftpService, "uploadConcurrency", 8);
+        ReflectionTestUtils.setField(ftpService, "prefetchConcurrency", 8);
+        ReflectionTestUtils.setField(ftpService, "prefetchMemory", 64);
+
+        // When
+        try {
+            ftpService.init();
+        } finally {
+            ftpService.shutdown();
+        }
+
+        // Then: 묶음 다운로드가 쓰는 연결 하나를 빼고 선반입
+        assertEquals(3, ReflectionTestUtils.getField(ftpService, "uploadConcurrency"));
+        assertEquals(2, ReflectionTestUtils.getField(ftpService, "prefetchConcurrency"));
+    }
+
+    @Test
+    @DisplayName("묶음 다운로드 - 다음 파일을 미리 받아도 ZIP 항목은 원래 순서, 예산 초과 파일은 바로 스트리밍, 압축된 형식은 저장")
+    void downloadAttachBundle_prefetchKeepsOrder() throws IOException {
+        // Given: 앞 파일일수록 늦게 받아지도록 지연, 세 번째 파일은 메모리 예산보다 큼
+        ReflectionTestUtils.setField(ftpService, "prefetchConcurrency", 2);
+        ReflectionTestUtils.setField(ftpService, "prefetchMemory", 64);
+        ReflectionTestUtils.setField(ftpService, "prefetchTimeout", 5000L);
+        ftpService.init();
+
+        List<AttachFile> files = List.of(
+                bundleFile("a.txt", "aaaa", 30),
+                bundleFile("b.jpg", "bbbb", 20),
+                bundleFile("big.mp4", "cccc", 1000),
+                bundleFile("a.txt", "dddd", 4));
+        when(mockAttachMapper.findFilesByAttachId(7L)).thenReturn(files);
+        when(mockFtpClient.retrieveFile(anyString(), any(OutputStream.class))).thenAnswer(invocation -> {
+            String path = invocation.getArgument(0);
+            Thread.sleep(path.contains("aaaa") ? 200 : path.contains("bbbb") ? 100 : 0);
+            invocation.<OutputStream>getArgument(1).write(path.substring(path.lastIndexOf('/') + 1).getBytes(StandardCharsets.UTF_8));
+            return true;
+        });
+        when(mockFtpClient.retrieveFileStream(anyString())).thenAnswer(invocation -> {
+            String path = invocation.getArgument(0);
+            return new ByteArrayInputStream(path.substring(path.lastIndexOf('/') + 1).getBytes(StandardCharsets.UTF_8));
+        });
+        when(mockFtpClient.completePendingCommand()).thenReturn(true);
+
+        // When
+        ByteArrayOutputStream zipBytes = new ByteArrayOutputStream();
+        try {
+            ftpService.downloadAttachBundle(7L, zipBytes);
+        } finally {
+            ftpService.shutdown();
+        }
+
+        // Then
+        List<String> entries = new ArrayList<>();
+        List<Integer> methods = new ArrayList<>();
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(zipBytes.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                entries.add(entry.getName() + "=" + new String(zis.readAllBytes(), StandardCharsets.UTF_8));
+                methods.add(entry.getMethod());
+            }
+        }
+        assertEquals(List.of("a.txt=aaaa", "b.jpg=bbbb", "big.mp4=cccc", "a (1).txt=dddd"), entries);
+        // 미리 받은 jpg 만 STORED, 바로 스트리밍한 mp4 는 CRC 를 미리 알 수 없어 DEFLATED(레벨 0)
+        assertEquals(List.of(ZipEntry.DEFLATED, ZipEntry.STORED, ZipEntry.DEFLATED, ZipEntry.DEFLATED), methods);
+        verify(mockFtpClient).retrieveFileStream("/bundle/cccc"); // 예산 초과 파일은 미리 받지 않음
+    }
+
+    @Test
+    @DisplayName("여러 파일 업로드 - 동시에 업로드하고 메타데이터는 요청 순서대로 한 번에 저장")
+    void addFilesToAttachment_uploadsConcurrentlyAndBatchInserts() throws IOException {
+        // Given
+        ReflectionTestUtils.setField(ftpService, "uploadConcurrency", 3);
+        ftpService.init();
+        Attach attach = new Attach();
+        attach.setAttachId(7L);
+        when(mockAttachMapper.findAttachById(7L)).thenReturn(attach);
+        when(mockFtpClient.storeFile(anyString(), any(InputStream.class))).thenReturn(true);
+        List<MultipartFile> files = List.of(
+                new MockMultipartFile("files", "a.txt", "text/plain", "a".getBytes()),
+                new MockMultipartFile("files", "empty.txt", "text/plain", new byte[0]),
+                new MockMultipartFile("files", "b.txt", "text/plain", "bb".getBytes()),
+                new MockMultipartFile("files", "c.txt", "text/plain", "ccc".getBytes()));
+
+        // When
+        List<AttachFile> added;
+        try {
+            added = ftpService.addFilesToAttachment(7L, files, "uploader");
+        } finally {
+            ftpService.shutdown();
+        }
+
+        // Then
+        assertEquals(List.of("a.txt", "b.txt", "c.txt"), added.stream().map(AttachFile::getOriginalFileName).toList());
+        verify(mockFtpClient, times(3)).storeFile(anyString(), any(InputStream.class));
+        verify(mockAttachMapper).insertAttachFiles(added);
+        verify(mockAttachMapper, never()).insertAttachFile(any());
+    }
+
+    @Test
+    @DisplayName("여러 파일 업로드 실패 - 올라간 파일은 FTP 에서 삭제하고 DB 에 기록하지 않음")
+    void addFilesToAttachment_failDeletesUploadedFiles() throws IOException {
+        // Given
+        ReflectionTestUtils.setField(ftpService, "uploadConcurrency", 2);
+        ftpService.init();
+        Attach attach = new Attach();
+        attach.setAttachId(7L);
+        when(mockAttachMapper.findAttachById(7L)).thenReturn(attach);
+        when(mockFtpClient.storeFile(anyString(), any(InputStream.class)))
+                .thenAnswer(invocation -> !invocation.<String>getArgument(0).endsWith("_bad.txt"));
+        when(mockFtpClient.deleteFile(anyString())).thenReturn(true);
+        List<MultipartFile> files = List.of(
+                new MockMultipartFile("files", "ok.txt", "text/plain", "ok".getBytes()),
+                new MockMultipartFile("files", "bad.txt", "text/plain", "bad".getBytes()));
+
+        // When & Then
+        try {
+            assertThrows(IOException.class, () -> ftpService.addFilesToAttachment(7L, files, "uploader"));
+        } finally {
+            ftpService.shutdown();
+        }
+        verify(mockFtpClient).deleteFile(argThat(path -> path.endsWith("_ok.txt")));
+        verify(mockFtpClient, never()).deleteFile(argThat(path -> path.endsWith("_bad.txt")));
+        verify(mockAttachMapper, never()).insertAttachFiles(any());
+    }
+
+    @Test
+    @DisplayName("중복 제거 업로드 - 이미 저장된 내용은 업로드하지 않고, 요청 안의 같은 내용은 한 번만 업로드")
+    void addFilesToAttachment_dedup() throws IOException {
+        // Given
+        ReflectionTestUtils.setField(ftpService, "dedupEnabled", true);
+        ReflectionTestUtils.setField(ftpService, "dedupBlobDir", "/blobs");
+        Attach attach = new Attach();
+        attach.setAttachId(7L);
+        when(mockAttachMapper.findAttachById(7L)).thenReturn(attach);
+        when(mockFtpClient.storeFile(anyString(), any(InputStream.class))).thenReturn(true);
+
+        // "known" 내용은 이미 저장되어 있음
+        String knownHash = "7117fff2d0fd294462b3c802b7cb8753579f23f3946b99cf55f38e873f013f10";
+        AttachBlob knownBlob = new AttachBlob();
+        knownBlob.setContentHash(knownHash);
+        knownBlob.setFilePath("/blobs/71/17");
+        knownBlob.setSavedFileName(knownHash + "_old");
+        when(mockAttachMapper.addBlobReferences(anyString(), anyInt())).thenAnswer(invocation ->
+                knownHash.equals(invocation.getArgument(0)) ? 1 : 0);
+        when(mockAttachMapper.findBlobByHash(knownHash)).thenReturn(knownBlob);
+
+        List<MultipartFile> files = List.of(
+                new MockMultipartFile("files", "a.txt", "text/plain", "same".getBytes()),
+                new MockMultipartFile("files", "b.txt", "text/plain", "same".getBytes()),
+                new MockMultipartFile("files", "c.txt", "text/plain", "known".getBytes()));
+
+        // When
+        List<AttachFile> added = ftpService.addFilesToAttachment(7L, files, "uploader");
+
+        // Then: "same" 만 한 번 업로드, 두 행이 같은 저장 파일을 참조
+        verify(mockFtpClient, times(1)).storeFile(startsWith("/blobs/"), any(InputStream.class));
+        ArgumentCaptor<AttachBlob> blobCaptor = ArgumentCaptor.forClass(AttachBlob.class);
+        verify(mockAttachMapper).insertBlob(blobCaptor.capture());
+        assertEquals(2, blobCaptor.getValue().getRefCount());
+        assertEquals(added.get(0).getSavedFileName(), added.get(1).getSavedFileName());
+        assertEquals(blobCaptor.getValue().getSavedFileName(), added.get(0).getSavedFileName());
+        assertEquals(added.get(0).getContentHash(), added.get(1).getContentHash());
+        assertEquals(knownHash + "_old", added.get(2).getSavedFileName());
+        verify(mockAttachMapper).insertAttachFiles(added);
+    }
+
+    @Test
+    @DisplayName("중복 제거 파일 삭제 - 마지막 참조일 때만 커밋 후 FTP 파일 삭제 이벤트 발행")
+    void deleteAttachmentFile_releasesBlob() throws IOException {
+        // Given
+        AttachFile shared = new AttachFile();
+        shared.setFileId(1L);
+        shared.setStatus("AVAILABLE");
+        shared.setContentHash("abcd");
+        shared.setFilePath("/blobs/ab/cd");
+        shared.setSavedFileName("abcd_1");
+        when(mockAttachMapper.findFileById(1L)).thenReturn(shared);
+        when(mockAttachMapper.deleteUnreferencedBlob("abcd")).thenReturn(0, 1);
+
+        // When: 다른 참조가 남아있는 경우, 마지막 참조인 경우
+        assertTrue(ftpService.deleteAttachmentFile(1L));
+        verify(mockEventPublisher, never()).publishEvent(any());
+        assertTrue(ftpService.deleteAttachmentFile(1L));
+
+        // Then
+        verify(mockAttachMapper, times(2)).releaseBlobReference("abcd");
+        verify(mockAttachMapper, times(2)).softDeleteFileById(1L);
+        ArgumentCaptor<Object> eventCaptor = ArgumentCaptor.forClass(Object.class);
+        verify(mockEventPublisher).publishEvent(eventCaptor.capture());
+        assertEquals("/blobs/ab/cd/abcd_1", ((AttachBlobReleasedEvent) eventCaptor.getValue()).getRemoteFullPath());
+        verify(mockFtpClient, never()).deleteFile(anyString());
+    }
+
+    @Test
+    @DisplayName("묶음 다운로드 - 풀에 쉬는 연결이 없으면 선반입하지 않고 묶음 연결로 순서대로 받음")
+    void downloadAttachBundle_noIdleConnectionSkipsPrefetch() throws IOException {
+        // Given: 풀 사용, 묶음 연결은 빌릴 수 있지만 쉬고 있는 연결은 없음
+        ReflectionTestUtils.setField(ftpService, "prefetchConcurrency", 2);
+        ReflectionTestUtils.setField(ftpService, "prefetchMemory", 64);
+        ReflectionTestUtils.setField(ftpService, "prefetchTimeout", 5000L);
+        when(mockFtpClientFactory.isPoolEnabled()).thenReturn(true);
+        when(mockFtpClientFactory.getMaxTotal()).thenReturn(8);
+        when(mockFtpClientFactory.borrowStreamingClient()).thenReturn(mockFtpClient);
+        when(mockFtpClientFactory.tryBorrowClient()).thenReturn(null);
+        ftpService.init();
+        when(mockAttachMapper.findFilesByAttachId(7L)).thenReturn(List.of(
+                bundleFile("a.txt", "aaaa", 4), bundleFile("b.txt", "bbbb", 4), bundleFile("c.txt", "cccc", 4)));
+        stubStreamingRetrieve();
+
+        // When
+        ByteArrayOutputStream zipBytes = new ByteArrayOutputStream();
+        try {
+            ftpService.downloadAttachBundle(7L, zipBytes);
+        } finally {
+            ftpService.shutdown();
+        }
+
+        // Then
+        assertEquals(List.of("a.txt=aaaa", "b.txt=bbbb", "c.txt=cccc"), zipEntries(zipBytes));
+        verify(mockFtpClientFactory, times(1)).borrowStreamingClient();
+        verify(mockFtpClientFactory, never()).borrowClient();
+        verify(mockFtpClient, never()).retrieveFile(anyString(), any(OutputStream.class));
+        verify(mockFtpClientFactory).returnClient(mockFtpClient, true);
+    }
+
+    @Test
+    @DisplayName("묶음 다운로드 - 선반입이 실패하거나 시간 안에 끝나지 않으면 묶음 연결로 다시 받음")
+    void downloadAttachBundle_prefetchFailureFallsBackToStreaming() throws IOException {
+        // Given: b 는 선반입 실패, c 는 대기 시간 초과
+        ReflectionTestUtils.setField(ftpService, "prefetchConcurrency", 2);
+        ReflectionTestUtils.setField(ftpService, "prefetchMemory", 64);
+        ReflectionTestUtils.setField(ftpService, "prefetchTimeout", 200L);
+        FTPClient prefetchClient = mock(FTPClient.class);
+        when(mockFtpClientFactory.isPoolEnabled()).thenReturn(true);
+        when(mockFtpClientFactory.getMaxTotal()).thenReturn(8);
+        when(mockFtpClientFactory.borrowStreamingClient()).thenReturn(mockFtpClient);
+        when(mockFtpClientFactory.tryBorrowClient()).thenReturn(prefetchClient);
+        when(prefetchClient.retrieveFile(anyString(), any(OutputStream.class))).thenAnswer(invocation -> {
+            String path = invocation.getArgument(0);
+            if (path.contains("cccc")) {
+                Thread.sleep(2000);
+            }
+            return false;
+        });
+        ftpService.init();
+        when(mockAttachMapper.findFilesByAttachId(7L)).thenReturn(List.of(
+                bundleFile("a.txt", "aaaa", 4), bundleFile("b.txt", "bbbb", 4), bundleFile("c.txt", "cccc", 4)));
+        stubStreamingRetrieve();
+
+        // When
+        ByteArrayOutputStream zipBytes = new ByteArrayOutputStream();
+        try {
+            ftpService.downloadAttachBundle(7L, zipBytes);
+        } finally {
+            ftpService.shutdown();
+        }
+
+        // Then: 모든 파일이 묶음 연결로 다시 받아져 ZIP 이 완성됨
+        assertEquals(List.of("a.txt=aaaa", "b.txt=bbbb", "c.txt=cccc"), zipEntries(zipBytes));
+        verify(mockFtpClient).retrieveFileStream("/bundle/bbbb");
+        verify(mockFtpClient).retrieveFileStream("/bundle/cccc");
+    }
+
+    private void stubStreamingRetrieve() throws IOException {
+        when(mockFtpClient.retrieveFileStream(anyString())).thenAnswer(invocation -> {
+            String path = invocation.getArgument(0);
+            return new ByteArrayInputStream(path.substring(path.lastIndexOf('/') + 1).getBytes(StandardCharsets.UTF_8));
+        });
+        when(mockFtpClient.completePendingCommand()).thenReturn(true);
+    }
+
+    private List<String> zipEntries(ByteArrayOutputStream zipBytes) throws IOException {
+        List<String> entries = new ArrayList<>();
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(zipBytes.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                entries.add(entry.getName() + "=" + new String(zis.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+
+    private AttachFile bundleFile(String originalFileName, String savedFileName, long fileSize) {
+        AttachFile attachFile = new AttachFile();
+        attachFile.setAttachId(7L);
+        attachFile.setFilePath("/bundle");
+        attachFile.setSavedFileName(savedFileName);
+        attachFile.setOriginalFileName(originalFileName);
+        attachFile.setFileSize(fileSize);
+        return attachFile;
+    }
+
+    @Test
+    @DisplayName("오래된 파일 정리 - MLSD 한 번으로 조회하고 같은 연결에서 오래된 순으로 한도만큼 삭제")
+    void deleteFilesOlderThan_singleSessionWithBudget() throws IOException {
+        // Given
+        long now = System.currentTimeMillis();
+        when(mockFtpClient.hasFeature(FTPCmd.MLST)).thenReturn(true);
+        when(mockFtpClient.mlistDir("/temp-uploads")).thenReturn(new FTPFile[]{
+                ftpFile("old2", now - 7_200_000L),
+                ftpFile("new", now),
+                ftpFile("old1", now - 10_800_000L),
+                ftpFile("old3", now - 3_700_000L)
+        });
+        when(mockFtpClient.deleteFile(anyString())).thenReturn(true);
+
+        // When
+        int deleted = ftpService.deleteFilesOlderThan("/temp-uploads", now - 3_600_000L, 2);
+
+        // Then
+        assertEquals(2, deleted);
+        InOrder inOrder = inOrder(mockFtpClient);
+        inOrder.verify(mockFtpClient).deleteFile("/temp-uploads/old1");
+        inOrder.verify(mockFtpClient).deleteFile("/temp-uploads/old2");
+        verify(mockFtpClient, never()).deleteFile("/temp-uploads/old3");
+        verify(mockFtpClient, never()).deleteFile("/temp-uploads/new");
+        verify(mockFtpClient, never()).listFiles(anyString());
+        verify(mockFtpClient, times(1)).login(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("오래된 파일 정리 - 삭제 도중 통신 오류가 나면 그때까지 삭제한 수를 반환")
+    void deleteFilesOlderThan_returnsPartialCountOnIoError() throws IOException {
+        // Given: 두 번째 삭제에서 연결이 끊김
+        long now = System.currentTimeMillis();
+        when(mockFtpClient.hasFeature(FTPCmd.MLST)).thenReturn(true);
+        when(mockFtpClient.mlistDir("/temp-uploads")).thenReturn(new FTPFile[]{
+                ftpFile("old1", now - 10_800_000L),
+                ftpFile("old2", now - 7_200_000L),
+                ftpFile("old3", now - 3_700_000L)
+        });
+        when(mockFtpClient.deleteFile("/temp-uploads/old1")).thenReturn(true);
+        when(mockFtpClient.deleteFile("/temp-uploads/old2")).thenThrow(new IOException("Connection reset"));
+
+        // When
+        int deleted = ftpService.deleteFilesOlderThan("/temp-uploads", now - 3_600_000L, 10);
+
+        // Then
+        assertEquals(1, deleted);
+        verify(mockFtpClient, never()).deleteFile("/temp-uploads/old3");
+        verify(mockFtpClient).disconnect();
+    }
+
+    private static FTPFile ftpFile(String name, long modifiedMillis) {
+        FTPFile file = new FTPFile();
+        file.setName(name);
+        file.setType(FTPFile.FILE_TYPE);
+        Calendar timestamp = Calendar.getInstance();
+        timestamp.setTimeInMillis(modifiedMillis);
+        file.setTimestamp(timestamp);
+        return file;
+    }
+
     @Test
     @DisplayName("FTP 연결 실패 테스트")
     @MockitoSettings(strictness = Strictness.LENIENT)
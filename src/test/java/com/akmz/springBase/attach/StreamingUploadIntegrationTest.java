@@ -0,0 +1,196 @@
+package com.akmz.springBase.attach;
+
+import com.akmz.springBase.attach.mapper.AttachMapper;
+import com.akmz.springBase.attach.model.entity.AttachFile;
+import com.akmz.springBase.attach.service.FtpService;
+import com.akmz.springBase.auth.model.dto.LoginRequest;
+import com.akmz.springBase.common.test.DotenvContextInitializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartResolver;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ContextConfiguration(initializers = DotenvContextInitializer.class)
+class StreamingUploadIntegrationTest {
+
+    private static final String BOUNDARY = "----springBaseBoundary";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AttachMapper attachMapper;
+
+    @MockBean
+    private FtpService ftpService;
+
+    @Autowired
+    private MultipartResolver multipartResolver;
+
+    // FTP 대신 경로별로 받은 내용을 보관
+    private final Map<String, byte[]> remoteFiles = new ConcurrentHashMap<>();
+
+    // 전송할 때마다 DB 트랜잭션이 열려 있었는지 기록
+    private final List<Boolean> transactionActiveDuringTransfer = new CopyOnWriteArrayList<>();
+
+    private String accessToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        doAnswer(invocation -> {
+            transactionActiveDuringTransfer.add(TransactionSynchronizationManager.isActualTransactionActive());
+            byte[] content = invocation.<InputStream>getArgument(1).readAllBytes();
+            remoteFiles.put(invocation.getArgument(0), content);
+            return (long) content.length;
+        }).when(ftpService).writeRangeToFtp(anyString(), any(InputStream.class), eq(0L), anyLong());
+        when(ftpService.deleteFileFromFtp(anyString())).thenAnswer(invocation -> remoteFiles.remove(invocation.<String>getArgument(0)) != null);
+
+        accessToken = getAccessToken("user", "user");
+    }
+
+    private String getAccessToken(String username, String password) throws Exception {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUserName(username);
+        loginRequest.setPassword(password);
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return objectMapper.readTree(loginResult.getResponse().getContentAsString()).get("accessToken").asText();
+    }
+
+    // 브라우저가 보내는 것과 같은 multipart 본문 (MockMultipartFile 은 본문 스트림을 만들지 않으므로 직접 작성)
+    private static byte[] multipartBody(String[][] parts) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (String[] part : parts) {
+            String disposition = part[1] == null
+                    ? "form-data; name=\"" + part[0] + "\""
+                    : "form-data; name=\"" + part[0] + "\"; filename=\"" + part[1] + "\"";
+            String header = "--" + BOUNDARY + "\r\nContent-Disposition: " + disposition + "\r\n"
+                    + (part[1] == null ? "" : "Content-Type: application/octet-stream\r\n") + "\r\n";
+            body.writeBytes(header.getBytes(StandardCharsets.UTF_8));
+            body.writeBytes(part[2].getBytes(StandardCharsets.UTF_8));
+            body.writeBytes("\r\n".getBytes(StandardCharsets.UTF_8));
+        }
+        body.writeBytes(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return body.toByteArray();
+    }
+
+    @Test
+    @DisplayName("스트리밍 업로드 - 파트를 읽는 대로 FTP 로 전송하고 전송한 크기로 첨부파일 등록")
+    void stream_upload_test() throws Exception {
+        byte[] body = multipartBody(new String[][]{
+                {"attachName", null, "스트리밍 첨부"},
+                {"files", "첫번째.txt", "hello"},
+                {"files", "empty.txt", ""},
+                {"files", "second.bin", "0123456789"}
+        });
+
+        MvcResult result = mockMvc.perform(post("/api/attach/upload/stream")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        JsonNode uploaded = objectMapper.readTree(result.getResponse().getContentAsString());
+        assertThat(uploaded).hasSize(2);
+        long attachId = uploaded.get(0).get("attachId").asLong();
+        assertThat(attachMapper.findAttachById(attachId).getAttachName()).isEqualTo("스트리밍 첨부");
+
+        List<AttachFile> files = attachMapper.findFilesByAttachId(attachId);
+        assertThat(files).extracting(AttachFile::getOriginalFileName).containsExactly("첫번째.txt", "second.bin");
+        assertThat(files).extracting(AttachFile::getFileSize).containsExactly(5L, 10L);
+        // 빈 파일은 FTP 에서도 삭제
+        assertThat(remoteFiles).hasSize(2);
+        assertThat(remoteFiles.get(files.get(1).getFilePath() + "/" + files.get(1).getSavedFileName()))
+                .isEqualTo("0123456789".getBytes(StandardCharsets.UTF_8));
+        // 전송 중에는 DB 연결(트랜잭션)을 잡지 않음
+        assertThat(transactionActiveDuringTransfer).hasSize(3).containsOnly(false);
+    }
+
+    @Test
+    @DisplayName("스트리밍 업로드 - attachName 이 파일보다 뒤에 있으면 400, 올린 파일 없음")
+    void attach_name_after_file_test() throws Exception {
+        byte[] body = multipartBody(new String[][]{
+                {"files", "a.txt", "hello"},
+                {"attachName", null, "늦은 이름"}
+        });
+
+        mockMvc.perform(post("/api/attach/upload/stream")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                        .content(body))
+                .andExpect(status().isBadRequest());
+        verify(ftpService, never()).writeRangeToFtp(anyString(), any(InputStream.class), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("기존 첨부에 스트리밍 추가 - 존재하지 않는 첨부는 404")
+    void add_to_missing_attach_test() throws Exception {
+        mockMvc.perform(post("/api/attach/999999/files/stream")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                        .content(multipartBody(new String[][]{{"files", "a.txt", "hello"}})))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("스트리밍 업로드 매핑과 정확히 일치하는 POST 만 multipart 해석에서 제외")
+    void multipart_resolver_skips_only_streaming_mappings_test() {
+        assertThat(multipartResolver.isMultipart(multipartRequest("POST", "/api/attach/upload/stream"))).isFalse();
+        assertThat(multipartResolver.isMultipart(multipartRequest("POST", "/api/attach/12/files/stream"))).isFalse();
+
+        // 같은 접미사의 다른 경로나 일반 업로드는 MultipartFile 로 받음
+        assertThat(multipartResolver.isMultipart(multipartRequest("POST", "/api/other/stream"))).isTrue();
+        assertThat(multipartResolver.isMultipart(multipartRequest("POST", "/api/attach/12/stream"))).isTrue();
+        assertThat(multipartResolver.isMultipart(multipartRequest("POST", "/api/attach/upload"))).isTrue();
+        assertThat(multipartResolver.isMultipart(multipartRequest("PUT", "/api/attach/upload/stream"))).isTrue();
+    }
+
+    private static MockHttpServletRequest multipartRequest(String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+        return request;
+    }
+}
@@ -1,7 +1,9 @@
 package com.akmz.springBase.auth;
 
+import com.akmz.springBase.admin.service.AdminService;
 import com.akmz.springBase.auth.mapper.AuthMapper;
 import com.akmz.springBase.auth.model.dto.LoginRequest;
+import com.akmz.springBase.auth.model.entity.LoginFailureDelta;
 import com.akmz.springBase.common.test.DotenvContextInitializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
@@ -16,8 +18,14 @@ import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -34,6 +42,9 @@ class AccountLockIntegrationTest {
     @Autowired
     private AuthMapper authMapper;
 
+    @Autowired
+    private AdminService adminService;
+
     @Test
     @DisplayName("계정 잠금 테스트 - 5회 로그인 실패 시 계정 잠금")
     
@@ -58,7 +69,34 @@ class AccountLockIntegrationTest {
         result.andExpect(status().isUnauthorized())
                 .andExpect(content().string("User account is locked"));
 
-        // 테스트 후 계정 잠금 해제 (다음 테스트에 영향 주지 않도록)
-        authMapper.resetLoginFailureCount("user");
+        // 테스트 후 계정 잠금 해제 (다음 테스트에 영향 주지 않도록, 사용자 정보 캐시도 함께 무효화)
+        adminService.resetLoginFailureCount("user");
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("로그인 실패 횟수 일괄 반영 - 사용자별 증가분을 한 번에 UPDATE")
+    void add_login_failures_batch_test() {
+        // given
+        int userBefore = countOf("user");
+        int adminBefore = countOf("admin");
+        Date flushStartedAt = authMapper.findDbTimestamp();
+
+        // when
+        int updated = authMapper.addLoginFailures(List.of(
+                new LoginFailureDelta("user", 3),
+                new LoginFailureDelta("admin", 1)));
+
+        // then
+        assertEquals(2, updated);
+        assertEquals(userBefore + 3, countOf("user"));
+        assertEquals(adminBefore + 1, countOf("admin"));
+        // 마지막 실패 시각은 반영 시작 이후의 DB 시각
+        assertFalse(authMapper.findByUsername("user").getLastFailureTimestamp().before(flushStartedAt));
+    }
+
+    private int countOf(String userName) {
+        Integer count = authMapper.findByUsername(userName).getLoginFailureCount();
+        return count != null ? count : 0;
     }
 }
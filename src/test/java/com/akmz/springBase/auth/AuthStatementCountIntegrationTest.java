@@ -0,0 +1,111 @@
+package com.akmz.springBase.auth;
+
+import com.akmz.springBase.admin.service.AdminService;
+import com.akmz.springBase.auth.event.UserAccountChangedEvent;
+import com.akmz.springBase.auth.model.dto.LoginRequest;
+import com.akmz.springBase.auth.service.CustomUserDetailsService;
+import com.akmz.springBase.common.test.DotenvContextInitializer;
+import com.akmz.springBase.common.test.StatementCountInterceptor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ContextConfiguration(initializers = DotenvContextInitializer.class)
+class AuthStatementCountIntegrationTest {
+
+    private static final StatementCountInterceptor statementCounter = new StatementCountInterceptor();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private AdminService adminService;
+
+    @BeforeEach
+    void setUp() {
+        if (!sqlSessionFactory.getConfiguration().getInterceptors().contains(statementCounter)) {
+            sqlSessionFactory.getConfiguration().addInterceptor(statementCounter);
+        }
+        statementCounter.reset();
+    }
+
+    @Test
+    @DisplayName("사용자 인증 정보 조회 - 권한 수와 관계없이 쿼리 1회")
+    void load_user_single_statement_test() {
+        // given: 권한을 2개 가진 사용자 (권한 변경 이벤트로 캐시도 비워져 DB 조회가 일어남)
+        adminService.assignRoleToUser("admin", 2L); // ROLE_USER 추가
+        try {
+            statementCounter.reset();
+
+            // when
+            UserDetails userDetails = userDetailsService.loadUserByUsername("admin");
+
+            // then
+            assertEquals(1, statementCounter.count(), () -> "실행된 쿼리: " + statementCounter.statements());
+            Set<String> roles = userDetails.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .collect(Collectors.toSet());
+            assertEquals(Set.of("ROLE_ADMIN", "ROLE_USER"), roles);
+        } finally {
+            adminService.removeRoleFromUser("admin", 2L);
+        }
+    }
+
+    @Test
+    @DisplayName("로그인 성공 - 사용자 조회 1회, 조회 없는 조건부 UPDATE 로 처리")
+    void login_statement_count_test() throws Exception {
+        // given: 사용자 캐시를 비워 인증 시 DB 조회가 일어나도록 함 (메뉴는 스냅샷 캐시 사용)
+        userDetailsService.onUserAccountChanged(new UserAccountChangedEvent("user"));
+        adminService.getAllMenuResources();
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUserName("user");
+        loginRequest.setPassword("user");
+        statementCounter.reset();
+
+        // when
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk());
+
+        // then: 사용자+권한 조회, 실패 횟수 조건부 초기화, 리프레시 토큰 시퀀스+저장 (메뉴 조회 없음)
+        List<String> statements = statementCounter.statements();
+        long userSelects = statements.stream()
+                .map(sql -> sql.replaceAll("\\s+", " ").toLowerCase())
+                .filter(sql -> sql.startsWith("select") && sql.contains("from users"))
+                .count();
+        assertEquals(1, userSelects, () -> "실행된 쿼리: " + statements);
+        assertEquals(4, statements.size(), () -> "실행된 쿼리: " + statements);
+        assertTrue(statements.stream().noneMatch(sql -> sql.toUpperCase().contains("FROM RESOURCES")),
+                () -> "실행된 쿼리: " + statements);
+    }
+}
@@ -0,0 +1,192 @@
+package com.akmz.springBase.auth;
+
+import com.akmz.springBase.auth.event.UserAccountChangedEvent;
+import com.akmz.springBase.auth.mapper.AuthMapper;
+import com.akmz.springBase.auth.model.entity.LoginFailureDelta;
+import com.akmz.springBase.auth.service.LoginFailureCounterStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class LoginFailureCounterStoreTest {
+
+    @InjectMocks
+    private LoginFailureCounterStore store;
+
+    @Mock
+    private AuthMapper authMapper;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(store, "writeBehindEnabled", true);
+        ReflectionTestUtils.setField(store, "maxPending", 10000);
+        ReflectionTestUtils.setField(store, "batchSize", 500);
+        when(authMapper.findDbTimestamp()).thenAnswer(invocation -> new Date());
+    }
+
+    @Test
+    @DisplayName("write-behind: 실패 횟수는 메모리에 누적되고 잠금 판단에 즉시 반영")
+    void failuresArePendingButCounted() {
+        // when
+        for (int i = 0; i < 3; i++) {
+            store.recordFailure("user");
+        }
+
+        // then
+        verify(authMapper, never()).updateLoginFailure(anyString());
+        assertEquals(5, store.effectiveFailureCount("user", 2, null));
+        assertNotNull(store.effectiveLastFailure("user", null));
+        assertEquals(1, store.effectiveFailureCount("other", 1, null));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("write-behind: flush 시 한 번의 UPDATE 로 반영하고 캐시 무효화")
+    void flushWritesAggregatedDeltas() {
+        // given
+        store.recordFailure("user");
+        store.recordFailure("user");
+        store.recordFailure("admin");
+
+        // when
+        store.flush();
+
+        // then
+        ArgumentCaptor<List<LoginFailureDelta>> captor = ArgumentCaptor.forClass(List.class);
+        verify(authMapper, times(1)).addLoginFailures(captor.capture());
+        assertEquals(3, captor.getValue().stream().mapToInt(LoginFailureDelta::getCount).sum());
+        verify(eventPublisher, times(2)).publishEvent(any(UserAccountChangedEvent.class));
+        assertEquals(0, store.effectiveFailureCount("user", 0, null)); // 반영된 만큼 메모리에서 차감
+    }
+
+    @Test
+    @DisplayName("write-behind: 반영 실패 시 다음 주기까지 메모리에 유지")
+    void flushFailureKeepsPending() {
+        // given
+        store.recordFailure("user");
+        doThrow(new RuntimeException("db down")).when(authMapper).addLoginFailures(anyList());
+
+        // when
+        store.flush();
+
+        // then
+        assertEquals(1, store.effectiveFailureCount("user", 0, null));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("write-behind: 반영 중인 실패 횟수는 DB 에 기록되기 전까지만 더해짐 (두 번 계산하지 않음)")
+    void inFlightCountedOnceAroundCommit() {
+        // given
+        store.recordFailure("user");
+        store.recordFailure("user");
+        store.recordFailure("user");
+        Date flushStartedAt = new Date();
+        when(authMapper.findDbTimestamp()).thenReturn(flushStartedAt);
+        int[] beforeCommit = new int[1];
+        int[] afterCommit = new int[1];
+        doAnswer(invocation -> {
+            LoginFailureDelta delta = ((List<LoginFailureDelta>) invocation.getArgument(0)).get(0);
+            // 반영 전: DB 의 마지막 실패 시각은 반영 시작 이전, 반영 후: 반영 시작 이후의 DB 시각
+            beforeCommit[0] = store.effectiveFailureCount("user", 1, new Date(flushStartedAt.getTime() - 1000));
+            afterCommit[0] = store.effectiveFailureCount("user", 1 + delta.getCount(), new Date(flushStartedAt.getTime() + 5));
+            return null;
+        }).when(authMapper).addLoginFailures(anyList());
+
+        // when
+        store.flush();
+
+        // then: DB 1회 + 반영 중 3회, 기록된 뒤에는 DB 값만
+        assertEquals(4, beforeCommit[0]);
+        assertEquals(4, afterCommit[0]);
+    }
+
+    @Test
+    @DisplayName("write-behind: 반영 중에 로그인에 성공하면 반영이 끝난 뒤 초기화되고 반영분은 버려짐")
+    void successDuringFlushResetsAfterWrite() throws Exception {
+        // given
+        store.recordFailure("user");
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(authMapper).addLoginFailures(anyList());
+        CompletableFuture<Void> flush = CompletableFuture.runAsync(store::flush);
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        // when
+        CompletableFuture<Void> success = CompletableFuture.runAsync(() -> store.recordSuccess("user"));
+
+        // then: 반영이 끝날 때까지 DB 초기화를 하지 않음
+        verify(authMapper, after(200).never()).resetLoginFailureCountIfFailed("user");
+        assertEquals(0, store.effectiveFailureCount("user", 0, null));
+
+        release.countDown();
+        flush.get(5, TimeUnit.SECONDS);
+        success.get(5, TimeUnit.SECONDS);
+        InOrder inOrder = inOrder(authMapper);
+        inOrder.verify(authMapper).addLoginFailures(anyList());
+        inOrder.verify(authMapper).resetLoginFailureCountIfFailed("user");
+        assertEquals(0, store.effectiveFailureCount("user", 0, null));
+
+        // 다음 주기에 지난 실패 횟수를 다시 반영하지 않음
+        store.flush();
+        verify(authMapper, times(1)).addLoginFailures(anyList());
+    }
+
+    @Test
+    @DisplayName("로그인 성공 시 미반영 실패 횟수 제거")
+    void successClearsPending() {
+        // given
+        store.recordFailure("user");
+
+        // when
+        store.recordSuccess("user");
+
+        // then
+        assertEquals(0, store.effectiveFailureCount("user", 0, null));
+        verify(authMapper).resetLoginFailureCountIfFailed("user");
+    }
+
+    @Test
+    @DisplayName("write-behind 비활성화 시 즉시 UPDATE")
+    void syncModeUpdatesImmediately() {
+        // given
+        ReflectionTestUtils.setField(store, "writeBehindEnabled", false);
+        when(authMapper.updateLoginFailure("user")).thenReturn(1);
+
+        // when
+        store.recordFailure("user");
+
+        // then
+        verify(authMapper).updateLoginFailure("user");
+        verify(eventPublisher).publishEvent(any(UserAccountChangedEvent.class));
+    }
+}
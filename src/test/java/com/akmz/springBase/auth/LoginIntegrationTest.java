@@ -12,6 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import org.springframework.test.context.ContextConfiguration;
 
@@ -46,6 +47,9 @@ class LoginIntegrationTest {
     @Autowired
     private AuthMapper authMapper;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Autowired
     private SqlSessionTemplate sqlSessionTemplate;
 
@@ -121,9 +125,38 @@ class LoginIntegrationTest {
         // then: 로그아웃 성공 검증 (HTTP 200 OK)
         logoutResult.andExpect(status().isOk());
 
-        // then: DB에서 Refresh Token이 null로 업데이트되었는지 확인
-        AuthUser userAfterLogout = authMapper.findByUsername(loginRequest.getUserName());
-        assertThat(userAfterLogout.getRefreshToken()).isNull();
+        // then: 리프레시 토큰 저장소에서 사용자의 세션이 모두 폐기되었는지 확인 (쿠키 없이 로그아웃)
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM REFRESH_TOKENS WHERE USER_NAME = ?",
+                Integer.class, loginRequest.getUserName())).isZero();
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("로그아웃 후 엑세스 토큰 재사용 테스트 - 폐기된 토큰은 401 Unauthorized")
+    void access_token_revoked_after_logout_test() throws Exception {
+        // given: 로그인 후 로그아웃
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUserName("user");
+        loginRequest.setPassword("user");
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+        String accessToken = objectMapper.readTree(loginResult.getResponse().getContentAsString()).get("accessToken").asText();
+
+        mockMvc.perform(post("/api/auth/logout")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+        // when: 같은 엑세스 토큰으로 다시 요청
+        ResultActions result = mockMvc.perform(post("/api/auth/logout")
+                .header("Authorization", "Bearer " + accessToken));
+
+        // then
+        result.andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.title").value("Revoked Token"));
     }
 
     @Test
@@ -0,0 +1,143 @@
+package com.akmz.springBase.auth;
+
+import com.akmz.springBase.auth.mapper.RefreshTokenMapper;
+import com.akmz.springBase.auth.model.dto.LoginRequest;
+import com.akmz.springBase.auth.model.entity.RefreshToken;
+import com.akmz.springBase.auth.service.RefreshTokenService;
+import com.akmz.springBase.common.test.DotenvContextInitializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ContextConfiguration(initializers = DotenvContextInitializer.class)
+class RefreshTokenIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenMapper refreshTokenMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int countTokens(String column, String value) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM REFRESH_TOKENS WHERE " + column + " = ?", Integer.class, value);
+    }
+
+    private Cookie login() throws Exception {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUserName("user");
+        loginRequest.setPassword("user");
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+        return result.getResponse().getCookie("X-Refresh-Token");
+    }
+
+    private MvcResult reissue(Cookie refreshTokenCookie) throws Exception {
+        return mockMvc.perform(post("/api/auth/token/reissue").cookie(refreshTokenCookie)).andReturn();
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("다중 세션 - 두 기기에서 로그인해도 각자의 리프레시 토큰으로 재발급 가능")
+    void multiple_sessions_reissue_test() throws Exception {
+        // given
+        Cookie deviceA = login();
+        Cookie deviceB = login();
+
+        // when & then
+        assertThat(reissue(deviceA).getResponse().getStatus()).isEqualTo(200);
+        assertThat(reissue(deviceB).getResponse().getStatus()).isEqualTo(200);
+        assertThat(countTokens("USER_NAME", "user")).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("토큰 회전 - 이미 사용한 리프레시 토큰으로 재발급하면 401")
+    void rotated_token_reuse_rejected_test() throws Exception {
+        // given
+        Cookie original = login();
+        MvcResult first = reissue(original);
+        assertThat(first.getResponse().getStatus()).isEqualTo(200);
+        Cookie rotated = first.getResponse().getCookie("X-Refresh-Token");
+
+        // when: 회전 전 토큰 재사용
+        MvcResult reuse = reissue(original);
+
+        // then
+        assertThat(reuse.getResponse().getStatus()).isEqualTo(401);
+        assertThat(reissue(rotated).getResponse().getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("로그아웃 - 현재 세션의 리프레시 토큰만 폐기")
+    void logout_revokes_current_session_only_test() throws Exception {
+        // given
+        Cookie deviceA = login();
+        Cookie deviceB = login();
+        MvcResult reissued = reissue(deviceA);
+        String accessToken = objectMapper.readTree(reissued.getResponse().getContentAsString())
+                .get("accessToken").asText();
+        Cookie deviceAToken = reissued.getResponse().getCookie("X-Refresh-Token");
+
+        // when
+        mockMvc.perform(post("/api/auth/logout")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .cookie(deviceAToken))
+                .andExpect(status().isOk());
+
+        // then
+        assertThat(reissue(deviceAToken).getResponse().getStatus()).isEqualTo(401);
+        assertThat(reissue(deviceB).getResponse().getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("만료 토큰 일괄 삭제")
+    void purge_expired_tokens_test() {
+        // given
+        RefreshToken expired = new RefreshToken();
+        expired.setTokenHash("0".repeat(64));
+        expired.setUserName("user");
+        expired.setExpiryDate(new Date(System.currentTimeMillis() - 1000));
+        expired.setCreatedDate(new Date(System.currentTimeMillis() - 2000));
+        refreshTokenMapper.insertRefreshToken(expired);
+
+        // when
+        int deleted = refreshTokenService.purgeExpired();
+
+        // then
+        assertThat(deleted).isGreaterThanOrEqualTo(1);
+        assertThat(countTokens("TOKEN_HASH", "0".repeat(64))).isZero();
+    }
+}
@@ -0,0 +1,105 @@
+package com.akmz.springBase.auth;
+
+import com.akmz.springBase.admin.service.AdminService;
+import com.akmz.springBase.auth.event.UserAccountChangedEvent;
+import com.akmz.springBase.auth.service.AccountStatusService;
+import com.akmz.springBase.auth.service.AccountStatusService.AccountStatus;
+import com.akmz.springBase.auth.service.CustomUserDetailsService;
+import com.akmz.springBase.common.test.DotenvContextInitializer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ContextConfiguration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ContextConfiguration(initializers = DotenvContextInitializer.class)
+class UserDetailsCacheIntegrationTest {
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private AccountStatusService accountStatusService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "auth.userDetails")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    @Test
+    @DisplayName("사용자 정보 캐시 - 두 번째 조회는 캐시에서 반환되고 hit 지표가 증가")
+    void user_details_cache_hit_test() {
+        // given
+        userDetailsService.loadUserByUsername("admin");
+        double hitsBefore = cacheGets("hit");
+
+        // when
+        UserDetails userDetails = userDetailsService.loadUserByUsername("admin");
+
+        // then
+        assertEquals(hitsBefore + 1, cacheGets("hit"));
+        assertNotNull(userDetails.getPassword()); // 캐시에서도 매번 새 UserDetails 를 생성 (비밀번호 유지)
+        assertTrue(userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch("ROLE_ADMIN"::equals));
+    }
+
+    @Test
+    @DisplayName("사용자 정보 캐시 - 관리자가 계정을 비활성화하면 캐시가 무효화됨")
+    void user_details_cache_invalidated_by_admin_test() {
+        // given: 캐시에 적재
+        assertTrue(userDetailsService.loadUserByUsername("user").isEnabled());
+
+        try {
+            // when
+            adminService.deactivateUser("user");
+
+            // then
+            assertFalse(userDetailsService.loadUserByUsername("user").isEnabled());
+        } finally {
+            adminService.activateUser("user");
+        }
+        assertTrue(userDetailsService.loadUserByUsername("user").isEnabled());
+    }
+
+    @Test
+    @DisplayName("계정 상태 캐시 - 전체 사용자 변경 이벤트로 무상태 인증의 계정 상태 캐시도 비워짐")
+    void account_status_cache_invalidated_by_all_users_event_test() {
+        // given: 계정 상태 캐시에 적재
+        assertEquals(AccountStatus.ACTIVE, accountStatusService.getStatus("user"));
+
+        try {
+            // when: 이벤트 없이 DB 만 바꾼 뒤 전체 사용자 변경 이벤트 처리
+            jdbcTemplate.update("UPDATE USERS SET USE_YN = 'N' WHERE USER_NAME = 'user'");
+            assertEquals(AccountStatus.ACTIVE, accountStatusService.getStatus("user"));
+            userDetailsService.onUserAccountChanged(UserAccountChangedEvent.allUsers());
+
+            // then
+            assertEquals(AccountStatus.DISABLED, accountStatusService.getStatus("user"));
+        } finally {
+            jdbcTemplate.update("UPDATE USERS SET USE_YN = 'Y' WHERE USER_NAME = 'user'");
+            accountStatusService.evict("user");
+        }
+    }
+}
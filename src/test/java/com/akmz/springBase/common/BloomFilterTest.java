@@ -0,0 +1,65 @@
+package com.akmz.springBase.common;
+
+import com.akmz.springBase.common.util.BloomFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("추가한 키는 항상 포함, 추가하지 않은 키의 오탐률은 설정값 근처")
+    void noFalseNegativesAndBoundedFalsePositives() {
+        // given
+        BloomFilter bloomFilter = new BloomFilter(10_000, 0.01);
+        List<String> added = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            String jti = UUID.randomUUID().toString();
+            added.add(jti);
+            bloomFilter.add(jti);
+        }
+
+        // then: 거짓 음성 없음
+        added.forEach(jti -> assertTrue(bloomFilter.mightContain(jti)));
+
+        // then: 오탐률 (여유를 두고 3% 미만)
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (bloomFilter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 3_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("여러 스레드에서 동시에 추가해도 누락 없음")
+    void concurrentAdds() throws Exception {
+        // given
+        BloomFilter bloomFilter = new BloomFilter(40_000, 0.01);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 40_000; i++) {
+            keys.add(UUID.randomUUID().toString());
+        }
+
+        // when
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            List<String> slice = keys.subList(t * 10_000, (t + 1) * 10_000);
+            Thread thread = new Thread(() -> slice.forEach(bloomFilter::add));
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // then
+        keys.forEach(key -> assertTrue(bloomFilter.mightContain(key)));
+    }
+}
@@ -0,0 +1,254 @@
+package com.akmz.springBase.common;
+
+import com.akmz.springBase.auth.service.AccountStatusService;
+import com.akmz.springBase.auth.service.AccountStatusService.AccountStatus;
+import com.akmz.springBase.auth.service.TokenRevocationService;
+import com.akmz.springBase.common.config.JwtAuthenticationFilter;
+import com.akmz.springBase.common.config.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class JwtAuthenticationFilterTest {
+
+    @InjectMocks
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private AccountStatusService accountStatusService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    private static final String SECRET = "test-secret-key-test-secret-key-0123456789";
+
+    private JwtTokenProvider jwtTokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(jwtTokenProvider, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtTokenProvider, "expiration", 3600000L);
+        ReflectionTestUtils.setField(jwtTokenProvider, "refreshExpiration", 604800000L);
+        ReflectionTestUtils.setField(jwtTokenProvider, "legacyGraceEnabled", true);
+        jwtTokenProvider.init();
+
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "jwtTokenProvider", jwtTokenProvider);
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "statelessEnabled", true);
+        when(accountStatusService.isEnabled()).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletRequest requestWithToken(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/menu");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    @Test
+    @DisplayName("무상태 모드: DB 조회 없이 토큰의 roles 클레임으로 인증")
+    void statelessModeBuildsAuthenticationFromClaims() throws Exception {
+        // given
+        String token = jwtTokenProvider.createToken("user", List.of("ROLE_USER", "ROLE_ADMIN"));
+        when(accountStatusService.getStatus("user")).thenReturn(AccountStatus.ACTIVE);
+
+        // when
+        jwtAuthenticationFilter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        // then
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(auth);
+        assertEquals("user", auth.getName());
+        assertEquals(Set.of("ROLE_USER", "ROLE_ADMIN"),
+                auth.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.toSet()));
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    @DisplayName("무상태 모드: 잠긴 계정은 인증하지 않고 ACCOUNT_LOCKED 표시")
+    void statelessModeRejectsLockedAccount() throws Exception {
+        // given
+        String token = jwtTokenProvider.createToken("user", List.of("ROLE_USER"));
+        when(accountStatusService.getStatus("user")).thenReturn(AccountStatus.LOCKED);
+        MockHttpServletRequest request = requestWithToken(token);
+
+        // when
+        jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // then
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals("ACCOUNT_LOCKED", request.getAttribute("exception"));
+    }
+
+    @Test
+    @DisplayName("무상태 모드: 비활성 계정은 인증하지 않고 ACCOUNT_DISABLED 표시")
+    void statelessModeRejectsDisabledAccount() throws Exception {
+        // given
+        String token = jwtTokenProvider.createToken("user", List.of("ROLE_USER"));
+        when(accountStatusService.getStatus("user")).thenReturn(AccountStatus.DISABLED);
+        MockHttpServletRequest request = requestWithToken(token);
+
+        // when
+        jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // then
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals("ACCOUNT_DISABLED", request.getAttribute("exception"));
+    }
+
+    @Test
+    @DisplayName("무상태 모드: 계정 상태 확인이 꺼져 있으면 상태 조회도 하지 않음")
+    void statelessModeSkipsAccountCheckWhenDisabled() throws Exception {
+        // given
+        when(accountStatusService.isEnabled()).thenReturn(false);
+        String token = jwtTokenProvider.createToken("user", List.of("ROLE_USER"));
+
+        // when
+        jwtAuthenticationFilter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        // then
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(accountStatusService, never()).getStatus(anyString());
+    }
+
+    @Test
+    @DisplayName("폐기된 jti 의 토큰은 인증하지 않고 TOKEN_REVOKED 표시")
+    void revokedTokenIsRejected() throws Exception {
+        // given
+        String token = jwtTokenProvider.createToken("user", List.of("ROLE_USER"));
+        String jti = jwtTokenProvider.verify(token).getId();
+        when(tokenRevocationService.isRevoked(jti)).thenReturn(true);
+        MockHttpServletRequest request = requestWithToken(token);
+
+        // when
+        jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // then
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals("TOKEN_REVOKED", request.getAttribute("exception"));
+    }
+
+    @Test
+    @DisplayName("리프레시 토큰을 Bearer 로 보내면 인증하지 않고 INVALID_TOKEN 표시")
+    void refreshTokenIsRejectedAsBearer() throws Exception {
+        // given
+        String refreshToken = jwtTokenProvider.createRefreshToken("user");
+        when(accountStatusService.getStatus("user")).thenReturn(AccountStatus.ACTIVE);
+        MockHttpServletRequest request = requestWithToken(refreshToken);
+
+        // when
+        jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // then
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals("INVALID_TOKEN", request.getAttribute("exception"));
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    @DisplayName("jti 가 없는 엑세스 토큰은 폐기 확인을 할 수 없으므로 인증하지 않음")
+    void accessTokenWithoutJtiIsRejected() throws Exception {
+        // given: 같은 키로 서명했지만 jti 가 없는 토큰
+        Claims claims = Jwts.claims().setSubject("user");
+        claims.put("roles", List.of("ROLE_USER"));
+        claims.put(JwtTokenProvider.TOKEN_TYPE_CLAIM, JwtTokenProvider.ACCESS_TOKEN_TYPE);
+        String token = Jwts.builder()
+                .setClaims(claims)
+                .setExpiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+        MockHttpServletRequest request = requestWithToken(token);
+
+        // when
+        jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // then
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals("INVALID_TOKEN", request.getAttribute("exception"));
+    }
+
+    private String legacyAccessToken(long issuedAgoMillis) {
+        // token_type 과 jti 가 없는 이전 형식의 엑세스 토큰
+        Claims claims = Jwts.claims().setSubject("user");
+        claims.put("roles", List.of("ROLE_USER"));
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setClaims(claims)
+                .setIssuedAt(new Date(now - issuedAgoMillis))
+                .setExpiration(new Date(now + 60000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Test
+    @DisplayName("기동 전에 발급된 이전 형식의 엑세스 토큰은 만료될 때까지 인증")
+    void legacyAccessTokenIsAcceptedDuringGrace() throws Exception {
+        // given
+        when(accountStatusService.getStatus("user")).thenReturn(AccountStatus.ACTIVE);
+        MockHttpServletRequest request = requestWithToken(legacyAccessToken(5000));
+
+        // when
+        jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // then
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(auth);
+        assertEquals("user", auth.getName());
+        verify(tokenRevocationService, never()).isRevoked(any());
+    }
+
+    @Test
+    @DisplayName("유예를 끄면 이전 형식의 엑세스 토큰은 INVALID_TOKEN")
+    void legacyAccessTokenIsRejectedWhenGraceDisabled() throws Exception {
+        // given
+        ReflectionTestUtils.setField(jwtTokenProvider, "legacyGraceEnabled", false);
+        when(accountStatusService.getStatus("user")).thenReturn(AccountStatus.ACTIVE);
+        MockHttpServletRequest request = requestWithToken(legacyAccessToken(5000));
+
+        // when
+        jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // then
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals("INVALID_TOKEN", request.getAttribute("exception"));
+    }
+}
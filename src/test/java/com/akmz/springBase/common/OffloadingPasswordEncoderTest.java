@@ -0,0 +1,106 @@
+package com.akmz.springBase.common;
+
+import com.akmz.springBase.auth.exception.LoginThrottledException;
+import com.akmz.springBase.common.config.OffloadingPasswordEncoder;
+import com.akmz.springBase.common.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffloadingPasswordEncoderTest {
+
+    private OffloadingPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("전용 풀에서 BCrypt 해시/검증 후 지연 시간 지표 기록")
+    void encodeAndMatchesOnPool() {
+        // given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        encoder = new OffloadingPasswordEncoder(new BCryptPasswordEncoder(4), 2, 10, 5000, 2, meterRegistry);
+
+        // when
+        String hash = encoder.encode("password");
+
+        // then
+        assertTrue(encoder.matches("password", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertEquals(2, meterRegistry.get("auth.password.hash").tag("operation", "matches").timer().count());
+        assertEquals(1, meterRegistry.get("auth.password.hash").tag("operation", "encode").timer().count());
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 즉시 LoginThrottledException")
+    void rejectsWhenQueueIsFull() throws Exception {
+        // given: 풀 1개, 대기열 1개. 첫 작업이 끝나지 않도록 막아둔다
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        encoder = new OffloadingPasswordEncoder(blocking, 1, 1, 5000, 3, meterRegistry);
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "b"));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("auth.password.hash.queue").gauge().value() < 1
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // when & then
+        LoginThrottledException e = assertThrows(LoginThrottledException.class, () -> encoder.matches("c", "c"));
+        assertEquals(3, e.getRetryAfterSeconds());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("로그인 외 경로(가입/비밀번호 재설정)에서 발생한 대기열 초과도 503 + Retry-After 로 응답")
+    void throttledOutsideLoginMapsTo503() {
+        // when
+        ResponseEntity<ProblemDetail> response = new GlobalExceptionHandler()
+                .handleLoginThrottledException(new LoginThrottledException("busy", 4));
+
+        // then
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("4", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+}
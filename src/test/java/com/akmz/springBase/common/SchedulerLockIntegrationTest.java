@@ -0,0 +1,156 @@
+package com.akmz.springBase.common;
+
+import com.akmz.springBase.SpringBaseApplication;
+import com.akmz.springBase.common.scheduler.SchedulerLock;
+import com.akmz.springBase.common.test.DotenvContextInitializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 H2 DB 를 쓰는 두 애플리케이션 컨텍스트(node-a, node-b)로 여러 노드 실행을 흉내 낸다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ContextConfiguration(initializers = DotenvContextInitializer.class)
+@Import(SchedulerLockIntegrationTest.LockedJob.class)
+@TestPropertySource(properties = "scheduler.lock.node-id=node-a")
+@Sql(scripts = {"classpath:sql/clean_all_tables.sql", "classpath:schema.sql", "classpath:data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+class SchedulerLockIntegrationTest {
+
+    private static ConfigurableApplicationContext nodeB;
+
+    @Autowired
+    private LockedJob nodeAJob;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private LockedJob nodeBJob;
+
+    @BeforeEach
+    void setUp() {
+        if (nodeB == null) {
+            // 두 번째 노드: 스키마는 첫 번째 컨텍스트가 만든 것을 그대로 사용 (기본 속성은 설정 파일보다 우선순위가 낮아 실행 인자로 지정)
+            nodeB = new SpringApplicationBuilder(SpringBaseApplication.class, LockedJob.class)
+                    .initializers(new DotenvContextInitializer())
+                    .run("--server.port=0", "--spring.sql.init.mode=never", "--scheduler.lock.node-id=node-b");
+        }
+        nodeBJob = nodeB.getBean(LockedJob.class);
+        jdbcTemplate.update("DELETE FROM SCHEDULER_LOCK");
+    }
+
+    @AfterAll
+    static void closeNodeB() {
+        if (nodeB != null) {
+            nodeB.close();
+            nodeB = null;
+        }
+    }
+
+    @Test
+    @DisplayName("한 노드가 실행 중이면 다른 노드는 건너뛰고, 끝난 뒤에는 다른 노드가 실행")
+    void only_one_node_runs_test() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture<Boolean> nodeARun = CompletableFuture.supplyAsync(() -> nodeAJob.run(started, finish));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(nodeBJob.run(new CountDownLatch(1), new CountDownLatch(0))).isNull();
+
+        finish.countDown();
+        assertThat(nodeARun.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(nodeBJob.run(new CountDownLatch(1), new CountDownLatch(0))).isTrue();
+        assertThat(lockedBy("lockedJob")).isEqualTo("node-b");
+    }
+
+    @Test
+    @DisplayName("실행이 잠금 유지 시간보다 길어도 heartbeat 로 연장되어 다른 노드가 가져가지 못함")
+    void heartbeat_extends_lease_test() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture<Boolean> nodeARun = CompletableFuture.supplyAsync(() -> nodeAJob.runShortLease(started, finish));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 잠금 유지 시간(1초)의 두 배 이상 지난 뒤에도 node-a 가 잠금을 가지고 있음
+        Thread.sleep(2500);
+        assertThat(nodeBJob.runShortLease(new CountDownLatch(1), new CountDownLatch(0))).isNull();
+
+        finish.countDown();
+        assertThat(nodeARun.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("빨리 끝난 작업도 최소 유지 시간 동안은 다른 노드가 다시 실행하지 않음")
+    void min_hold_test() {
+        assertThat(nodeAJob.runWithMinHold()).isTrue();
+        assertThat(nodeBJob.runWithMinHold()).isNull();
+    }
+
+    @Test
+    @DisplayName("죽은 노드의 만료된 잠금은 다른 노드가 가져가고, 만료 전 잠금은 가져가지 않음")
+    void stale_lease_takeover_test() {
+        jdbcTemplate.update("INSERT INTO SCHEDULER_LOCK (LOCK_NAME, LOCKED_BY, LOCKED_AT, LOCK_UNTIL, HEARTBEAT_AT) "
+                + "VALUES ('lockedJob', 'dead-node', SYSTIMESTAMP - INTERVAL '10' MINUTE, SYSTIMESTAMP - INTERVAL '5' MINUTE, SYSTIMESTAMP - INTERVAL '10' MINUTE)");
+        jdbcTemplate.update("INSERT INTO SCHEDULER_LOCK (LOCK_NAME, LOCKED_BY, LOCKED_AT, LOCK_UNTIL, HEARTBEAT_AT) "
+                + "VALUES ('minHoldJob', 'busy-node', SYSTIMESTAMP, SYSTIMESTAMP + INTERVAL '5' MINUTE, SYSTIMESTAMP)");
+
+        assertThat(nodeBJob.run(new CountDownLatch(1), new CountDownLatch(0))).isTrue();
+        assertThat(lockedBy("lockedJob")).isEqualTo("node-b");
+
+        assertThat(nodeAJob.runWithMinHold()).isNull();
+        assertThat(lockedBy("minHoldJob")).isEqualTo("busy-node");
+    }
+
+    private String lockedBy(String lockName) {
+        return jdbcTemplate.queryForObject("SELECT LOCKED_BY FROM SCHEDULER_LOCK WHERE LOCK_NAME = ?", String.class, lockName);
+    }
+
+    /**
+     * 잠금을 쓰는 스케줄 작업 대용. 실행되면 true, 다른 노드가 잠금을 가지고 있어 건너뛰면 null.
+     */
+    @Component
+    static class LockedJob {
+
+        @SchedulerLock(name = "lockedJob", minHoldSeconds = 0)
+        public Boolean run(CountDownLatch started, CountDownLatch finish) {
+            return awaitFinish(started, finish);
+        }
+
+        @SchedulerLock(name = "shortLeaseJob", leaseSeconds = 1, minHoldSeconds = 0)
+        public Boolean runShortLease(CountDownLatch started, CountDownLatch finish) {
+            return awaitFinish(started, finish);
+        }
+
+        @SchedulerLock(name = "minHoldJob", minHoldSeconds = 60)
+        public Boolean runWithMinHold() {
+            return true;
+        }
+
+        private static Boolean awaitFinish(CountDownLatch started, CountDownLatch finish) {
+            started.countDown();
+            try {
+                return finish.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
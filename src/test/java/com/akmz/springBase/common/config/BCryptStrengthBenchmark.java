@@ -0,0 +1,48 @@
+package com.akmz.springBase.common.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * auth.password.bcrypt-strength 값별 로그인 1회의 비밀번호 검증 비용.
+ * 코어당 초당 로그인 처리량 ≒ 1000 / (결과 ms) 이므로, 목표 처리량과 보안 요구사항을 함께 보고 비용을 선택한다.
+ *
+ * 실행: gradle jmh -Pjmh.include=BCryptStrengthBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class BCryptStrengthBenchmark {
+
+    @Param({"8", "10", "12"})
+    private int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        hash = encoder.encode("benchmark-password");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("benchmark-password", hash);
+    }
+}
@@ -0,0 +1,67 @@
+package com.akmz.springBase.common.config;
+
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter 한 번의 요청에서 수행되는 토큰 검증 비용 비교.
+ * - perRequestParserTwice : 기존 방식 (validateToken + getUsername 에서 매번 파서 생성, 서명 2회 검증)
+ * - cachedParserVerifyOnce: 기동 시 생성한 SecretKey/JwtParser 로 verify() 1회
+ *
+ * 실행: gradle jmh -Pjmh.include=JwtTokenProviderBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-benchmark-secret-key-0123456789";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(jwtTokenProvider, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtTokenProvider, "expiration", 3600000L);
+        ReflectionTestUtils.setField(jwtTokenProvider, "refreshExpiration", 604800000L);
+        jwtTokenProvider.init();
+        accessToken = jwtTokenProvider.createToken("user", List.of("ROLE_USER"));
+    }
+
+    @Benchmark
+    public String perRequestParserTwice() {
+        Jwts.parserBuilder()
+                .setSigningKey(SECRET.getBytes())
+                .build()
+                .parseClaimsJws(accessToken);
+        return Jwts.parserBuilder()
+                .setSigningKey(SECRET.getBytes())
+                .build()
+                .parseClaimsJws(accessToken)
+                .getBody()
+                .getSubject();
+    }
+
+    @Benchmark
+    public String cachedParserVerifyOnce() {
+        return jwtTokenProvider.verify(accessToken).getSubject();
+    }
+}
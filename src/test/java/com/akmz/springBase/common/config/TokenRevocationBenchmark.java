@@ -0,0 +1,62 @@
+package com.akmz.springBase.common.config;
+
+import com.akmz.springBase.common.util.BloomFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter 에서 매 요청 수행하는 폐기 토큰 확인 비용 (폐기 토큰 10만 건 기준).
+ * - notRevoked: 대부분의 요청 (블룸 필터에서 바로 종료)
+ * - revoked   : 폐기된 토큰 (블룸 필터 + 집합 확인)
+ *
+ * 실행: gradle jmh -Pjmh.include=TokenRevocationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenRevocationBenchmark {
+
+    private BloomFilter bloomFilter;
+    private Set<String> revokedJtis;
+    private String revokedJti;
+    private String activeJti;
+
+    @Setup
+    public void setUp() {
+        bloomFilter = new BloomFilter(100_000, 0.01);
+        revokedJtis = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < 100_000; i++) {
+            String jti = UUID.randomUUID().toString();
+            bloomFilter.add(jti);
+            revokedJtis.add(jti);
+        }
+        revokedJti = revokedJtis.iterator().next();
+        activeJti = UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public boolean notRevoked() {
+        return bloomFilter.mightContain(activeJti) && revokedJtis.contains(activeJti);
+    }
+
+    @Benchmark
+    public boolean revoked() {
+        return bloomFilter.mightContain(revokedJti) && revokedJtis.contains(revokedJti);
+    }
+}
@@ -0,0 +1,42 @@
+package com.akmz.springBase.common.test;
+
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 테스트용 MyBatis 플러그인: 실제로 준비(prepare)된 SQL 문을 현재 스레드 기준으로 기록한다.
+ * sqlSessionFactory.getConfiguration().addInterceptor(...) 로 등록하여 요청당 쿼리 수를 검증할 때 사용.
+ */
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class})
+})
+public class StatementCountInterceptor implements Interceptor {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        StatementHandler handler = (StatementHandler) invocation.getTarget();
+        STATEMENTS.get().add(handler.getBoundSql().getSql());
+        return invocation.proceed();
+    }
+
+    public void reset() {
+        STATEMENTS.get().clear();
+    }
+
+    public int count() {
+        return STATEMENTS.get().size();
+    }
+
+    public List<String> statements() {
+        return List.copyOf(STATEMENTS.get());
+    }
+}
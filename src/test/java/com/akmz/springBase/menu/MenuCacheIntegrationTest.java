@@ -0,0 +1,127 @@
+package com.akmz.springBase.menu;
+
+import com.akmz.springBase.admin.service.AdminDataVersion;
+import com.akmz.springBase.admin.service.AdminService;
+import com.akmz.springBase.admin.service.MenuResourceCache;
+import com.akmz.springBase.common.test.DotenvContextInitializer;
+import com.akmz.springBase.common.test.StatementCountInterceptor;
+import com.akmz.springBase.menu.model.dto.MenuResponse;
+import com.akmz.springBase.menu.service.MenuService;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest
+@ContextConfiguration(initializers = DotenvContextInitializer.class)
+class MenuCacheIntegrationTest {
+
+    private static final StatementCountInterceptor statementCounter = new StatementCountInterceptor();
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Autowired
+    private MenuService menuService;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private MenuResourceCache menuResourceCache;
+
+    @SpyBean
+    private AdminDataVersion adminDataVersion;
+
+    @BeforeEach
+    void setUp() {
+        if (!sqlSessionFactory.getConfiguration().getInterceptors().contains(statementCounter)) {
+            sqlSessionFactory.getConfiguration().addInterceptor(statementCounter);
+        }
+        statementCounter.reset();
+    }
+
+    @Test
+    @DisplayName("같은 역할 조합의 메뉴 트리는 한 번만 만들고 이후 조회는 쿼리 없음")
+    void menu_tree_cached_per_role_set_test() {
+        // given: 최초 조회로 캐시 생성
+        List<MenuResponse> first = menuService.getMenusForCurrentUser("user");
+        statementCounter.reset();
+
+        // when: 같은 역할 조합(ROLE_USER)의 다른 사용자 - 역할 ID 조회만 발생
+        List<MenuResponse> sameRoleSet = menuService.getMenusForCurrentUser("disabledUser");
+
+        // then: 메뉴 트리는 다시 만들지 않고 공유
+        assertEquals(1, statementCounter.count(), () -> "실행된 쿼리: " + statementCounter.statements());
+        assertSame(first, sameRoleSet);
+
+        // when: 같은 사용자 재조회
+        statementCounter.reset();
+        List<MenuResponse> second = menuService.getMenusForCurrentUser("user");
+
+        // then: 쿼리 없음
+        assertEquals(0, statementCounter.count(), () -> "실행된 쿼리: " + statementCounter.statements());
+        assertSame(first, second);
+        assertThrows(UnsupportedOperationException.class, () -> first.get(0).getChildren().add(new MenuResponse()));
+    }
+
+    @Test
+    @DisplayName("역할-리소스 매핑이 변경되면 메뉴 트리를 다시 생성")
+    void menu_tree_invalidated_on_mapping_change_test() {
+        // given
+        assertTrue(menuIds(menuService.getMenusForCurrentUser("user")).stream().noneMatch(id -> id == 400L));
+
+        // when: ROLE_USER 에 관리자 메뉴 그룹(400) 추가
+        adminService.addResourceToRole(2L, 400L);
+        try {
+            // then
+            assertTrue(menuIds(menuService.getMenusForCurrentUser("user")).contains(400L));
+        } finally {
+            adminService.removeResourceFromRole(2L, 400L);
+        }
+
+        // then: 매핑 제거도 반영
+        assertTrue(menuIds(menuService.getMenusForCurrentUser("user")).stream().noneMatch(id -> id == 400L));
+    }
+
+    @Test
+    @DisplayName("ETag 버전은 메뉴 캐시가 갱신된 뒤에 올라감 (새 ETag 로 옛 메뉴를 응답하지 않음)")
+    void etag_version_bumped_after_cache_eviction_test() {
+        // given: 캐시 적재
+        menuService.getMenusForCurrentUser("user");
+        long snapshotVersion = menuResourceCache.getSnapshot().getVersion();
+        List<Boolean> menuUpdatedAtBump = new ArrayList<>();
+        List<Long> snapshotVersionAtBump = new ArrayList<>();
+        doAnswer(invocation -> {
+            // 버전을 올리는 시점에 이미 캐시가 새 데이터를 주는지 기록
+            menuUpdatedAtBump.add(menuIds(menuService.getMenusForCurrentUser("user")).contains(400L));
+            snapshotVersionAtBump.add(menuResourceCache.getSnapshot().getVersion());
+            return invocation.callRealMethod();
+        }).when(adminDataVersion).onAdminDataChanged(any());
+
+        // when: ROLE_USER 에 관리자 메뉴 그룹(400) 추가
+        adminService.addResourceToRole(2L, 400L);
+        try {
+            // then
+            assertEquals(List.of(true), menuUpdatedAtBump);
+            assertEquals(List.of(snapshotVersion + 1), snapshotVersionAtBump);
+        } finally {
+            adminService.removeResourceFromRole(2L, 400L);
+        }
+    }
+
+    private List<Long> menuIds(List<MenuResponse> menus) {
+        return menus.stream().map(MenuResponse::getMenuId).toList();
+    }
+}
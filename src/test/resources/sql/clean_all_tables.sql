@@ -1,8 +1,13 @@
 SET REFERENTIAL_INTEGRITY FALSE;
 
+DROP TABLE IF EXISTS SCHEDULER_LOCK;
 DROP TABLE IF EXISTS ATTACH_FILE;
+DROP TABLE IF EXISTS ATTACH_BLOB;
+DROP TABLE IF EXISTS ATTACH_UPLOAD_SESSION;
 DROP TABLE IF EXISTS ATTACH;
 DROP TABLE IF EXISTS auth_tokens;
+DROP TABLE IF EXISTS REFRESH_TOKENS;
+DROP TABLE IF EXISTS REVOKED_TOKENS;
 DROP TABLE IF EXISTS USER_ROLES;
 DROP TABLE IF EXISTS ROLE_RESOURCE_MAPPINGS;
 DROP TABLE IF EXISTS RESOURCES;